@@ -12,7 +12,10 @@ import hudson.Extension;
 import hudson.model.AbstractItem;
 import hudson.model.RootAction;
 import io.jenkins.plugins.model.DevOpsJobModel;
+import io.jenkins.plugins.model.DevOpsResumeCoordinator;
 import io.jenkins.plugins.utils.DevOpsConstants;
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.DevOpsRegistry;
 import io.jenkins.plugins.utils.GenericUtils;
 import jenkins.model.Jenkins;
 import net.sf.json.JSONArray;
@@ -133,6 +136,18 @@ public class DevOpsJSONAPI implements RootAction {
 		}
 		return new JsonHttpResponse(response, HttpServletResponse.SC_OK);
 	}
+	// thread-count and queue-depth gauges of the plugin's internal pools, sizes and hit/miss/eviction
+	// counters of its registries, progress of change steps resumed after a restart
+	@GET
+	@WebMethod(name = "metrics")
+	public JsonHttpResponse getMetrics() {
+		Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+		JSONObject response = new JSONObject();
+		response.put("executors", DevOpsExecutors.getMetrics());
+		response.put("registries", DevOpsRegistry.getAllMetrics());
+		response.put("resume", DevOpsResumeCoordinator.getMetrics());
+		return new JsonHttpResponse(response, HttpServletResponse.SC_OK);
+	}
 /*
 	@GET
 	@WebMethod(name = "get-all-jobs")
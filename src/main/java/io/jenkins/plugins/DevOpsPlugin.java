@@ -5,6 +5,12 @@ import hudson.Plugin;
 import java.util.logging.Level;
 
 import io.jenkins.plugins.DevOpsRootAction;
+import io.jenkins.plugins.model.DevOpsNotificationOutbox;
+import io.jenkins.plugins.model.DevOpsNotificationQueue;
+import io.jenkins.plugins.model.DevOpsPipelineInfoCache;
+import io.jenkins.plugins.utils.CommUtils;
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.DevOpsRegistry;
 
 @Extension
 public class DevOpsPlugin extends Plugin {
@@ -16,4 +22,17 @@ public class DevOpsPlugin extends Plugin {
         super.postInitialize();
         DevOpsRootAction.deletePipelineInfoFiles();
     }
+
+    //drains queued notifications, writes pending pipeline info to disk, stops the shared thread pools
+    //and releases pooled ServiceNow connections when Jenkins shuts down
+    @Override
+    public void stop() throws Exception {
+        DevOpsNotificationQueue.shutdown();
+        DevOpsNotificationOutbox.shutdown();
+        DevOpsPipelineInfoCache.get().flushWrites();
+        DevOpsRegistry.stopSweeper();
+        DevOpsExecutors.shutdown();
+        CommUtils.shutdownTransport();
+        super.stop();
+    }
 }
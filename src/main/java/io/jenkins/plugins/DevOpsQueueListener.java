@@ -2,8 +2,12 @@ package io.jenkins.plugins;
 
 import java.util.logging.Level;
 import hudson.Extension;
+import hudson.model.Job;
 import hudson.model.Queue;
 import hudson.model.queue.QueueListener;
+import io.jenkins.plugins.model.DevOpsFreestyleEvaluator;
+import io.jenkins.plugins.model.DevOpsModel;
+import io.jenkins.plugins.utils.DevOpsConstants;
 import io.jenkins.plugins.utils.GenericUtils;
 
 @Extension
@@ -11,6 +15,10 @@ public class DevOpsQueueListener extends QueueListener {
 	@Override
 	public void onEnterWaiting(Queue.WaitingItem wi) {
 		GenericUtils.printDebug(DevOpsQueueListener.class.getName(), "onEnterWaiting", new String[]{"itemId"}, new String[]{String.valueOf(wi.getId())}, Level.FINE);
+		// start the change control evaluation early, DevOpsQueueTaskDispatcher only looks the verdict up
+		Job<?, ?> job = getFreestyleJob(wi);
+		if (job != null && new DevOpsModel().checkIsValid(job))
+			DevOpsFreestyleEvaluator.evaluate(wi, job);
 	}
 	@Override
 	public void onLeaveWaiting(Queue.WaitingItem wi) {
@@ -31,5 +39,19 @@ public class DevOpsQueueListener extends QueueListener {
 	@Override
 	public void onLeft(Queue.LeftItem li) {
 		GenericUtils.printDebug(DevOpsQueueListener.class.getName(), "onLeft", new String[]{"itemId"}, new String[]{String.valueOf(li.getId())}, Level.FINE);
+		Job<?, ?> job = getFreestyleJob(li);
+		if (job != null)
+			DevOpsFreestyleEvaluator.forget(new DevOpsModel().getJobId(li, job));
+	}
+
+	private static Job<?, ?> getFreestyleJob(Queue.Item item) {
+		if (!(item.task instanceof Job<?, ?>))
+			return null;
+		Job<?, ?> job = (Job<?, ?>) item.task;
+		String pronoun = job.getPronoun();
+		if (pronoun != null && (pronoun.equalsIgnoreCase(DevOpsConstants.FREESTYLE_PRONOUN.toString()) ||
+				pronoun.equalsIgnoreCase(DevOpsConstants.FREESTYLE_MAVEN_PRONOUN.toString())))
+			return job;
+		return null;
 	}
 }
@@ -61,7 +61,7 @@ public class DevOpsQueueTaskDispatcher<P, R> extends QueueTaskDispatcher {
 				pronoun.equalsIgnoreCase(
 						DevOpsConstants.BITBUCKET_MULTI_BRANCH_PIPELINE_PRONOUN.toString()))
 				return null;
-				// Freestyle - gating done at the queue dispatcher level
+				// Freestyle - gating done at the queue dispatcher level, ServiceNow is only called by DevOpsFreestyleEvaluator
 			else if (pronoun.equalsIgnoreCase(DevOpsConstants.FREESTYLE_PRONOUN.toString()) ||
 					pronoun.equalsIgnoreCase(DevOpsConstants.FREESTYLE_MAVEN_PRONOUN.toString()))
 				return model.handleFreestyle(item, job);
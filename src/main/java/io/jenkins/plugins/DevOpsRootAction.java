@@ -1,7 +1,7 @@
 package io.jenkins.plugins;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -12,15 +12,22 @@ import org.kohsuke.stapler.StaplerRequest;
 import org.kohsuke.stapler.StaplerResponse;
 
 import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Queue;
 import hudson.model.RootAction;
+import hudson.model.Run;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
 import hudson.security.csrf.CrumbExclusion;
+import io.jenkins.plugins.model.DevOpsCallback;
 import io.jenkins.plugins.model.DevOpsModel;
+import io.jenkins.plugins.model.DevOpsPipelineInfoCache;
 import io.jenkins.plugins.pipeline.steps.executions.DevOpsPipelineChangeStepExecution;
 import io.jenkins.plugins.utils.DevOpsConstants;
+import io.jenkins.plugins.utils.DevOpsRegistry;
 import io.jenkins.plugins.utils.GenericUtils;
+import jenkins.model.Jenkins;
 
-import java.io.BufferedReader;
-import java.nio.CharBuffer;
 import java.util.logging.Level;
 
 import net.sf.json.JSONException;
@@ -38,17 +45,57 @@ import java.util.ArrayList;
 @Extension
 public class DevOpsRootAction extends CrumbExclusion implements RootAction {
 	
-	private static final HashMap<String, String> webhooks = new HashMap<>(); // token->jobId (Dispatcher)
-	private static final HashMap<String, String> jobs = new HashMap<>(); 	 // jobId->token (Dispatcher)
-	private static final HashMap<String, String> callbackContent = new HashMap<>();// jobId->callbackResponse (Dispatcher/FreestyleStep)
-	private static final HashMap<String, String> callbackToken = new HashMap<>(); // jobId->token (FreestyleStep)
-    private static final HashMap<String, DevOpsPipelineChangeStepExecution> pipelineWebhooks = new HashMap<>(); // token->asyncStepExecution (PipelineChangeStep)
-    private static final HashMap<String, String> changeRequestContent = new HashMap<>(); // jobId->callbackResponse (Dispatcher/FreestyleStep)
+	// freestyle entries live while their queue item waits or its run builds, pipeline step executions
+	// deregister themselves and are only bounded, per-run entries live while the run builds
+	private static final long REGISTRY_TTL_MS = TimeUnit.HOURS.toMillis(1);
+	private static final int REGISTRY_MAX_SIZE = 10000;
+	// callback bodies are small JSON documents, anything larger is refused
+	private static final int MAX_CALLBACK_BODY_SIZE = Integer.getInteger(DevOpsRootAction.class.getName() + ".maxCallbackBodySize", 1024 * 1024);
+
+	private static final DevOpsRegistry<String, String> webhooks = new DevOpsRegistry<>("webhooks", REGISTRY_TTL_MS, REGISTRY_MAX_SIZE, (token, jobId) -> isQueuedJobLive(jobId)); // token->jobId (Dispatcher)
+	private static final DevOpsRegistry<String, String> jobs = new DevOpsRegistry<>("jobs", REGISTRY_TTL_MS, REGISTRY_MAX_SIZE, (jobId, token) -> isQueuedJobLive(jobId)); 	 // jobId->token (Dispatcher)
+	private static final DevOpsRegistry<String, String> callbackContent = new DevOpsRegistry<>("callbackContent", REGISTRY_TTL_MS, REGISTRY_MAX_SIZE, (jobId, content) -> isQueuedJobLive(jobId));// jobId->callbackResponse (Dispatcher/FreestyleStep)
+	private static final DevOpsRegistry<String, String> callbackToken = new DevOpsRegistry<>("callbackToken", REGISTRY_TTL_MS, REGISTRY_MAX_SIZE, (jobId, token) -> isQueuedJobLive(jobId)); // jobId->token (FreestyleStep)
+    private static final DevOpsRegistry<String, DevOpsPipelineChangeStepExecution> pipelineWebhooks = new DevOpsRegistry<>("pipelineWebhooks", 0, REGISTRY_MAX_SIZE, null); // token->asyncStepExecution (PipelineChangeStep)
+    private static final DevOpsRegistry<String, String> changeRequestContent = new DevOpsRegistry<>("changeRequestContent", REGISTRY_TTL_MS, REGISTRY_MAX_SIZE, (jobId, content) -> isQueuedJobLive(jobId)); // jobId->callbackResponse (Dispatcher/FreestyleStep)
     
-    private static final HashMap<String, Boolean> trackedJobs = new HashMap<>(); // runId->True/False
-	private static final HashMap<String, DevOpsModel.DevOpsPipelineInfo> snPipelineInfo = new HashMap<>(); // runId
+    private static final DevOpsRegistry<String, Boolean> trackedJobs = new DevOpsRegistry<>("trackedJobs", REGISTRY_TTL_MS, REGISTRY_MAX_SIZE, (key, tracking) -> isRunLive(key)); // runId->True/False
+	private static final DevOpsRegistry<String, DevOpsModel.DevOpsPipelineInfo> snPipelineInfo = new DevOpsRegistry<>("snPipelineInfo", REGISTRY_TTL_MS, REGISTRY_MAX_SIZE, (key, info) -> isRunLive(key)); // runId
 	// ->JSONObject
-	
+
+	// jobId is queueId/jobUrl, see DevOpsModel.getJobId
+	private static boolean isQueuedJobLive(String jobId) {
+		Jenkins jenkins = Jenkins.getInstanceOrNull();
+		if (jenkins == null || jobId == null)
+			return false;
+		long queueId;
+		try {
+			queueId = Long.parseLong(jobId.substring(0, Math.max(0, jobId.indexOf('/'))));
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		// left items are remembered by the queue for a few minutes after the run started
+		Queue.Item item = jenkins.getQueue().getItem(queueId);
+		if (item instanceof Queue.LeftItem) {
+			Queue.Executable executable = ((Queue.LeftItem) item).getExecutable();
+			return executable instanceof Run && ((Run<?, ?>) executable).isBuilding();
+		}
+		return item != null;
+	}
+
+	// key is jobFullName_runId, see DevOpsModel.getTrackingKey
+	private static boolean isRunLive(String key) {
+		Jenkins jenkins = Jenkins.getInstanceOrNull();
+		int separator = key.lastIndexOf(DevOpsConstants.TRACKING_KEY_SEPARATOR.toString());
+		if (jenkins == null || separator < 0)
+			return false;
+		try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+			Job<?, ?> job = jenkins.getItemByFullName(key.substring(0, separator), Job.class);
+			Run<?, ?> run = job != null ? job.getBuild(key.substring(separator + 1)) : null;
+			return run != null && run.isBuilding();
+		}
+	}
+
 	@Override
 	public String getIconFileName() {
 		return null;
@@ -64,51 +111,51 @@ public class DevOpsRootAction extends CrumbExclusion implements RootAction {
 		return DevOpsConstants.CALLBACK_URL_IDENTIFIER.toString();
     }
     
-    private boolean _handleFreestyleCallback(String token, StringBuffer content) {
+    private boolean _handleFreestyleCallback(String token, String content) {
         // cross validation to make sure the token received matches the one we had mapped to this jobId
         String jobId;
-        synchronized (webhooks) { jobId = webhooks.remove(token); }
+        jobId = webhooks.remove(token);
         String originalToken;
-        synchronized (jobs) { originalToken = jobs.remove(jobId); }
-        if (jobId != null && originalToken.equals(token)) {
-        	synchronized (callbackContent) { callbackContent.put(jobId, content.toString().trim()); }
-            synchronized (callbackToken) { callbackToken.put(jobId, token); }
+        originalToken = jobs.remove(jobId);
+        if (jobId != null && originalToken != null && originalToken.equals(token)) {
+        	callbackContent.put(jobId, content);
+            callbackToken.put(jobId, token);
             return true;
         } 
         return false;
     }
 
-    private boolean _handlePipelineCallback(String token, StringBuffer content) {
+    private boolean _handlePipelineCallback(String token, String content) {
         DevOpsPipelineChangeStepExecution exec;
-        synchronized (pipelineWebhooks) { exec = pipelineWebhooks.remove(token); }
+        exec = pipelineWebhooks.remove(token);
         if (exec != null) {
-            exec.onTriggered(token, content.toString().trim());
+            exec.onTriggered(token, content);
             return true;
         } 
         return false;
     }
 
-    private boolean _displayFreestyleChangeRequestInfo(String token, StringBuffer content) {
+    private boolean _displayFreestyleChangeRequestInfo(String token, String content) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "_displayFreestyleChangeRequestInfo", new String[]{"token"}, new String[]{token}, Level.INFO);
-        GenericUtils.printDebug(DevOpsRootAction.class.getName(), "_displayFreestyleChangeRequestInfo", new String[]{"content"}, new String[]{content.toString()}, Level.INFO);
+        GenericUtils.printDebug(DevOpsRootAction.class.getName(), "_displayFreestyleChangeRequestInfo", new String[]{"content"}, new String[]{content}, Level.INFO);
         String jobId;
-        synchronized (webhooks) { jobId = webhooks.get(token); }
+        jobId = webhooks.get(token);
         String originalToken;
-        synchronized (jobs) { originalToken = jobs.get(jobId); }
-        if (jobId != null && originalToken.equals(token)) {
-        	synchronized (changeRequestContent) { changeRequestContent.put(jobId, content.toString().trim()); }
+        originalToken = jobs.get(jobId);
+        if (jobId != null && originalToken != null && originalToken.equals(token)) {
+        	changeRequestContent.put(jobId, content);
             return true;
         } 
         return false;
     }
 
-    private boolean _displayPipelineChangeRequestInfo(String token, StringBuffer content) {
+    private boolean _displayPipelineChangeRequestInfo(String token, String content) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "_displayPipelineChangeRequestInfo", new String[]{"token"}, new String[]{token}, Level.INFO);
-        GenericUtils.printDebug(DevOpsRootAction.class.getName(), "_displayPipelineChangeRequestInfo", new String[]{"content"}, new String[]{content.toString()}, Level.INFO);
+        GenericUtils.printDebug(DevOpsRootAction.class.getName(), "_displayPipelineChangeRequestInfo", new String[]{"content"}, new String[]{content}, Level.INFO);
         DevOpsPipelineChangeStepExecution exec;
-        synchronized (pipelineWebhooks) { exec = pipelineWebhooks.get(token); }
+        exec = pipelineWebhooks.get(token);
         if (exec != null) {
-            exec.displayPipelineChangeRequestInfo(token, content.toString().trim());
+            exec.displayPipelineChangeRequestInfo(token, content);
             return true;
         } 
         return false;
@@ -134,10 +181,9 @@ public class DevOpsRootAction extends CrumbExclusion implements RootAction {
     *Note: This api doesn't make new entries in the file
     *for multibranch pipeline using ONLY jobName as the key
     */
-    private boolean _updatePipelineInfoFile(String token, StringBuffer content) {
-        if (content != null) {
-            JSONObject apiResponse = JSONObject.fromObject(content.toString());
-            if (apiResponse != null) {
+    private boolean _updatePipelineInfoFile(String token, JSONObject apiResponse) {
+        if (apiResponse != null) {
+            if (apiResponse.containsKey(DevOpsConstants.JOBNAME_ATTR.toString())) {
                 String jobName = apiResponse.get(DevOpsConstants.JOBNAME_ATTR.toString()).toString();
 			    String rootDirFilePath = getRootDirFilePath(jobName);
                 if(updateResponseInFile(jobName, apiResponse, rootDirFilePath)){
@@ -151,15 +197,14 @@ public class DevOpsRootAction extends CrumbExclusion implements RootAction {
     public boolean updateResponseInFile(String jobName, JSONObject apiResponse, String rootDirFilePath) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "updateResponseInFile", new String[]{"jobName"}, new String[]{jobName}, Level.INFO);
         try{
-            FilePath pipelineInfoFile = new FilePath(new File(rootDirFilePath));
-			if(pipelineInfoFile.exists()){
-				String fileContents = pipelineInfoFile.readToString();
-				JSONObject pipelineInfo = JSONObject.fromObject(fileContents);
-			    if (pipelineInfo != null) {
-                    JSONObject updatedResponse = getUpdatedResponse(apiResponse, pipelineInfo);
-                    pipelineInfoFile.write(updatedResponse.toString(), "UTF-8");
-                    return true;
-			    }
+            DevOpsPipelineInfoCache cache = DevOpsPipelineInfoCache.get();
+            JSONObject cached = cache.lookup(rootDirFilePath).getValue();
+            if (cached != null) {
+                // the cached object is shared with readers, merge into a copy
+                JSONObject pipelineInfo = JSONObject.fromObject(cached.toString());
+                JSONObject updatedResponse = getUpdatedResponse(apiResponse, pipelineInfo);
+                cache.put(rootDirFilePath, updatedResponse);
+                return true;
             }
             return false;
         } catch (Exception e) {
@@ -186,51 +231,49 @@ public class DevOpsRootAction extends CrumbExclusion implements RootAction {
     }
 	
 	public void doDynamic(StaplerRequest request, StaplerResponse response) {
-		// read response content
         String token = request.getOriginalRestOfPath().substring(1).trim(); //Strip leading slash
+        DevOpsCallback.Kind kind = DevOpsCallback.Kind.of(token);
 
-        CharBuffer dest = CharBuffer.allocate(1024);
-        StringBuffer content = new StringBuffer();
-        try {
-            BufferedReader reader = request.getReader();
-            while (reader.read(dest) > 0) {
-                dest.rewind();
-                content.append(dest.toString());
-            }
-        } catch (IOException e) {
-            response.setStatus(400);
+        // reject before reading the body
+        if (kind == DevOpsCallback.Kind.UNKNOWN) {
+            response.setStatus(410); // 410 Gone
+            return;
+        }
+        if (request.getContentLengthLong() > MAX_CALLBACK_BODY_SIZE) {
+            response.setStatus(413);
             return;
         }
 
-        if (token.startsWith(DevOpsConstants.FREESTYLE_CALLBACK_URL_IDENTIFIER.toString()) && content != null && content.length() > 0 && content.toString().trim().contains("changeRequestId")) {
-            boolean result = _displayFreestyleChangeRequestInfo(token, content);
-            if (result) {
-                response.setStatus(200);
-                return;
-            }
+        DevOpsCallback callback;
+        try {
+            callback = DevOpsCallback.read(token, kind, request.getReader(), MAX_CALLBACK_BODY_SIZE);
+        } catch (DevOpsCallback.TooLargeException e) {
+            GenericUtils.printDebug(DevOpsRootAction.class.getName(), "doDynamic", new String[]{"token", "message"}, new String[]{token, e.getMessage()}, Level.WARNING);
+            response.setStatus(413);
+            return;
+        } catch (IOException e) {
             response.setStatus(400);
             return;
+        }
 
-        } else if (token.startsWith(DevOpsConstants.PIPELINE_CALLBACK_URL_IDENTIFIER.toString()) && content != null && content.length() > 0 && content.toString().trim().contains("changeRequestId")) {
-            boolean result = _displayPipelineChangeRequestInfo(token, content);
-            if (result) {
-                response.setStatus(200);
-                return;
-            }
-            response.setStatus(400);
+        if (callback.isChangeRequestInfo() && (kind == DevOpsCallback.Kind.FREESTYLE || kind == DevOpsCallback.Kind.PIPELINE)) {
+            boolean result = kind == DevOpsCallback.Kind.FREESTYLE ?
+                    _displayFreestyleChangeRequestInfo(token, callback.getContent()) :
+                    _displayPipelineChangeRequestInfo(token, callback.getContent());
+            response.setStatus(result ? 200 : 400);
             return;
         }
 
-        GenericUtils.printDebug(DevOpsRootAction.class.getName(), "doDynamic", new String[]{"message"}, new String[]{"Callback handler called with token: " + token + " / content: " + content.toString()}, Level.INFO);
+        GenericUtils.printDebug(DevOpsRootAction.class.getName(), "doDynamic", new String[]{"message"}, new String[]{"Callback handler called with token: " + token + " / content: " + callback.getContent()}, Level.INFO);
 
         boolean result = false;
-        if (token.startsWith(DevOpsConstants.FREESTYLE_CALLBACK_URL_IDENTIFIER.toString()) && content != null && content.length() > 0)
-            result = _handleFreestyleCallback(token, content);
-        else if (token.startsWith(DevOpsConstants.PIPELINE_CALLBACK_URL_IDENTIFIER.toString()) && content != null && content.length() > 0)
-            result = _handlePipelineCallback(token, content);
-        else if (token.startsWith(DevOpsConstants.PIPELINE_INFO_UPDATE_IDENTIFIER.toString()) && content != null && content.length() > 0)
-            result = _updatePipelineInfoFile(token, content);
-        else if (token.startsWith(DevOpsConstants.PIPELINE_INFO_DELETE_IDENTIFIER.toString()))
+        if (kind == DevOpsCallback.Kind.FREESTYLE && callback.hasContent())
+            result = _handleFreestyleCallback(token, callback.getContent());
+        else if (kind == DevOpsCallback.Kind.PIPELINE && callback.hasContent())
+            result = _handlePipelineCallback(token, callback.getContent());
+        else if (kind == DevOpsCallback.Kind.PIPELINE_INFO_UPDATE && callback.hasContent())
+            result = _updatePipelineInfoFile(token, callback.getJson());
+        else if (kind == DevOpsCallback.Kind.PIPELINE_INFO_DELETE)
             result = deletePipelineInfoFiles();
 
         if (result) {
@@ -264,8 +307,8 @@ public class DevOpsRootAction extends CrumbExclusion implements RootAction {
 	public static Boolean updateInfoInFile(String jobName, JSONObject infoAPIResponse, String path) {
 		GenericUtils.printDebug(DevOpsRootAction.class.getName(), "updateInfoInFile", new String[]{"jobName", "path"}, new String[]{jobName, path}, Level.INFO);
 		try{
-            FilePath pipelineInfoFile = new FilePath(new File(path));
-            pipelineInfoFile.write(infoAPIResponse.toString(), "UTF-8");
+            // the file is written behind by the cache
+            DevOpsPipelineInfoCache.get().put(path, infoAPIResponse);
             return true;
         } catch (Exception e) {
             GenericUtils.printDebug(DevOpsRootAction.class.getName(), "updateInfoInFile", new String[]{"Exception"}, new String[]{e.getMessage()}, Level.SEVERE);
@@ -277,6 +320,7 @@ public class DevOpsRootAction extends CrumbExclusion implements RootAction {
     public static Boolean deletePipelineInfoFiles() {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "deletePipelineInfoFiles", new String[]{}, new String[]{}, Level.INFO);
         try{
+            DevOpsPipelineInfoCache.get().clear();
             DevOpsModel devopsModel = new DevOpsModel();
             String jenkinsDirFilePath = devopsModel.getJenkinsRootDirPath() + DevOpsConstants.JOBS_PATH.toString();
             GenericUtils.printDebug(DevOpsRootAction.class.getName(), "deletePipelineInfoFiles", new String[]{"jenkinsDirFilePath"}, new String[]{jenkinsDirFilePath}, Level.INFO);
@@ -321,123 +365,114 @@ public class DevOpsRootAction extends CrumbExclusion implements RootAction {
 
     public static Boolean getTrackedJob(String key) {
         Boolean tracking;
-        synchronized(trackedJobs) { tracking = trackedJobs.get(key); }
+        tracking = trackedJobs.get(key);
 		return tracking;
     }
     
     public static void setTrackedJob(String key) {
         Boolean tracking = Boolean.valueOf(true);
-        synchronized (trackedJobs) { trackedJobs.put(key, tracking); }
+        trackedJobs.put(key, tracking);
     }
     
     public static Boolean removeTrackedJob(String key) {
-        Boolean tracking=false;
-        synchronized (trackedJobs) {
-	        if (trackedJobs.containsKey(key)) {
-		        tracking = trackedJobs.remove(key);
-	        }
-        }
-        return tracking;
+        Boolean tracking = trackedJobs.remove(key);
+        return tracking != null ? tracking : false;
 	}
 
 	public static void setSnPipelineInfo(String key, DevOpsModel.DevOpsPipelineInfo pipelineInfo) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "setSnPipelineInfo", new String[]{"key"}, new String[]{key}, Level.FINE);
-		synchronized (snPipelineInfo) { snPipelineInfo.put(key, pipelineInfo); }
+		snPipelineInfo.put(key, pipelineInfo);
 	}
 
 	public static DevOpsModel.DevOpsPipelineInfo getSnPipelineInfo(String key) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "getSnPipelineInfo", new String[]{"key"}, new String[]{key}, Level.FINE);
 		DevOpsModel.DevOpsPipelineInfo pipelineInfo;
-		synchronized (snPipelineInfo) { pipelineInfo = snPipelineInfo.get(key); }
+		pipelineInfo = snPipelineInfo.get(key);
 		return pipelineInfo;
 	}
 
 	public static void removeSnPipelineInfo(String key){
-		synchronized (snPipelineInfo) {
-			if (snPipelineInfo.containsKey(key)){
-				snPipelineInfo.remove(key);
-			}
-		}
+		snPipelineInfo.remove(key);
 	}
 
 	public static String getChangeRequestContent(String jobId) {
         String content;
-        synchronized(changeRequestContent) { content = changeRequestContent.get(jobId); }
+        content = changeRequestContent.get(jobId);
 		return content;
 	}
 
     public static String removeChangeRequestContent(String jobId) {
         String content;
-        synchronized(changeRequestContent) { content = changeRequestContent.remove(jobId); }
+        content = changeRequestContent.remove(jobId);
 		return content;
 	}
 
 	// called from dispatcher
 	public static String getCallbackContent(String jobId) {
         String content;
-        synchronized(callbackContent) { content = callbackContent.get(jobId); }
+        content = callbackContent.get(jobId);
 		return content;
 	}
 	
 	public static String removeCallbackContent(String jobId) {
 		String content;
-		synchronized (callbackContent) { content = callbackContent.remove(jobId); }
+		content = callbackContent.remove(jobId);
 		return content;
     }
     
     // called from dispatcher
     public static void setCallbackContent(String jobId, String content) {
         if (jobId != null && content != null) {
-            synchronized (callbackContent) { callbackContent.put(jobId, content.trim()); }
+            callbackContent.put(jobId, content.trim());
         }
     }
 	
     public static String removeCallbackToken(String jobId) {
     	String token;
-    	synchronized (callbackToken) { token = callbackToken.remove(jobId); }
+    	token = callbackToken.remove(jobId);
     	return token;
     }
 	
 	public static String getToken(String jobId) {
         String token;
-		synchronized(jobs) { token = jobs.get(jobId); }
+		token = jobs.get(jobId);
 		return token;
 	}
 	
 	public static String getJobId(String token) {
         String jobId;
-		synchronized(webhooks) { jobId = webhooks.get(token); }
+		jobId = webhooks.get(token);
 		return jobId;
 	}
 	// called from task dispatcher
     public static void registerWebhook(String token, String jobId) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "registerWebhook", new String[]{"message"}, new String[]{"Registering freestyle webhook with token: " + token}, Level.INFO);
-        synchronized (webhooks) { webhooks.put(token, jobId);}
+        webhooks.put(token, jobId);
     }
     // called from task dispatcher
     public static void registerJob(String jobId, String token) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "registerJob", new String[]{"message"}, new String[]{"Registering freestyle job with id: " + jobId}, Level.INFO);
-        synchronized (jobs) { jobs.put(jobId, token);}
+        jobs.put(jobId, token);
     }
     // not used
     public static void deregisterWebhook(String token) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "deregisterWebhook", new String[]{"message"}, new String[]{"Deregistering freestyle webhook with token: " + token}, Level.INFO);
-        synchronized (webhooks) { webhooks.remove(token); }
+        webhooks.remove(token);
     }
     // not used
     public static void deregisterJob(String jobId) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "deregisterJob", new String[]{"message"}, new String[]{"Deregistering freestyle job with id: " + jobId}, Level.INFO);
-        synchronized (jobs) { jobs.remove(jobId); }
+        jobs.remove(jobId);
 	}
 
 	public static void registerPipelineWebhook(DevOpsPipelineChangeStepExecution exec) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "registerPipelineWebhook", new String[]{"message"}, new String[]{"Registering pipeline webhook with token: " + exec.getToken()}, Level.INFO);
-        synchronized (pipelineWebhooks) { pipelineWebhooks.put(exec.getToken(), exec);}
+        pipelineWebhooks.put(exec.getToken(), exec);
     }
 
     public static void deregisterPipelineWebhook(DevOpsPipelineChangeStepExecution exec) {
         GenericUtils.printDebug(DevOpsRootAction.class.getName(), "deregisterPipelineWebhook", new String[]{"message"}, new String[]{"Deregistering pipeline webhook with token: " + exec.getToken()}, Level.INFO);
-        synchronized (pipelineWebhooks) { pipelineWebhooks.remove(exec.getToken()); }
+        pipelineWebhooks.remove(exec.getToken());
     }
     
     // Intercepts the incoming HTTP requests, looking for the /sn-devops/ URL identifier. If one is found, 
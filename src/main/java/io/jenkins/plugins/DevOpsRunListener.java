@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
 import java.util.logging.Level;
 
 import org.jenkinsci.plugins.workflow.actions.LabelAction;
@@ -43,6 +42,8 @@ import io.jenkins.plugins.model.DevOpsRunStatusModel;
 import io.jenkins.plugins.model.DevOpsRunStatusStageModel;
 import io.jenkins.plugins.model.DevOpsTestSummary;
 import io.jenkins.plugins.utils.DevOpsConstants;
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.DevOpsRunSequencer;
 import io.jenkins.plugins.utils.GenericUtils;
 import jenkins.model.Jenkins;
 
@@ -50,6 +51,8 @@ import jenkins.model.Jenkins;
 @Extension
 public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 
+	private static final long STAGE_EVENTS_TIMEOUT_SECONDS = 120;
+
 	private DevOpsNotificationModel notificationModel;
 
 	public static class DevOpsStageListener implements GraphListener {
@@ -97,14 +100,7 @@ public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 						DevOpsModel devopsModel = new DevOpsModel();
 						devopsModel.associateStepToNode(run, stageId);
 
-						DevOpsRunStatusModel model =
-								action.createRunStatus(flowNode, run, vars, null,
-										DevOpsConstants.NOTIFICATION_STARTED.toString(),
-										true, devOpsPipelineNode);
-						action.setModel(model);
-
-						if (notificationModel != null)
-							notificationModel.send(action.getModel());
+						submitStageEvent(action, new StageEvent(flowNode, true, null, devOpsPipelineNode));
 					} else {
 						_printDebug("onNewHead", new String[]{"message"},
 								new String[]{"Skipping declarative stage Flow-Id:" + flowNode.getId()}, Level.FINE);
@@ -119,29 +115,7 @@ public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 
 						DevOpsPipelineNode devOpsPipelineNode = pipelineGraph.getNodeById(startNode.getId());
 
-						DevOpsRunStatusModel model =
-								action.createRunStatus(flowNode, run, vars, null,
-										DevOpsConstants.NOTIFICATION_COMPLETED.toString(),
-										false, devOpsPipelineNode);
-
-						// set stage status from tag
-						if (GenericUtils.isNotEmpty(stageStatusFromTag)) {
-							DevOpsRunStatusStageModel stageModel = model.getStageModel();
-							stageModel.setStageStatusFromTag(stageStatusFromTag);
-						}
-
-						action.setModel(model);
-						if (notificationModel != null)
-							notificationModel.send(action.getModel());
-
-						//call test results api
-						if (model.getTestSummaries() != null && model.getTestSummaries().size() > 0) {
-							for (DevOpsTestSummary devOpsTestSummary : model.getTestSummaries()) {
-								notificationModel
-										.sendTestResults(devOpsTestSummary);
-							}
-						}
-
+						submitStageEvent(action, new StageEvent(flowNode, false, stageStatusFromTag, devOpsPipelineNode));
 					} else
 						_printDebug("onNewHead", new String[]{"message"},
 								new String[]{"Skipping declarative stage Flow-Id:" + flowNode.getId()}, Level.FINE);
@@ -154,6 +128,62 @@ public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 		}
 
 
+		// Building the run status reads logs, test reports and workspaces, keep it off the CPS VM thread.
+		// Events of one run are processed in order, so the stage end never overtakes its start.
+		private void submitStageEvent(DevOpsRunStatusAction action, StageEvent event) {
+			DevOpsRunSequencer.submit(run.getExternalizableId(), "stage " + event.flowNode.getId(),
+					() -> processStageEvent(action, event));
+		}
+
+		private void processStageEvent(DevOpsRunStatusAction action, StageEvent event) {
+			String stagePhase = event.stageStart ? DevOpsConstants.NOTIFICATION_STARTED.toString() :
+					DevOpsConstants.NOTIFICATION_COMPLETED.toString();
+			DevOpsRunStatusModel model =
+					action.createRunStatus(event.flowNode, run, vars, null, stagePhase,
+							event.stageStart, event.pipelineNode, event.eventTime);
+
+			// set stage status from tag
+			if (GenericUtils.isNotEmpty(event.stageStatusFromTag)) {
+				DevOpsRunStatusStageModel stageModel = model.getStageModel();
+				stageModel.setStageStatusFromTag(event.stageStatusFromTag);
+			}
+
+			action.setModel(model);
+			if (notificationModel != null) {
+				notificationModel.send(run, model);
+
+				//call test results api
+				if (!event.stageStart && model.getTestSummaries() != null && model.getTestSummaries().size() > 0) {
+					for (DevOpsTestSummary devOpsTestSummary : model.getTestSummaries()) {
+						notificationModel
+								.sendTestResults(run, devOpsTestSummary);
+					}
+				}
+				// serialized into the queued events, do not keep report files on the run
+				model.releaseTestReportContent();
+			}
+		}
+
+		/**
+		 * What onNewHead learned about a stage node, captured on the CPS VM thread.
+		 */
+		private static final class StageEvent {
+			private final FlowNode flowNode;
+			private final boolean stageStart;
+			private final String stageStatusFromTag;
+			private final DevOpsPipelineNode pipelineNode;
+			private final long eventTime;
+
+			StageEvent(FlowNode flowNode, boolean stageStart, String stageStatusFromTag,
+			           DevOpsPipelineNode pipelineNode) {
+				this.flowNode = flowNode;
+				this.stageStart = stageStart;
+				this.stageStatusFromTag = stageStatusFromTag;
+				this.pipelineNode = pipelineNode;
+				this.eventTime = System.currentTimeMillis();
+			}
+		}
+
 		private String getStageStatusFromTag(FlowNode fn) {
 			String tagValue = null;
 			try {
@@ -328,6 +358,8 @@ public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 				EnvVars vars = GenericUtils.getEnvVars(run, listener);
 				if (notificationModel == null)
 					notificationModel = new DevOpsNotificationModel();
+				// stage events still being built must go out before the run completion
+				DevOpsRunSequencer.await(run.getExternalizableId(), STAGE_EVENTS_TIMEOUT_SECONDS);
 				// Pipeline
 				DevOpsConfiguration devopsConfig = DevOpsConfiguration.get();
 				if ((pronoun.equalsIgnoreCase(DevOpsConstants.PULL_REQUEST_PRONOUN.toString()) && devopsConfig.isTrackPullRequestPipelinesCheck() ) ||
@@ -340,6 +372,8 @@ public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 						pronoun.equalsIgnoreCase(
 								DevOpsConstants.FREESTYLE_MAVEN_PRONOUN.toString()))
 					handleRunCompleted(run, vars);
+				// make sure stage and completion events of this run went out, in order, before it finishes
+				notificationModel.flush(run);
 			}
 		} finally {
 			model.removeFromTrackingCache(run.getParent().getFullName(), run.getId());
@@ -576,7 +610,7 @@ public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 								Level.SEVERE);
 					}
 				}
-			}, Executors.newSingleThreadExecutor());
+			}, DevOpsExecutors::execute);
 		}
 	}
 
@@ -590,7 +624,7 @@ public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 			action.setModel(model);
 			run.addAction(action);
 			if (notificationModel != null)
-				notificationModel.send(action.getModel());
+				notificationModel.send(run, action.getModel());
 		}
 	}
 
@@ -604,16 +638,17 @@ public class DevOpsRunListener extends RunListener<Run<?, ?>> {
 						null);
 				action.setModel(model);
 				if (notificationModel != null) {
-					notificationModel.send(action.getModel());
+					notificationModel.send(run, action.getModel());
 
 					if (action.getModel().getTestSummaries() != null &&
 							action.getModel().getTestSummaries().size() > 0) {
 						for (DevOpsTestSummary devOpsTestSummary : action.getModel()
 								.getTestSummaries()) {
 							notificationModel
-									.sendTestResults(devOpsTestSummary);
+									.sendTestResults(run, devOpsTestSummary);
 						}
 					}
+					model.releaseTestReportContent();
 				}
 
 			}
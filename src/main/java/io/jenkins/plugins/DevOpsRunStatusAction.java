@@ -1,7 +1,5 @@
 package io.jenkins.plugins;
 
-import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -25,8 +23,6 @@ import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.tools.ant.DirectoryScanner;
-import org.apache.tools.ant.types.FileSet;
 import org.jenkinsci.plugins.workflow.actions.ErrorAction;
 import org.jenkinsci.plugins.workflow.actions.LabelAction;
 import org.jenkinsci.plugins.workflow.actions.LogAction;
@@ -41,7 +37,6 @@ import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 
 import hudson.EnvVars;
 import hudson.FilePath;
-import hudson.Util;
 import hudson.console.AnnotatedLargeText;
 import hudson.model.AbstractBuild;
 import hudson.model.Action;
@@ -73,15 +68,17 @@ import io.jenkins.plugins.model.DevOpsRunStatusTestCaseModel;
 import io.jenkins.plugins.model.DevOpsRunStatusTestModel;
 import io.jenkins.plugins.model.DevOpsRunStatusTestSuiteModel;
 import io.jenkins.plugins.model.DevOpsSonarQubeModel;
+import io.jenkins.plugins.model.DevOpsTestReportCallable;
 import io.jenkins.plugins.model.DevOpsTestSummary;
 import io.jenkins.plugins.utils.DevOpsConstants;
+import io.jenkins.plugins.utils.DevOpsLogTail;
 import io.jenkins.plugins.utils.GenericUtils;
 import jenkins.model.Jenkins;
 import net.sf.json.JSONObject;
 
 public class DevOpsRunStatusAction extends InvisibleAction {
 	private static final Logger LOGGER = Logger.getLogger(DevOpsRunStatusAction.class.getName());
-	private DevOpsRunStatusModel model;
+	private volatile DevOpsRunStatusModel model;
 	private Set<String> seenIds = new HashSet<String>();
 	private DevOpsPipelineGraph pipelineGraph = new DevOpsPipelineGraph();
 	private static final int LOG_SIZE_LIMIT = 1024 * 500;
@@ -105,11 +102,21 @@ public class DevOpsRunStatusAction extends InvisibleAction {
 			this.seenIds.add(nodeId);
 	}
 
-	// Called from onStarted/onCompleted RunListener, or from onNewHead GraphListener
+	// Called from onStarted/onCompleted RunListener
 	public DevOpsRunStatusModel createRunStatus(FlowNode fn, Run<?, ?> run, EnvVars vars,
 	                                            String runPhase, String stagePhase,
 	                                            boolean isStageStart,
 	                                            DevOpsPipelineNode devOpsPipelineNode) {
+		return createRunStatus(fn, run, vars, runPhase, stagePhase, isStageStart, devOpsPipelineNode,
+				System.currentTimeMillis());
+	}
+
+	// Called from the onNewHead GraphListener off the CPS VM thread, eventTime is when the node was seen
+	public DevOpsRunStatusModel createRunStatus(FlowNode fn, Run<?, ?> run, EnvVars vars,
+	                                            String runPhase, String stagePhase,
+	                                            boolean isStageStart,
+	                                            DevOpsPipelineNode devOpsPipelineNode,
+	                                            long eventTime) {
 		// pass in the upstream execution url
 		Jenkins jenkins = Jenkins.getInstanceOrNull();
 		DevOpsRunStatusModel status = new DevOpsRunStatusModel();
@@ -135,7 +142,7 @@ public class DevOpsRunStatusAction extends InvisibleAction {
 			DevOpsRunStatusJobModel jobModel = createRunStatusJob(run);
 			status.setJobModel(jobModel);
 			DevOpsRunStatusStageModel stageModel =
-					createRunStatusStage(fn, run, stagePhase, isStageStart, devOpsPipelineNode);// pass in the upstreamExecutionURL
+					createRunStatusStage(fn, run, stagePhase, isStageStart, devOpsPipelineNode, eventTime);// pass in the upstreamExecutionURL
 
 			status.setStageModel(stageModel);
 			DevOpsRunStatusSCMModel scmModel = createRunStatusSCM(run, vars);
@@ -400,11 +407,11 @@ public class DevOpsRunStatusAction extends InvisibleAction {
 					else
 						startTime = run.getTimestamp().getTimeInMillis();
 
-					List<FilePath> testFileList = new ArrayList<>();
-					getTestFiles(workspace, testResultFiles.toString(), testFileList, startTime);
+					List<DevOpsTestReportCallable.TestReport> testReports =
+							getTestFiles(workspace, testResultFiles.toString(), startTime);
 
-					for (FilePath testFile : testFileList) {
-						DevOpsTestSummary testSummary = createTestSummaryFromFile(testFile,
+					for (DevOpsTestReportCallable.TestReport testReport : testReports) {
+						DevOpsTestSummary testSummary = createTestSummaryFromFile(testReport,
 								stageName,
 								pipelineNameForPayload, status.getNumber(), startTime, status.getPronoun(), status.isMultiBranch(), scmModel.getBranch());
 
@@ -429,7 +436,7 @@ public class DevOpsRunStatusAction extends InvisibleAction {
 			)) {
 				try {
 					List<String> rlogList = new ArrayList<>();
-					String logText = extractLog(run.getLogText());
+					String logText = extractLog(run.getLogText(), LOG_SIZE_LIMIT);
 					rlogList.add(getLastChunk(logText, LOG_SIZE_LIMIT));
 					status.setLog(rlogList);
 				} catch (UnsupportedEncodingException ignore) {
@@ -441,7 +448,7 @@ public class DevOpsRunStatusAction extends InvisibleAction {
 		return status;
 	}
 
-	private DevOpsTestSummary createTestSummaryFromFile(FilePath testFile, String stageName, String pipelineName,
+	private DevOpsTestSummary createTestSummaryFromFile(DevOpsTestReportCallable.TestReport testFile, String stageName, String pipelineName,
 	                                                    int buildNumber, long stageStarttime, String pronoun, String isMultiBranch, String branchName) {
 		try {
 			if (testFile == null)
@@ -449,7 +456,7 @@ public class DevOpsRunStatusAction extends InvisibleAction {
 
 			LOGGER.log(Level.INFO, "DevOpsRunStatusAction.createTestSummaryFromFile(): Creating test summary from " +
 					"file -" + testFile.getName());
-			String fileString = testFile.readToString();
+			String fileString = testFile.getContent();
 
 			String projectName = null;
 			if (pronoun.equalsIgnoreCase(DevOpsConstants.FREESTYLE_PRONOUN.toString()) ||
@@ -466,10 +473,11 @@ public class DevOpsRunStatusAction extends InvisibleAction {
 							.inProject(projectName)
 							.buildNumber(buildNumber)
 							.start(stageStarttime)
-							.finish(testFile.lastModified())
+							.finish(testFile.getLastModified())
 							.branchName(branchName)
 							.multiBranch(isMultiBranch)
 							.fileContent(fileString)
+							.contentDigest(testFile.getContentDigest())
 							.build();
 
 			return testSummary;
@@ -481,28 +489,26 @@ public class DevOpsRunStatusAction extends InvisibleAction {
 	}
 
 
-	private void getTestFiles(FilePath ws, String testResults, List<FilePath> fileList,
-	                          long stageStartTime) {
+	// globbing, filtering and reading run next to the workspace, on the agent for agent workspaces
+	private List<DevOpsTestReportCallable.TestReport> getTestFiles(FilePath ws, String testResults,
+	                                                               long stageStartTime) {
 		try {
 			LOGGER.log(Level.INFO, "DevOpsRunStatusAction.getTestFiles: testResults-" + testResults);
 
-			FileSet fs = Util.createFileSet(new File(ws.getRemote()), testResults);
-			DirectoryScanner ds = fs.getDirectoryScanner();
-			String[] files = ds.getIncludedFiles();
-			LOGGER.log(Level.INFO, "DevOpsRunStatusAction.getTestFiles: files-" + files.length);
-			for (String relPath : files) {
-				FilePath reportFile = new FilePath(ws, relPath);
-				if (reportFile.lastModified() > stageStartTime) {
-					fileList.add(reportFile);
-				}
-			}
+			List<DevOpsTestReportCallable.TestReport> fileList =
+					ws.act(new DevOpsTestReportCallable(testResults, stageStartTime));
 			LOGGER.log(Level.INFO, "DevOpsRunStatusAction.getTestFiles: fileList-" + fileList.size());
+			return fileList;
 
-
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.log(Level.WARNING, "DevOpsRunStatusAction.getTestFiles()- Interrupted getting test " +
+					"files - " + e.getMessage());
 		} catch (Exception e) {
 			LOGGER.log(Level.WARNING, "DevOpsRunStatusAction.getTestFiles()- Error getting test " +
 					"files - " + e.getMessage());
 		}
+		return new ArrayList<>();
 	}
 
 	private static boolean stringContainsItemFromList(String inputStr, String[] items) {
@@ -545,6 +551,13 @@ API (wfapi) for individual stage execution example (build #6, stageId #6)
 	public DevOpsRunStatusStageModel createRunStatusStage(FlowNode fn, final Run<?, ?> run,
 	                                                      String phase, boolean isStageStart,
 	                                                      DevOpsPipelineNode devOpsPipelineNode) {
+		return createRunStatusStage(fn, run, phase, isStageStart, devOpsPipelineNode, System.currentTimeMillis());
+	}
+
+	public DevOpsRunStatusStageModel createRunStatusStage(FlowNode fn, final Run<?, ?> run,
+	                                                      String phase, boolean isStageStart,
+	                                                      DevOpsPipelineNode devOpsPipelineNode,
+	                                                      long eventTime) {
 		DevOpsRunStatusStageModel stageModel = new DevOpsRunStatusStageModel();
 		if (run != null && fn != null && phase != null && devOpsPipelineNode != null) {
 			stageModel.setPhase(phase);
@@ -553,7 +566,7 @@ API (wfapi) for individual stage execution example (build #6, stageId #6)
 				stageModel.setId(((StepStartNode) fn).getId());
 
 				stageModel.setDuration(0);
-				stageModel.setTimestamp(System.currentTimeMillis());
+				stageModel.setTimestamp(eventTime);
 
 				setStageModelDetailsFromPipelineNode(devOpsPipelineNode, stageModel);
 
@@ -570,7 +583,7 @@ API (wfapi) for individual stage execution example (build #6, stageId #6)
 					setStageModelDetailsFromPipelineNode(devOpsPipelineNode, stageModel);
 					stageModel.setWaitForChildExecutions(pipelineGraph.getWaitForChildExecutions(devOpsPipelineNode.getId()));
 				}
-				stageModel.setTimestamp(System.currentTimeMillis());//run.getTimeInMillis());
+				stageModel.setTimestamp(eventTime);//run.getTimeInMillis());
 
 				//get log for stage
 				List<FlowNode> parents = fn.getParents();
@@ -719,7 +732,7 @@ API (wfapi) for individual stage execution example (build #6, stageId #6)
 		LogAction logAction = fn.getAction(LogAction.class);
 		if (logAction != null) {
 			AnnotatedLargeText<? extends FlowNode> logText = logAction.getLogText();
-			String logStr = extractLog(logText);
+			String logStr = extractLog(logText, sizeLimit - currSize[0]);
 			addLogEntry(logStr, logQueue, currSize, sizeLimit);
 		}
 	}
@@ -728,10 +741,10 @@ API (wfapi) for individual stage execution example (build #6, stageId #6)
 	private void addLogEntry(String logStr, Deque<String> logQueue, int[] currSize, int sizeLimit)
 			throws
 			UnsupportedEncodingException {
-		int logLineLen = logStr.getBytes(StandardCharsets.UTF_8).length;
+		int logLineLen = DevOpsLogTail.utf8Length(logStr);
 		if (currSize[0] + logLineLen > sizeLimit) {
 			logStr = getLastChunk(logStr, sizeLimit - currSize[0]);
-			logLineLen = logStr.getBytes(StandardCharsets.UTF_8).length;
+			logLineLen = DevOpsLogTail.utf8Length(logStr);
 		}
 
 		if (logLineLen > 0)
@@ -740,11 +753,12 @@ API (wfapi) for individual stage execution example (build #6, stageId #6)
 		currSize[0] = currSize[0] + logLineLen;
 	}
 
-	private String extractLog(AnnotatedLargeText largeText) throws UnsupportedEncodingException {
+	// only the tail of the log is read, never more than sizeLimit bytes are kept
+	private String extractLog(AnnotatedLargeText largeText, int sizeLimit) throws UnsupportedEncodingException {
 
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		String logEntry;
 		try {
-			largeText.writeLogTo(0, baos);
+			logEntry = DevOpsLogTail.read(largeText, sizeLimit);
 		} catch (FileNotFoundException x) {
 			LOGGER.log(Level.INFO, " log file not created yet");
 			return ""; // log file not yet created, OK
@@ -753,26 +767,16 @@ API (wfapi) for individual stage execution example (build #6, stageId #6)
 			return "";
 		}
 
-		String logEntry = new String(baos.toByteArray(), StandardCharsets.UTF_8);
-		LOGGER.log(Level.INFO, " logEntry :" + logEntry);
+		LOGGER.log(Level.FINE, " logEntry length :" + logEntry.length());
 
 		return logEntry;
 	}
 
 
+	// longest suffix of original that fits into chunkSize UTF-8 bytes
 	public static String getLastChunk(String original, int chunkSize)
 			throws UnsupportedEncodingException {
-		final int end = original.length();
-		int from = 0, to = end;
-
-		from = end - chunkSize < 0 ? 0 : end - chunkSize;
-		String chunk = original.substring(from, to); // get chunk
-		while (chunk.getBytes(StandardCharsets.UTF_8).length >
-				chunkSize) { // adjust chunk to proper byte size if necessary
-			chunk = original.substring(from++, to);
-		}
-
-		return chunk;
+		return DevOpsLogTail.lastBytes(original, chunkSize);
 	}
 
 	public DevOpsRunStatusSCMModel createRunStatusSCM(final Run<?, ?> run, EnvVars vars) {
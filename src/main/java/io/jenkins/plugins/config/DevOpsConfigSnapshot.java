@@ -0,0 +1,218 @@
+package io.jenkins.plugins.config;
+
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import io.jenkins.plugins.utils.GenericUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Immutable view of the saved configuration, rebuilt whenever it is loaded or saved and read without
+ * locking. Endpoint URLs are built once per snapshot. Credentials, and the validity verdict that depends
+ * on them, are resolved through {@link DevOpsCredentialsCache} on every use, so changed credentials are
+ * picked up as soon as the cache is.
+ */
+public final class DevOpsConfigSnapshot {
+
+	private static final AtomicLong versions = new AtomicLong();
+
+	private final long version = versions.incrementAndGet();
+	private final boolean enabled;
+	private final String instanceUrl;
+	private final String apiVersion;
+	private final String toolId;
+	private final String credentialsId;
+	private final String savedUser;
+	private final String savedPwd;
+
+	// instance url without trailing slash, null when no instance url is set
+	private final String baseUrl;
+	private final String trackingUrl;
+	private final String changeControlUrl;
+	private final String changeInfoUrl;
+	private final String callbackUrl;
+	private final String mappingUrl;
+	private final String notificationUrl;
+	private final String testUrl;
+	private final String notificationBatchUrl;
+	private final String artifactRegistrationUrl;
+	private final String artifactCreatePackageUrl;
+	private final String pipelineRegisterUrl;
+
+	// whether everything but the credentials is set
+	private final boolean configured;
+	private final AtomicBoolean invalidLogged = new AtomicBoolean();
+
+	DevOpsConfigSnapshot(boolean enabled, String instanceUrl, String apiVersion, String toolId, String credentialsId,
+			String savedUser, String savedPwd) {
+		this.enabled = enabled;
+		this.instanceUrl = instanceUrl;
+		this.apiVersion = apiVersion;
+		this.toolId = toolId;
+		this.credentialsId = credentialsId;
+		this.savedUser = savedUser;
+		this.savedPwd = savedPwd;
+		this.baseUrl = GenericUtils.isNotEmpty(instanceUrl)
+				? instanceUrl.endsWith("/") ? instanceUrl.substring(0, instanceUrl.length() - 1) : instanceUrl
+				: null;
+		this.trackingUrl = devOpsUrl("/devops/orchestration/pipelineInfo");
+		this.changeControlUrl = devOpsUrl("/devops/orchestration/changeControl");
+		this.changeInfoUrl = devOpsUrl("/devops/orchestration/changeInfo");
+		this.callbackUrl = devOpsUrl("/devops/orchestration/callback");
+		this.mappingUrl = devOpsUrl("/devops/orchestration/stepMapping");
+		this.notificationUrl = devOpsUrl("/devops/tool/orchestration");
+		this.testUrl = devOpsUrl("/devops/tool/test");
+		this.notificationBatchUrl = devOpsUrl("/devops/tool/batch");
+		this.artifactRegistrationUrl = devOpsUrl("/devops/artifact/registration");
+		this.artifactCreatePackageUrl = devOpsUrl("/devops/package/registration");
+		this.pipelineRegisterUrl = devOpsUrl("/devops/config/updatePipeline");
+		this.configured = GenericUtils.isNotEmpty(instanceUrl) && GenericUtils.isNotEmpty(toolId)
+				&& GenericUtils.isNotEmpty(apiVersion);
+	}
+
+	private String devOpsUrl(String path) {
+		return baseUrl != null ? baseUrl + "/api/sn_devops/" + apiVersion + path : null;
+	}
+
+	/**
+	 * @param path path below the instance url, starting with a slash
+	 * @return url on the instance, null when no instance url is set
+	 */
+	public String instanceUrl(String path) {
+		return baseUrl != null ? baseUrl + path : null;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public String getInstanceUrl() {
+		return instanceUrl;
+	}
+
+	public String getApiVersion() {
+		return apiVersion;
+	}
+
+	public String getToolId() {
+		return toolId;
+	}
+
+	public String getTrackingUrl() {
+		return trackingUrl;
+	}
+
+	public String getChangeControlUrl() {
+		return changeControlUrl;
+	}
+
+	public String getChangeInfoUrl() {
+		return changeInfoUrl;
+	}
+
+	public String getCallbackUrl() {
+		return callbackUrl;
+	}
+
+	public String getMappingUrl() {
+		return mappingUrl;
+	}
+
+	public String getNotificationUrl() {
+		return notificationUrl;
+	}
+
+	public String getTestUrl() {
+		return testUrl;
+	}
+
+	public String getNotificationBatchUrl() {
+		return notificationBatchUrl;
+	}
+
+	public String getArtifactRegistrationUrl() {
+		return artifactRegistrationUrl;
+	}
+
+	public String getArtifactCreatePackageUrl() {
+		return artifactCreatePackageUrl;
+	}
+
+	public String getPipelineRegisterUrl() {
+		return pipelineRegisterUrl;
+	}
+
+	public String getUser() {
+		return getCredentials().user;
+	}
+
+	public String getPwd() {
+		return getCredentials().pwd;
+	}
+
+	private Credentials getCredentials() {
+		// To ensure backward compatibility we are using saved user details
+		String user = savedUser;
+		String pwd = savedPwd;
+		if (GenericUtils.isEmpty(user) || GenericUtils.isEmpty(pwd)) {
+			StandardUsernamePasswordCredentials sc = DevOpsCredentialsCache.get(credentialsId);
+			if (GenericUtils.isEmpty(user))
+				user = sc != null ? sc.getUsername() : null;
+			if (GenericUtils.isEmpty(pwd))
+				pwd = sc != null && sc.getPassword() != null ? sc.getPassword().getPlainText() : null;
+		}
+		return new Credentials(user, pwd);
+	}
+
+	/**
+	 * Whether the integration is enabled and fully configured. Logs what is missing once per snapshot.
+	 */
+	public boolean isValid() {
+		if (!enabled)
+			return false;
+		Credentials current = getCredentials();
+		if (configured && GenericUtils.isNotEmpty(current.user) && GenericUtils.isNotEmpty(current.pwd))
+			return true;
+		if (invalidLogged.compareAndSet(false, true))
+			logInvalid(current);
+		return false;
+	}
+
+	private void logInvalid(Credentials current) {
+		StringBuilder errMsg = new StringBuilder("!!! Invalid SnDevops " +
+				"Configuration - ");
+
+		if (GenericUtils.isEmpty(instanceUrl))
+			errMsg.append(" InstanceURL not provided |");
+
+		if (GenericUtils.isEmpty(toolId))
+			errMsg.append(" ToolId not provided |");
+
+		if (GenericUtils.isEmpty(apiVersion))
+			errMsg.append(" API version not provided |");
+
+		if (GenericUtils.isEmpty(current.user))
+			errMsg.append(" User not provided  |");
+
+		if (GenericUtils.isEmpty(current.pwd))
+			errMsg.append(" Password not provided |");
+
+		Logger.getLogger(GenericUtils.class.getName())
+				.info(errMsg.toString());
+	}
+
+	private static final class Credentials {
+		private final String user;
+		private final String pwd;
+
+		Credentials(String user, String pwd) {
+			this.user = user;
+			this.pwd = pwd;
+		}
+	}
+}
@@ -12,6 +12,7 @@ import hudson.model.ItemGroup;
 import hudson.security.ACL;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
+import io.jenkins.plugins.model.DevOpsNotificationQueue;
 import io.jenkins.plugins.utils.CommUtils;
 import io.jenkins.plugins.utils.DevOpsConstants;
 import io.jenkins.plugins.utils.GenericUtils;
@@ -38,6 +39,16 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 
 	private static final Logger LOGGER = Logger.getLogger(DevOpsConfiguration.class.getName());
 
+	public static final int DEFAULT_HTTP_POOL_SIZE = 20;
+	public static final int DEFAULT_HTTP_IDLE_EVICTION_SECONDS = 30;
+	public static final int DEFAULT_HTTP_CONNECT_TIMEOUT = 5000;
+	// finite so that a hung instance cannot hold every pooled connection and worker, 0 disables it
+	public static final int DEFAULT_HTTP_READ_TIMEOUT = 60000;
+	public static final int DEFAULT_NOTIFICATION_QUEUE_CAPACITY = 1000;
+	public static final int DEFAULT_NOTIFICATION_QUEUE_WORKERS = 4;
+	public static final int DEFAULT_NOTIFICATION_BATCH_SIZE = 50;
+	public static final int DEFAULT_NOTIFICATION_BATCH_LINGER_MS = 200;
+
 	private boolean snDevopsEnabled;
 	private String instanceUrl;
 	private String apiVersion;
@@ -50,6 +61,19 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 	private String pwd;
 	private boolean trackCheck;
 	private boolean trackPullRequestPipelinesCheck;
+	private Integer httpPoolSize;
+	private Integer httpIdleEvictionSeconds;
+	private Integer httpConnectTimeout;
+	private Integer httpReadTimeout;
+	private Integer notificationQueueCapacity;
+	private Integer notificationQueueWorkers;
+	private String notificationQueueOverflowPolicy;
+	private boolean notificationBatchEnabled;
+	private Integer notificationBatchSize;
+	private Integer notificationBatchLingerMs;
+
+	private transient volatile DevOpsConfigSnapshot snapshot;
+	private static volatile DevOpsConfiguration instance;
 
 	public DevOpsConfiguration() {
 		load();
@@ -57,6 +81,28 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 		if (this.logLevel == null)
 			this.logLevel = (this.debug) ? "info" : "off";
 		GenericUtils.configureLogger(this.logLevel);
+		instance = this;
+	}
+
+	@Override
+	public synchronized void load() {
+		super.load();
+		rebuildSnapshot();
+	}
+
+	// called whenever the saved configuration or the credentials it refers to change
+	public void rebuildSnapshot() {
+		this.snapshot = new DevOpsConfigSnapshot(snDevopsEnabled, instanceUrl, apiVersion, toolId, credentialsId,
+				user, pwd);
+	}
+
+	public DevOpsConfigSnapshot getSnapshot() {
+		DevOpsConfigSnapshot current = this.snapshot;
+		if (current == null) {
+			rebuildSnapshot();
+			current = this.snapshot;
+		}
+		return current;
 	}
 
 	@Override
@@ -78,12 +124,32 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 				this.pwd = null;
 				this.trackCheck = snDevOpsJSON.getBoolean("trackCheck");
 				this.trackPullRequestPipelinesCheck = snDevOpsJSON.getBoolean("trackPullRequestPipelinesCheck");
+				this.httpPoolSize = snDevOpsJSON.optInt("httpPoolSize", DEFAULT_HTTP_POOL_SIZE);
+				this.httpIdleEvictionSeconds = snDevOpsJSON.optInt("httpIdleEvictionSeconds",
+						DEFAULT_HTTP_IDLE_EVICTION_SECONDS);
+				this.httpConnectTimeout = snDevOpsJSON.optInt("httpConnectTimeout", DEFAULT_HTTP_CONNECT_TIMEOUT);
+				this.httpReadTimeout = snDevOpsJSON.optInt("httpReadTimeout", DEFAULT_HTTP_READ_TIMEOUT);
+				this.notificationQueueCapacity = snDevOpsJSON.optInt("notificationQueueCapacity",
+						DEFAULT_NOTIFICATION_QUEUE_CAPACITY);
+				this.notificationQueueWorkers = snDevOpsJSON.optInt("notificationQueueWorkers",
+						DEFAULT_NOTIFICATION_QUEUE_WORKERS);
+				this.notificationQueueOverflowPolicy = snDevOpsJSON.optString("notificationQueueOverflowPolicy",
+						DevOpsNotificationQueue.OVERFLOW_SPILL);
+				this.notificationBatchEnabled = snDevOpsJSON.optBoolean("notificationBatchEnabled");
+				this.notificationBatchSize = snDevOpsJSON.optInt("notificationBatchSize",
+						DEFAULT_NOTIFICATION_BATCH_SIZE);
+				this.notificationBatchLingerMs = snDevOpsJSON.optInt("notificationBatchLingerMs",
+						DEFAULT_NOTIFICATION_BATCH_LINGER_MS);
 			}
 		} else {
 			this.snDevopsEnabled = false;
 		}
 
 		this.save();
+		DevOpsCredentialsCache.invalidate();
+		rebuildSnapshot();
+		CommUtils.reconfigureTransport(this);
+		DevOpsNotificationQueue.reconfigure(this);
 		return super.configure(req, formData);
 	}
 
@@ -100,10 +166,24 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 		this.credentialsId = null;
 		this.trackCheck = false;
 		this.trackPullRequestPipelinesCheck = false;
+		this.httpPoolSize = null;
+		this.httpIdleEvictionSeconds = null;
+		this.httpConnectTimeout = null;
+		this.httpReadTimeout = null;
+		this.notificationQueueCapacity = null;
+		this.notificationQueueWorkers = null;
+		this.notificationQueueOverflowPolicy = null;
+		this.notificationBatchEnabled = false;
+		this.notificationBatchSize = null;
+		this.notificationBatchLingerMs = null;
 	}
 
 	@Nonnull
 	public static DevOpsConfiguration get() {
+		// the extension is a singleton, skip the extension list lookup on hot paths
+		DevOpsConfiguration current = instance;
+		if (current != null)
+			return current;
 		return (DevOpsConfiguration) GlobalConfiguration.all().getInstance(DevOpsConfiguration.class);
 	}
 
@@ -137,44 +217,68 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 		return trackPullRequestPipelinesCheck;
 	}
 
+	// max pooled keep-alive connections per ServiceNow host
+	public int getHttpPoolSize() {
+		return (httpPoolSize != null && httpPoolSize > 0) ? httpPoolSize : DEFAULT_HTTP_POOL_SIZE;
+	}
+
+	// pooled connections idle for longer than this are closed
+	public int getHttpIdleEvictionSeconds() {
+		return (httpIdleEvictionSeconds != null && httpIdleEvictionSeconds > 0) ? httpIdleEvictionSeconds
+				: DEFAULT_HTTP_IDLE_EVICTION_SECONDS;
+	}
+
+	public int getHttpConnectTimeout() {
+		return (httpConnectTimeout != null && httpConnectTimeout > 0) ? httpConnectTimeout
+				: DEFAULT_HTTP_CONNECT_TIMEOUT;
+	}
+
+	public int getHttpReadTimeout() {
+		return (httpReadTimeout != null && httpReadTimeout >= 0) ? httpReadTimeout : DEFAULT_HTTP_READ_TIMEOUT;
+	}
+
+	// max notifications held in memory before the overflow policy applies
+	public int getNotificationQueueCapacity() {
+		return (notificationQueueCapacity != null && notificationQueueCapacity > 0) ? notificationQueueCapacity
+				: DEFAULT_NOTIFICATION_QUEUE_CAPACITY;
+	}
+
+	public int getNotificationQueueWorkers() {
+		return (notificationQueueWorkers != null && notificationQueueWorkers > 0) ? notificationQueueWorkers
+				: DEFAULT_NOTIFICATION_QUEUE_WORKERS;
+	}
+
+	public String getNotificationQueueOverflowPolicy() {
+		return GenericUtils.isNotEmpty(notificationQueueOverflowPolicy) ? notificationQueueOverflowPolicy
+				: DevOpsNotificationQueue.OVERFLOW_SPILL;
+	}
+
+	// coalesce queued notifications into array posts, falls back to single posts when unsupported
+	public boolean isNotificationBatchEnabled() {
+		return notificationBatchEnabled;
+	}
+
+	public int getNotificationBatchSize() {
+		return (notificationBatchSize != null && notificationBatchSize > 0) ? notificationBatchSize
+				: DEFAULT_NOTIFICATION_BATCH_SIZE;
+	}
+
+	// how long a worker waits for more events before posting a partial batch
+	public int getNotificationBatchLingerMs() {
+		return (notificationBatchLingerMs != null && notificationBatchLingerMs >= 0) ? notificationBatchLingerMs
+				: DEFAULT_NOTIFICATION_BATCH_LINGER_MS;
+	}
+
 	public String getUser() {
-		// To ensure backward compatibility we are using saved user details
-		if (!GenericUtils.isEmpty(this.user)) {
-			return this.user;
-		}
-		StandardUsernamePasswordCredentials sc = getCredentials(this.credentialsId);
-		if (sc != null) {
-			return sc.getUsername();
-		}
-		return null;
+		return getSnapshot().getUser();
 	}
 
 	public String getPwd() {
-		// To ensure backward compatibility we are using saved user details
-		if (!GenericUtils.isEmpty(this.pwd)) {
-			return this.pwd;
-		}
-		StandardUsernamePasswordCredentials sc = getCredentials(this.credentialsId);
-		if (sc != null && sc.getPassword() != null) {
-			return sc.getPassword().getPlainText();
-		}
-		return null;
+		return getSnapshot().getPwd();
 	}
 
 	public StandardUsernamePasswordCredentials getCredentials(String credentialsId) {
-		DomainRequirement dr = null;
-		ItemGroup itemGroup = null;
-		Authentication authentication = null;
-		List<StandardUsernamePasswordCredentials> lc = CredentialsProvider
-				.lookupCredentials(StandardUsernamePasswordCredentials.class, itemGroup, authentication, dr);
-
-		for (int i = 0; i < lc.size(); i++) {
-			StandardUsernamePasswordCredentials sc = lc.get(i);
-			if (sc.getId().equals(credentialsId)) {
-				return sc;
-			}
-		}
-		return null;
+		return DevOpsCredentialsCache.get(credentialsId);
 	}
 
 	public String getToolId() {
@@ -301,82 +405,51 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 				: null;
 	}
 
-	private String getChangeInfoUrl(String instanceUrl, String apiVersion) {
-
-		return GenericUtils.isNotEmpty(instanceUrl)
-				? String.format("%s/api/sn_devops/%s/devops/orchestration/changeInfo",
-				getTrimmedUrl(instanceUrl), apiVersion)
-				: null;
-	}
-
-	private String getTrackingUrl(String instanceUrl, String apiVersion) {
-
-		return GenericUtils.isNotEmpty(instanceUrl)
-				? String.format("%s/api/sn_devops/%s/devops/orchestration" + "/pipelineInfo",
-						getTrimmedUrl(instanceUrl), apiVersion)
-				: null;
-	}
-
 	public String getTrackingUrl() {
-		return getTrackingUrl(getInstanceUrl(), getApiVersion());
+		return getSnapshot().getTrackingUrl();
 	}
 
 	// change control url
 	public String getChangeControlUrl() {
-		return getChangeControlUrl(getInstanceUrl(), getApiVersion());
+		return getSnapshot().getChangeControlUrl();
 	}
 
 	// change Info url
 	public String getChangeInfoUrl() {
-		return getChangeInfoUrl(getInstanceUrl(), getApiVersion());
+		return getSnapshot().getChangeInfoUrl();
 	}
 
 	public String getCallbackUrl() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_devops/%s/devops/orchestration" + "/callback",
-						getTrimmedUrl(getInstanceUrl()), getApiVersion())
-				: null;
+		return getSnapshot().getCallbackUrl();
 	}
 
 	// mapping url
 	public String getMappingUrl() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_devops/%s/devops/orchestration" + "/stepMapping",
-						getTrimmedUrl(getInstanceUrl()), getApiVersion())
-				: null;
+		return getSnapshot().getMappingUrl();
 	}
 
 	// notification url
 	public String getNotificationUrl() {
-
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_devops/%s/devops/tool/orchestration", getTrimmedUrl(getInstanceUrl()),
-						getApiVersion())
-				: null;
+		return getSnapshot().getNotificationUrl();
 	}
 
 	public String getTestUrl() {
+		return getSnapshot().getTestUrl();
+	}
 
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_devops/%s/devops/tool/test", getTrimmedUrl(getInstanceUrl()),
-						getApiVersion())
-				: null;
+	// bulk notification url, accepts an array of run-status and test events
+	public String getNotificationBatchUrl() {
+		return getSnapshot().getNotificationBatchUrl();
 	}
 
 	// artifact registration url
 	public String getArtifactRegistrationUrl() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_devops/%s/devops/artifact/registration", getTrimmedUrl(getInstanceUrl()),
-						getApiVersion())
-				: null;
+		return getSnapshot().getArtifactRegistrationUrl();
 	}
 
 	// artifact create package url
 	public String getArtifactCreatePackageUrl() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_devops/%s/devops/package/registration", getTrimmedUrl(getInstanceUrl()),
-						getApiVersion())
-				: null;
+		return getSnapshot().getArtifactCreatePackageUrl();
 	}
 
 	public ListBoxModel doFillCredentialsIdItems(@QueryParameter String credentialsId) {
@@ -397,39 +470,27 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 	}
 
 	public String getCDMChangeSetCreationURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_cdm/changesets/create", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/sn_cdm/changesets/create");
 	}
 
 	public String getCDMUploadToComponentURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_cdm/applications/uploads/components", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/sn_cdm/applications/uploads/components");
 	}
 
 	public String getCDMUploadToDeployableURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_cdm/applications/uploads/deployables", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/sn_cdm/applications/uploads/deployables");
 	}
 
 	public String getCDMUploadToCollectionURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_cdm/applications/uploads/collections", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/sn_cdm/applications/uploads/collections");
 	}
 
 	public String getUploadStatusURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_cdm/applications/upload-status/", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/sn_cdm/applications/upload-status/");
 	}
 
 	public String getSnapshotStatusURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/now/table/sn_cdm_snapshot", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/now/table/sn_cdm_snapshot");
 	}
 
 	public String getPublishSnapshotURL(String snapshotId) {
@@ -440,9 +501,7 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 	}
 	
 	public String getExportRequestURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_cdm/applications/deployables/exports", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/sn_cdm/applications/deployables/exports");
 	}
 
 	public String getExportConfigStatusURL(String exportId) {
@@ -465,10 +524,7 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 	}
 
 	public String getPipelineRegisterURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/sn_devops/%s/devops/config/updatePipeline", getTrimmedUrl(getInstanceUrl()),
-						getApiVersion())
-				: null;
+		return getSnapshot().getPipelineRegisterUrl();
 	}
 	
 	public ListBoxModel doFillLogLevelItems(@QueryParameter String logLevel) {
@@ -491,6 +547,20 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 		return options;
 	}
 
+	public ListBoxModel doFillNotificationQueueOverflowPolicyItems(
+			@QueryParameter String notificationQueueOverflowPolicy) {
+		ListBoxModel options = new ListBoxModel();
+		options.add("Spill to disk", DevOpsNotificationQueue.OVERFLOW_SPILL);
+		options.add("Block the caller", DevOpsNotificationQueue.OVERFLOW_BLOCK);
+		options.add("Drop oldest", DevOpsNotificationQueue.OVERFLOW_DROP_OLDEST);
+		for (ListBoxModel.Option option : options) {
+			if (option.value.equals(notificationQueueOverflowPolicy)) {
+				option.selected = true;
+			}
+		}
+		return options;
+	}
+
 	public String getValidateSnapshotURL(String snapshotId) {
 		return GenericUtils.isNotEmpty(getInstanceUrl())
 				? String.format("%s/api/sn_cdm/snapshots/%s/validate", getTrimmedUrl(getInstanceUrl()),
@@ -499,20 +569,14 @@ public class DevOpsConfiguration extends GlobalConfiguration {
 	}
 
 	public String getChangesetURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/now/table/sn_cdm_changeset", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/now/table/sn_cdm_changeset");
 	}
 
 	public String getValidAppURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/now/table/sn_cdm_application", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/now/table/sn_cdm_application");
 	}
 
 	public String getPolicyValidationURL() {
-		return GenericUtils.isNotEmpty(getInstanceUrl())
-				? String.format("%s/api/now/table/sn_cdm_policy_validation_result", getTrimmedUrl(getInstanceUrl()))
-				: null;
+		return getSnapshot().instanceUrl("/api/now/table/sn_cdm_policy_validation_result");
 	}
 }
\ No newline at end of file
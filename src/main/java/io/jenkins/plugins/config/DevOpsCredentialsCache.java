@@ -0,0 +1,99 @@
+package io.jenkins.plugins.config;
+
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import com.cloudbees.plugins.credentials.domains.DomainRequirement;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.ItemGroup;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import io.jenkins.plugins.utils.GenericUtils;
+import org.acegisecurity.Authentication;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Username/password credentials resolved by id. Looking them up scans every credential of the
+ * system, so the result is kept until a credentials store is saved or the plugin is configured.
+ * Providers that do not save through Jenkins are picked up after {@link #TTL_MS}.
+ */
+public final class DevOpsCredentialsCache {
+	private DevOpsCredentialsCache() {}
+
+	private static final long TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
+	private static final ConcurrentMap<String, Resolved> resolved = new ConcurrentHashMap<>();
+
+	/**
+	 * @param credentialsId id of the credentials
+	 * @return the credentials, null if there are none with this id
+	 */
+	public static StandardUsernamePasswordCredentials get(String credentialsId) {
+		if (credentialsId == null)
+			return null;
+		Resolved entry = resolved.get(credentialsId);
+		if (entry == null || entry.isExpired()) {
+			entry = new Resolved(lookup(credentialsId));
+			resolved.put(credentialsId, entry);
+		}
+		return entry.credentials;
+	}
+
+	public static void invalidate() {
+		resolved.clear();
+	}
+
+	private static StandardUsernamePasswordCredentials lookup(String credentialsId) {
+		DomainRequirement dr = null;
+		ItemGroup itemGroup = null;
+		Authentication authentication = null;
+		List<StandardUsernamePasswordCredentials> lc = CredentialsProvider
+				.lookupCredentials(StandardUsernamePasswordCredentials.class, itemGroup, authentication, dr);
+
+		for (int i = 0; i < lc.size(); i++) {
+			StandardUsernamePasswordCredentials sc = lc.get(i);
+			if (sc.getId().equals(credentialsId)) {
+				return sc;
+			}
+		}
+		return null;
+	}
+
+	private static final class Resolved {
+		// null when no credentials have the id
+		private final StandardUsernamePasswordCredentials credentials;
+		private final long resolvedAt = System.currentTimeMillis();
+
+		Resolved(StandardUsernamePasswordCredentials credentials) {
+			this.credentials = credentials;
+		}
+
+		boolean isExpired() {
+			return System.currentTimeMillis() - resolvedAt > TTL_MS;
+		}
+	}
+
+	/**
+	 * Drops the resolved credentials whenever a credentials store or provider is saved.
+	 */
+	@Extension
+	public static final class CredentialsSaveListener extends SaveableListener {
+		@Override
+		public void onChange(Saveable o, XmlFile file) {
+			if (o != null && o.getClass().getName().startsWith("com.cloudbees.plugins.credentials.")) {
+				GenericUtils.printDebug(DevOpsCredentialsCache.class.getName(), "onChange", new String[]{"saveable"},
+						new String[]{o.getClass().getName()}, Level.FINE);
+				invalidate();
+				// the configuration snapshot holds the credentials resolved from the cache
+				DevOpsConfiguration config = DevOpsConfiguration.get();
+				if (config != null)
+					config.rebuildSnapshot();
+			}
+		}
+	}
+}
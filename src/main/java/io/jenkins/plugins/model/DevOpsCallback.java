@@ -0,0 +1,113 @@
+package io.jenkins.plugins.model;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import io.jenkins.plugins.utils.DevOpsConstants;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * A request received on /sn-devops/{token}. The kind is derived from the token before the body
+ * is read, the body is read once with a size cap and parsed once.
+ */
+public final class DevOpsCallback {
+
+	public enum Kind {
+		FREESTYLE, PIPELINE, PIPELINE_INFO_UPDATE, PIPELINE_INFO_DELETE, UNKNOWN;
+
+		public static Kind of(String token) {
+			if (token.startsWith(DevOpsConstants.FREESTYLE_CALLBACK_URL_IDENTIFIER.toString()))
+				return FREESTYLE;
+			if (token.startsWith(DevOpsConstants.PIPELINE_CALLBACK_URL_IDENTIFIER.toString()))
+				return PIPELINE;
+			if (token.startsWith(DevOpsConstants.PIPELINE_INFO_UPDATE_IDENTIFIER.toString()))
+				return PIPELINE_INFO_UPDATE;
+			if (token.startsWith(DevOpsConstants.PIPELINE_INFO_DELETE_IDENTIFIER.toString()))
+				return PIPELINE_INFO_DELETE;
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * Thrown when a body exceeds the size cap.
+	 */
+	public static final class TooLargeException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		TooLargeException(int maxSize) {
+			super("Callback body exceeds " + maxSize + " characters");
+		}
+	}
+
+	private final String token;
+	private final Kind kind;
+	private final String content;
+	private final JSONObject json;
+
+	private DevOpsCallback(String token, Kind kind, String content, JSONObject json) {
+		this.token = token;
+		this.kind = kind;
+		this.content = content;
+		this.json = json;
+	}
+
+	/**
+	 * @param token path after /sn-devops/
+	 * @param kind kind of the token
+	 * @param reader request body
+	 * @param maxSize maximum body size in characters
+	 * @return the callback, its content trimmed
+	 * @throws TooLargeException if the body exceeds maxSize
+	 * @throws IOException if the body cannot be read
+	 */
+	public static DevOpsCallback read(String token, Kind kind, Reader reader, int maxSize) throws IOException {
+		StringBuilder body = new StringBuilder();
+		char[] buffer = new char[8192];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			if (body.length() + read > maxSize)
+				throw new TooLargeException(maxSize);
+			body.append(buffer, 0, read);
+		}
+		String content = body.toString().trim();
+		return new DevOpsCallback(token, kind, content, parse(content));
+	}
+
+	// bodies are JSON objects, anything else is kept as text only
+	private static JSONObject parse(String content) {
+		if (!content.startsWith("{"))
+			return null;
+		try {
+			return JSONObject.fromObject(content);
+		} catch (JSONException e) {
+			return null;
+		}
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	public boolean hasContent() {
+		return !content.isEmpty();
+	}
+
+	// parsed body, null if it is not a JSON object
+	public JSONObject getJson() {
+		return json;
+	}
+
+	// change request details sent ahead of the approval result
+	public boolean isChangeRequestInfo() {
+		return json != null && json.containsKey(DevOpsConstants.CHANGE_REQUEST_ID.toString());
+	}
+}
@@ -12,17 +12,25 @@ import io.jenkins.plugins.config.DevOpsConfiguration;
 import io.jenkins.plugins.pipeline.steps.executions.DevOpsPipelineChangeStepExecution;
 import io.jenkins.plugins.utils.CommUtils;
 import io.jenkins.plugins.utils.DevOpsConstants;
+import io.jenkins.plugins.utils.DevOpsExecutors;
 import io.jenkins.plugins.utils.GenericUtils;
 import net.sf.json.JSONObject;
 
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.PriorityQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import static io.jenkins.plugins.DevOpsRunListener.DevOpsStageListener.getCurrentStageId;
 
 public class DevOpsChangePollingModel {
+    private static final String CHG_STEP = "changeStep"; // Priority: 1
+    private static final String CHG_CREATION = "changeCreation"; // Priority: 2
+    private static final String POLLING = "polling"; // Priority: 3
+
     public DevOpsPipelineNode getStageNodeById(Run<?, ?> run, String stageId) {
         DevOpsModel model = new DevOpsModel();
         return model.getStageNodeById(run, stageId);
@@ -57,100 +65,147 @@ public class DevOpsChangePollingModel {
         if(pollingIntervalFinal <=0 && changeFailureTimeoutFinal <= 0 && changeStepTimeoutFinal <= 0)
             return;
 
-        final long stageStartTime = startTime;
-        Runnable pollingThread = () ->
-        {
-            Thread.currentThread().setName("DevopsChangePollingThread");
-            final String CHG_STEP = "changeStep"; // Priority: 1
-            final String CHG_CREATION = "changeCreation"; // Priority: 2
-            final String POLLING = "polling"; // Priority: 3
-            class Interval {
-                long intervalTime;
-                String type;
-                int priority;
-                public Interval(long intervalTime, int priority, String type){
-                    this.intervalTime = intervalTime;
-                    this.type = type;
-                    this.priority = priority;
-                }
+        ChangePoller poller = new ChangePoller(listener, run, controlledJob, stepExecution, startTime,
+                pollingIntervalFinal, changeFailureTimeoutFinal, changeStepTimeoutFinal);
+        stepExecution.setPoller(poller);
+        poller.scheduleNext();
+    }
+
+    private static final class Interval {
+        final long intervalTime;
+        final int priority;
+        final String type;
+
+        Interval(long intervalTime, int priority, String type) {
+            this.intervalTime = intervalTime;
+            this.priority = priority;
+            this.type = type;
+        }
+    }
+
+    /**
+     * Polls the change status for one waiting change step and enforces its change creation and change step
+     * timeouts. Waits run on the shared scheduler and checks on the shared worker pool, so a parked step
+     * holds no thread.
+     */
+    public final class ChangePoller {
+        private final TaskListener listener;
+        private final Run<?, ?> run;
+        private final Job<?, ?> controlledJob;
+        private final DevOpsPipelineChangeStepExecution stepExecution;
+        private final long stageStartTime;
+        private final long pollingIntervalFinal;
+        private final long changeFailureTimeoutFinal;
+        private final long changeStepTimeoutFinal;
+
+        private long nextPollingTime;
+        private boolean isChangeCreationChecked = false;
+        private DevOpsChangeRequestDetails previousChangeDetails = new DevOpsChangeRequestDetails();
+        private volatile boolean cancelled;
+        private volatile Future<?> pending;
+
+        ChangePoller(TaskListener listener, Run<?, ?> run, Job<?, ?> controlledJob,
+                     DevOpsPipelineChangeStepExecution stepExecution, long stageStartTime,
+                     long pollingIntervalFinal, long changeFailureTimeoutFinal, long changeStepTimeoutFinal) {
+            this.listener = listener;
+            this.run = run;
+            this.controlledJob = controlledJob;
+            this.stepExecution = stepExecution;
+            this.stageStartTime = stageStartTime;
+            this.pollingIntervalFinal = pollingIntervalFinal;
+            this.changeFailureTimeoutFinal = changeFailureTimeoutFinal;
+            this.changeStepTimeoutFinal = changeStepTimeoutFinal;
+            this.nextPollingTime = pollingIntervalFinal;
+        }
+
+        // schedules whichever comes first: the next poll, the change creation timeout or the change step timeout
+        void scheduleNext() {
+            if (cancelled)
+                return;
+            PriorityQueue<Interval> sleepIntervals = new PriorityQueue<>(3,
+                    Comparator.comparingLong((Interval interval) -> interval.intervalTime).thenComparingInt(interval -> interval.priority));
+            long nextPollingTimeTemp = -1;
+            if(pollingIntervalFinal >= 0)
+                sleepIntervals.add(new Interval(nextPollingTime, 3, POLLING));
+
+            long duration = System.currentTimeMillis() - stageStartTime;
+            if(!isChangeCreationChecked && changeFailureTimeoutFinal > 0)
+                if(changeFailureTimeoutFinal <= duration) {
+                    sleepIntervals.add(new Interval(0, 2, CHG_CREATION));
+                }else if(changeFailureTimeoutFinal <= duration + nextPollingTime){
+                    sleepIntervals.add(new Interval(changeFailureTimeoutFinal - duration, 2, CHG_CREATION));
+                    nextPollingTimeTemp = nextPollingTime - (changeFailureTimeoutFinal - duration);
+                }else
+                    sleepIntervals.add(new Interval(changeFailureTimeoutFinal - duration, 2, CHG_CREATION));
+
+            if(changeStepTimeoutFinal > 0)
+                if(changeStepTimeoutFinal <= duration) {
+                    sleepIntervals.add(new Interval(0, 1, CHG_STEP));
+                }else if(changeStepTimeoutFinal <= duration + nextPollingTime){
+                    sleepIntervals.add(new Interval(changeStepTimeoutFinal - duration, 1, CHG_STEP));
+                    if(nextPollingTimeTemp == -1 || changeFailureTimeoutFinal > changeStepTimeoutFinal)
+                        nextPollingTimeTemp = nextPollingTime - (changeStepTimeoutFinal - duration);
+                }else
+                    sleepIntervals.add(new Interval(changeStepTimeoutFinal - duration, 1, CHG_STEP));
+
+            if(nextPollingTimeTemp != -1) nextPollingTime = nextPollingTimeTemp;
+            if(sleepIntervals.isEmpty()) return;
+            Interval nextInterval = sleepIntervals.poll();
+            try {
+                pending = DevOpsExecutors.scheduler().schedule(() -> dispatch(nextInterval.type),
+                        Math.max(0, nextInterval.intervalTime), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                printDebug("scheduleNext", new String[]{"message"},
+                        new String[]{"[ServiceNow DevOps] Polling is stopped"}, Level.INFO);
             }
-            Comparator<Interval> comparator = (Interval interval1, Interval interval2) -> {
-                if (interval1.intervalTime > interval2.intervalTime)
-                    return 1;
-                else if (interval1.intervalTime == interval2.intervalTime){
-                    if(interval1.priority > interval2.priority)
-                        return 1;
-                    else if (interval1.priority == interval2.priority)
-                        return 0;
-                    else
-                        return -1;
-                }
-                else return -1;
-            };
+        }
+
+        // the status call runs on the worker pool, off the timer thread
+        private void dispatch(String type) {
             try {
-                long sleepTime = 0;
-                long nextPollingTime = pollingIntervalFinal;
-                boolean isChangeCreationChecked = false;
-                DevOpsChangeRequestDetails previousChangeDetails = new DevOpsChangeRequestDetails();
-                PriorityQueue<Interval> sleepIntervals = new PriorityQueue<>(3, comparator);
-                while(!Thread.currentThread().isInterrupted()) {
-                    long nextPollingTimeTemp = -1;
-                    if(pollingIntervalFinal >= 0)
-                        sleepIntervals.add(new Interval(nextPollingTime, 3, POLLING));
-
-                    long duration = System.currentTimeMillis() - stageStartTime;
-                    if(!isChangeCreationChecked && changeFailureTimeoutFinal > 0)
-                        if(changeFailureTimeoutFinal <= duration) {
-                            sleepIntervals.add(new Interval(0, 2, CHG_CREATION));
-                        }else if(changeFailureTimeoutFinal <= duration + nextPollingTime){
-                            sleepIntervals.add(new Interval(changeFailureTimeoutFinal - duration, 2, CHG_CREATION));
-                            nextPollingTimeTemp = nextPollingTime - (changeFailureTimeoutFinal - duration);
-                        }else
-                            sleepIntervals.add(new Interval(changeFailureTimeoutFinal - duration, 2, CHG_CREATION));
-
-                    if(changeStepTimeoutFinal > 0)
-                        if(changeStepTimeoutFinal <= duration) {
-                            sleepIntervals.add(new Interval(0, 1, CHG_STEP));
-                        }else if(changeStepTimeoutFinal <= duration + nextPollingTime){
-                            sleepIntervals.add(new Interval(changeStepTimeoutFinal - duration, 1, CHG_STEP));
-                            if(nextPollingTimeTemp == -1 || changeFailureTimeoutFinal > changeStepTimeoutFinal)
-                                nextPollingTimeTemp = nextPollingTime - (changeStepTimeoutFinal - duration);
-                        }else
-                            sleepIntervals.add(new Interval(changeStepTimeoutFinal - duration, 1, CHG_STEP));
-
-                    if(nextPollingTimeTemp != -1) nextPollingTime = nextPollingTimeTemp;
-                    if(sleepIntervals.isEmpty()) break;
-                    Interval nextInterval = sleepIntervals.poll();
-                    sleepTime  = nextInterval.intervalTime;
-                    if (sleepTime > 0) Thread.sleep(sleepTime);
-
-                    JSONObject response = this.getChangeStatusInfo(run, controlledJob, stepExecution);
-                    boolean changeFound = Boolean.parseBoolean(GenericUtils.parseResponseResult(response, DevOpsConstants.CHANGE_FOUND.toString()));
-                    switch (nextInterval.type){
-                        case CHG_CREATION:
-                            isChangeCreationChecked = true;
-                            if(!changeFound) this.checkAndLogChangeCreationFailure(stepExecution, listener);
-                            break;
-                        case CHG_STEP:
-                            this.checkAndLogChangeStepTimeout(stepExecution, listener);
-                            break;
-                        default:
-                            previousChangeDetails = this.logPollingMessages(listener, response, previousChangeDetails);
-                            nextPollingTime = pollingIntervalFinal;
-                    }
-                    sleepIntervals.clear();
+                DevOpsExecutors.execute(() -> poll(type));
+            } catch (RejectedExecutionException e) {
+                printDebug("dispatch", new String[]{"message"},
+                        new String[]{"[ServiceNow DevOps] Polling is stopped, the worker pool is shut down"}, Level.WARNING);
+            }
+        }
+
+        private void poll(String type) {
+            if (cancelled)
+                return;
+            try {
+                JSONObject response = getChangeStatusInfo(run, controlledJob, stepExecution);
+                boolean changeFound = Boolean.parseBoolean(GenericUtils.parseResponseResult(response, DevOpsConstants.CHANGE_FOUND.toString()));
+                switch (type){
+                    case CHG_CREATION:
+                        isChangeCreationChecked = true;
+                        if(!changeFound) checkAndLogChangeCreationFailure(stepExecution, listener);
+                        break;
+                    case CHG_STEP:
+                        checkAndLogChangeStepTimeout(stepExecution, listener);
+                        break;
+                    default:
+                        previousChangeDetails = logPollingMessages(listener, response, previousChangeDetails);
+                        nextPollingTime = pollingIntervalFinal;
                 }
             } catch (InterruptedException e) {
-                printDebug("launchChangePollingThread", new String[]{"message"},
+                printDebug("poll", new String[]{"message"},
                         new String[]{"[ServiceNow DevOps] Polling is stopped"}, Level.INFO);
+                return;
             } catch (Exception e) {
-                printDebug("launchChangePollingThread", new String[]{"exception"},
+                printDebug("poll", new String[]{"exception"},
                         new String[]{e.getMessage()}, Level.WARNING);
+                return;
             }
-        };
-        Thread pollingThreadImpl = new Thread(pollingThread);
-        stepExecution.setPollingThread(pollingThreadImpl);
-        pollingThreadImpl.start();
+            scheduleNext();
+        }
+
+        public void cancel() {
+            cancelled = true;
+            Future<?> current = pending;
+            if (current != null)
+                current.cancel(false);
+        }
     }
 
     public void checkAndLogChangeStepTimeout(DevOpsPipelineChangeStepExecution stepExecution, TaskListener listener) throws IOException, InterruptedException {
@@ -0,0 +1,166 @@
+package io.jenkins.plugins.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Finds configuration files in a workspace where the workspace lives, so an agent workspace costs
+ * a single remoting round trip. Include and exclude globs are applied during the walk, excluded
+ * directories are not entered, and only matched files come back with their size and digest.
+ */
+public class DevOpsConfigFileCallable extends MasterToSlaveFileCallable<List<DevOpsConfigFileCallable.ConfigFile>> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String includes;
+	private final String excludes;
+	private final int maxDepth;
+
+	/**
+	 * @param includes glob of the files to find, relative to the workspace
+	 * @param excludes glob of the files and directories to skip, relative to the workspace, may be null
+	 * @param maxDepth how many directory levels below the workspace are entered
+	 * @throws IllegalArgumentException if a glob is invalid
+	 */
+	public DevOpsConfigFileCallable(String includes, String excludes, int maxDepth) {
+		this.includes = includes;
+		this.excludes = Util.fixEmptyAndTrim(excludes);
+		this.maxDepth = maxDepth;
+		// fail on the controller rather than on the agent
+		matcher(includes);
+		if (this.excludes != null)
+			matcher(this.excludes);
+	}
+
+	private static PathMatcher matcher(String glob) {
+		return FileSystems.getDefault().getPathMatcher("glob:" + glob);
+	}
+
+	// runs on the agent, stay clear of GenericUtils and the controller-side classes it references
+	private static MessageDigest newSha256() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Directories deeper than the include glob can match are not entered. Only globs without
+	 * {@code **} or groups have a fixed depth.
+	 */
+	private static int includeDepth(String glob) {
+		if (glob.contains("**") || glob.contains("{"))
+			return Integer.MAX_VALUE;
+		int depth = 1;
+		for (char c : glob.toCharArray())
+			if (c == '/')
+				depth++;
+		return depth;
+	}
+
+	@Override
+	public List<ConfigFile> invoke(File ws, VirtualChannel channel) throws IOException, InterruptedException {
+		List<ConfigFile> files = new ArrayList<>();
+		if (!ws.isDirectory())
+			return files;
+		Path root = ws.toPath();
+		PathMatcher include = matcher(includes);
+		PathMatcher exclude = excludes != null ? matcher(excludes) : null;
+		int includeDepth = includeDepth(includes);
+
+		// files lie one level below the deepest directory entered
+		Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), maxDepth + 1, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				if (dir.equals(root))
+					return FileVisitResult.CONTINUE;
+				Path relative = root.relativize(dir);
+				if (relative.getNameCount() >= includeDepth || (exclude != null && exclude.matches(relative)))
+					return FileVisitResult.SKIP_SUBTREE;
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				if (!attrs.isRegularFile())
+					return FileVisitResult.CONTINUE;
+				Path relative = root.relativize(file);
+				if (include.matches(relative) && (exclude == null || !exclude.matches(relative)))
+					files.add(read(file, relative.toString(), attrs.size()));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException e) {
+				// unreadable entries and symlink loops are skipped like any other non-matching entry
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		Collections.sort(files, (a, b) -> a.path.compareTo(b.path));
+		return files;
+	}
+
+	private static ConfigFile read(Path file, String relativePath, long size) throws IOException {
+		MessageDigest digest = newSha256();
+		try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+			byte[] buffer = new byte[8192];
+			while (in.read(buffer) != -1) {
+				// digested while reading
+			}
+		}
+		return new ConfigFile(relativePath, size, Util.toHexString(digest.digest()));
+	}
+
+	/**
+	 * A configuration file found in the workspace.
+	 */
+	public static final class ConfigFile implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final String path;
+		private final long size;
+		private final String contentDigest;
+
+		ConfigFile(String path, long size, String contentDigest) {
+			this.path = path;
+			this.size = size;
+			this.contentDigest = contentDigest;
+		}
+
+		// relative to the workspace
+		public String getPath() {
+			return path;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		// SHA-256 of the content
+		public String getContentDigest() {
+			return contentDigest;
+		}
+	}
+}
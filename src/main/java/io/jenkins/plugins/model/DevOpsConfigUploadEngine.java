@@ -0,0 +1,597 @@
+package io.jenkins.plugins.model;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
+
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.utils.DevOpsConstants;
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.DevOpsHttpTransport;
+import io.jenkins.plugins.utils.GenericUtils;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * Uploads the configuration files of one snDevOpsConfigUpload step. Up to a configurable number of
+ * files are in flight at a time, from their transfer until ServiceNow has processed them, so the
+ * status polling of one file overlaps the transfers of others. Status checks are scheduled instead
+ * of slept on. Files sharing a name path overwrite each other, so they are uploaded one after the
+ * other in list order and the last one wins, as with sequential uploads. When ServiceNow answers
+ * 429 or 503 every request of the upload is paused and fewer files are let in flight, growing back
+ * by one per processed file. The file carrying the commit flag is only uploaded once all others are
+ * processed. The engine works on copies of the given
+ * files and hands a new copy of a file to the {@link Progress} whenever its upload id or status is
+ * set, so an upload interrupted by a restart can be started again with the copies last handed over:
+ * processed files are skipped and files already sent are only polled.
+ * <p>
+ * Files are streamed from the workspace, gzip compressed on the way unless ServiceNow refuses
+ * compressed uploads, so memory use does not grow with file size. A transfer that fails on an
+ * I/O error before the whole file was written is sent again from the start of the file; once the
+ * file was written ServiceNow may have received it, and as the upload is not idempotent the
+ * upload fails instead.
+ */
+public final class DevOpsConfigUploadEngine {
+
+	private static final int DEFAULT_CONCURRENCY = Integer
+			.getInteger(DevOpsConfigUploadEngine.class.getName() + ".concurrency", 4);
+	private static final int MAX_CONCURRENCY = 16;
+	private static final long INITIAL_POLL_DELAY_MS = 220;
+	private static final int MAX_POLL_COUNT = 20;
+	private static final long RATE_LIMIT_BACKOFF_MS = 1000;
+	private static final long MAX_RATE_LIMIT_BACKOFF_MS = 30000;
+	private static final int MAX_RATE_LIMIT_RETRIES = 8;
+	private static final int MAX_TRANSFER_RETRIES = 2;
+	private static final long TRANSFER_RETRY_DELAY_MS = 2000;
+	private static final int BUFFER_SIZE = 8192;
+	private static final boolean COMPRESS = Boolean
+			.parseBoolean(System.getProperty(DevOpsConfigUploadEngine.class.getName() + ".compress", "true"));
+	private static final String GZIP_ENCODING = "gzip";
+	private static final String LOG_PREFIX = DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString() + " - ";
+
+	/**
+	 * Sends the upload request of one file.
+	 */
+	public interface Uploader {
+		/**
+		 * @param content file content, written while the request is sent
+		 * @param contentEncoding encoding the content is written with, null if written as is
+		 * @return the response, null if the target type is invalid
+		 */
+		DevOpsHttpTransport.Response upload(FileUpload file, DevOpsHttpTransport.Body content, String contentEncoding,
+				boolean commit) throws Exception;
+	}
+
+	/**
+	 * Told of the progress of the files, to persist it.
+	 */
+	public interface Progress {
+		/**
+		 * @param index position of the file in the list given to {@link #start}
+		 * @param file copy of the file, not changed afterwards
+		 */
+		void changed(int index, FileUpload file);
+	}
+
+	/**
+	 * Thrown when an upload fails, its message is meant for the step log.
+	 */
+	public static final class UploadException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		UploadException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * A configuration file to upload and the progress of its upload.
+	 */
+	public static final class FileUpload implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final FilePath file;
+		private final String relativePath;
+		private final String namePath;
+
+		private boolean commit;
+		private String uploadId;
+		private JSONObject status;
+		private long pollDelay = INITIAL_POLL_DELAY_MS;
+		private int polls;
+		private int rateLimitRetries;
+		private int transferRetries;
+		// bytes read from the workspace and sent by the last transfer
+		private long size;
+		private long sent;
+		// whether the last transfer wrote the whole file to the request
+		private boolean written;
+		private long startedAt;
+		private long uploadedAt;
+		private long processedAt;
+		// position in the list being uploaded
+		private int index;
+
+		public FileUpload(FilePath file, String relativePath, String namePath) {
+			this.file = file;
+			this.relativePath = relativePath;
+			this.namePath = namePath;
+		}
+
+		private FileUpload(FileUpload other) {
+			this(other.file, other.relativePath, other.namePath);
+			this.commit = other.commit;
+			this.uploadId = other.uploadId;
+			this.status = other.status;
+			this.pollDelay = other.pollDelay;
+			this.polls = other.polls;
+			this.rateLimitRetries = other.rateLimitRetries;
+			this.transferRetries = other.transferRetries;
+			this.size = other.size;
+			this.sent = other.sent;
+			this.written = other.written;
+			this.startedAt = other.startedAt;
+			this.uploadedAt = other.uploadedAt;
+			this.processedAt = other.processedAt;
+			this.index = other.index;
+		}
+
+		public String getRelativePath() {
+			return relativePath;
+		}
+
+		public String getNamePath() {
+			return namePath;
+		}
+
+		long getLatency() {
+			return processedAt - startedAt;
+		}
+	}
+
+	private final DevOpsModel model;
+	private final Uploader uploader;
+	private final TaskListener listener;
+	private final boolean showResults;
+	private final int maxInFlight;
+
+	// guarded by this
+	private final Deque<FileUpload> pending = new ArrayDeque<>();
+	// name paths of the files in flight
+	private final Set<String> uploading = new HashSet<>();
+	private int inFlight;
+	private int limit;
+	private int remaining;
+	private long pausedUntil;
+	private CompletableFuture<Void> batch;
+	private Progress progress;
+
+	private volatile boolean cancelled;
+	private volatile boolean compress = COMPRESS;
+
+	/**
+	 * @param concurrency maximum number of files in flight, the default when not positive
+	 */
+	public DevOpsConfigUploadEngine(DevOpsModel model, Uploader uploader, TaskListener listener, int concurrency,
+			boolean showResults) {
+		this.model = model;
+		this.uploader = uploader;
+		this.listener = listener;
+		this.showResults = showResults;
+		this.maxInFlight = Math.max(1, Math.min(MAX_CONCURRENCY, concurrency > 0 ? concurrency : DEFAULT_CONCURRENCY));
+		this.limit = maxInFlight;
+	}
+
+	/**
+	 * Uploads the files, the last one with the commit flag when autoCommit is set. Files already
+	 * processed by an earlier start are skipped. The given files are copied, not changed.
+	 * @param files files to upload, not empty
+	 * @param progress told of the changes to persist, may be null
+	 * @return upload status of the last file, failed with an {@link UploadException} on the first file
+	 *         that fails, the remaining files are then not uploaded
+	 */
+	public CompletableFuture<JSONObject> start(List<FileUpload> files, boolean autoCommit, Progress progress) {
+		long startedAt = System.currentTimeMillis();
+		List<FileUpload> uploads = new ArrayList<>(files.size());
+		for (int i = 0; i < files.size(); i++) {
+			FileUpload copy = new FileUpload(files.get(i));
+			copy.index = i;
+			uploads.add(copy);
+		}
+		synchronized (this) {
+			this.progress = progress;
+		}
+		FileUpload last = uploads.get(uploads.size() - 1);
+		GenericUtils.printConsoleLog(listener, LOG_PREFIX + "Uploading " + uploads.size() + " files with up to "
+				+ maxInFlight + " files in flight");
+		CompletableFuture<Void> uploaded;
+		if (autoCommit) {
+			last.commit = true;
+			uploaded = submit(uploads.subList(0, uploads.size() - 1))
+					.thenCompose(ignored -> submit(Collections.singletonList(last)));
+		} else
+			uploaded = submit(uploads);
+
+		return uploaded.thenApply(ignored -> {
+			long elapsed = System.currentTimeMillis() - startedAt;
+			FileUpload slowest = Collections.max(uploads, (a, b) -> Long.compare(a.getLatency(), b.getLatency()));
+			long total = 0;
+			for (FileUpload upload : uploads)
+				total += upload.getLatency();
+			GenericUtils.printConsoleLog(listener, LOG_PREFIX + "Uploaded " + uploads.size() + " files in " + elapsed
+					+ " ms - average " + (total / uploads.size()) + " ms per file, slowest " + slowest.relativePath
+					+ " in " + slowest.getLatency() + " ms");
+			return last.status;
+		});
+	}
+
+	/**
+	 * Stops uploading, files already sent are still processed by ServiceNow. The pending result
+	 * is not completed.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	private CompletableFuture<Void> submit(List<FileUpload> files) {
+		CompletableFuture<Void> submitted = new CompletableFuture<>();
+		synchronized (this) {
+			batch = submitted;
+			remaining = 0;
+			for (FileUpload file : files) {
+				// processed before a restart
+				if (file.status != null)
+					continue;
+				pending.add(file);
+				remaining++;
+			}
+			if (remaining == 0)
+				submitted.complete(null);
+		}
+		dispatch();
+		return submitted;
+	}
+
+	private void dispatch() {
+		List<FileUpload> starting = new ArrayList<>();
+		synchronized (this) {
+			Iterator<FileUpload> files = pending.iterator();
+			while (!cancelled && inFlight < limit && files.hasNext()) {
+				FileUpload file = files.next();
+				// held until the file before it with the same name path is processed
+				if (!uploading.add(file.namePath))
+					continue;
+				files.remove();
+				inFlight++;
+				starting.add(file);
+			}
+		}
+		// started outside the lock, files sent before a restart are only polled
+		for (FileUpload file : starting)
+			schedule(() -> {
+				if (file.uploadId != null)
+					poll(file);
+				else
+					transfer(file);
+			}, 0);
+	}
+
+	private void transfer(FileUpload file) {
+		if (cancelled)
+			return;
+		if (file.startedAt == 0)
+			file.startedAt = System.currentTimeMillis();
+
+		boolean gzip = compress;
+		DevOpsHttpTransport.Response response;
+		file.written = false;
+		try {
+			response = uploader.upload(file, content(file, gzip), gzip ? GZIP_ENCODING : null, file.commit);
+		} catch (IOException e) {
+			retryTransfer(file, e);
+			return;
+		} catch (Exception e) {
+			fail("Failed to upload file due to : " + e.getMessage() + " - Upload failed");
+			return;
+		}
+		if (response == null) {
+			fail("Invalid target Type : Upload failed");
+			return;
+		}
+		if (gzip && response.getStatusCode() == 415) {
+			if (compress) {
+				compress = false;
+				GenericUtils.printConsoleLog(listener,
+						LOG_PREFIX + "ServiceNow does not accept compressed uploads, sending files uncompressed");
+			}
+			schedule(() -> transfer(file), 0);
+			return;
+		}
+		if (isRateLimited(response)) {
+			retryLater(file, response, () -> transfer(file));
+			return;
+		}
+		file.uploadedAt = System.currentTimeMillis();
+
+		JSONObject uploadRequest;
+		try {
+			uploadRequest = parse(response);
+		} catch (JSONException j) {
+			fail("Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			return;
+		}
+		if (showResults)
+			GenericUtils.printConsoleLog(listener, LOG_PREFIX + "Response from upload request api for file "
+					+ file.relativePath + " : " + uploadRequest);
+
+		try {
+			if (uploadRequest.containsKey(DevOpsConstants.COMMON_RESULT_ERROR.toString())) {
+				JSONObject error = uploadRequest.getJSONObject(DevOpsConstants.COMMON_RESULT_ERROR.toString());
+				fail("Upload failed : " + error.getString(DevOpsConstants.COMMON_RESPONSE_MESSAGE.toString()));
+				return;
+			}
+			JSONObject result = uploadRequest.getJSONObject(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
+			file.uploadId = result.getString(DevOpsConstants.CONFIG_UPLOAD_ID.toString());
+		} catch (JSONException j) {
+			fail("Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			return;
+		}
+		// polled rather than sent again after a restart
+		changed(file);
+
+		GenericUtils.printConsoleLog(listener,
+				LOG_PREFIX + "Polling for upload status of the file - " + file.relativePath);
+		poll(file);
+	}
+
+	private void poll(FileUpload file) {
+		if (cancelled)
+			return;
+		DevOpsHttpTransport.Response response;
+		try {
+			response = model.requestUploadStatus(file.uploadId);
+		} catch (Exception e) {
+			fail("Failed to fetch upload status due to : " + e.getMessage() + " - Upload failed");
+			return;
+		}
+		if (isRateLimited(response)) {
+			retryLater(file, response, () -> poll(file));
+			return;
+		}
+		file.polls++;
+
+		JSONObject statusResponse;
+		JSONObject status;
+		String state;
+		try {
+			statusResponse = parse(response);
+			status = statusResponse.getJSONObject(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
+			state = status.getString(DevOpsConstants.COMMON_RESPONSE_STATE.toString());
+		} catch (JSONException j) {
+			fail("Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			return;
+		}
+
+		if (isProcessing(state) && file.polls <= MAX_POLL_COUNT) {
+			if (file.polls % 2 == 0) {
+				GenericUtils.printConsoleLog(listener, LOG_PREFIX + "Waiting for response for file "
+						+ file.relativePath + " - Retried  " + file.polls + " times");
+				file.pollDelay *= 2;
+			}
+			schedule(() -> poll(file), file.pollDelay);
+			return;
+		}
+
+		if (showResults)
+			GenericUtils.printConsoleLog(listener, LOG_PREFIX + "Response from upload status api for file "
+					+ file.relativePath + " : " + statusResponse);
+		if (!state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_COMPLETED.toString())) {
+			try {
+				fail("Upload failed due to : " + status.getString(DevOpsConstants.COMMON_RESPONSE_OUTPUT.toString()));
+			} catch (JSONException j) {
+				fail("Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			}
+			return;
+		}
+
+		file.status = status;
+		file.processedAt = System.currentTimeMillis();
+		changed(file);
+		GenericUtils.printConsoleLog(listener, LOG_PREFIX + "Uploaded file " + file.relativePath + " in "
+				+ file.getLatency() + " ms (transfer " + (file.uploadedAt - file.startedAt) + " ms for "
+				+ file.size + " bytes" + (file.sent != file.size ? " sent as " + file.sent : "") + ", processing "
+				+ (file.processedAt - file.uploadedAt) + " ms, " + file.polls + " status checks)");
+		completed(file);
+	}
+
+	private void completed(FileUpload file) {
+		synchronized (this) {
+			uploading.remove(file.namePath);
+			inFlight--;
+			if (limit < maxInFlight)
+				limit++;
+			if (--remaining == 0)
+				batch.complete(null);
+		}
+		dispatch();
+	}
+
+	private void changed(FileUpload file) {
+		Progress listener;
+		synchronized (this) {
+			listener = progress;
+		}
+		if (listener == null)
+			return;
+		try {
+			listener.changed(file.index, new FileUpload(file));
+		} catch (RuntimeException e) {
+			printDebug("changed", new String[]{"exception"}, new String[]{e.toString()}, Level.WARNING);
+		}
+	}
+
+	private void retryTransfer(FileUpload file, IOException e) {
+		if (cancelled)
+			return;
+		if (file.written) {
+			fail("Failed to upload file " + file.relativePath + " due to : " + e.getMessage()
+					+ " - the file was sent, ServiceNow may have received it - Upload failed");
+			return;
+		}
+		if (++file.transferRetries > MAX_TRANSFER_RETRIES) {
+			fail("Failed to upload file due to : " + e.getMessage() + " - Upload failed");
+			return;
+		}
+		long delay = TRANSFER_RETRY_DELAY_MS * file.transferRetries;
+		GenericUtils.printConsoleLog(listener, LOG_PREFIX + "Transfer of file " + file.relativePath + " failed ("
+				+ e.getMessage() + "), sending it again in " + delay + " ms");
+		schedule(() -> transfer(file), delay);
+	}
+
+	private void retryLater(FileUpload file, DevOpsHttpTransport.Response response, Runnable retry) {
+		long delay;
+		synchronized (this) {
+			if (++file.rateLimitRetries > MAX_RATE_LIMIT_RETRIES) {
+				fail("Upload failed : ServiceNow kept rejecting the requests of file " + file.relativePath
+						+ " (HTTP " + response.getStatusCode() + ")");
+				return;
+			}
+			delay = Math.min(MAX_RATE_LIMIT_BACKOFF_MS, RATE_LIMIT_BACKOFF_MS << (file.rateLimitRetries - 1));
+			delay += ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+			pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + delay);
+			limit = Math.max(1, limit / 2);
+		}
+		printDebug("retryLater", new String[]{"file", "status", "delay"},
+				new String[]{file.relativePath, String.valueOf(response.getStatusCode()), String.valueOf(delay)},
+				Level.FINE);
+		GenericUtils.printConsoleLog(listener, LOG_PREFIX + "ServiceNow is throttling uploads (HTTP "
+				+ response.getStatusCode() + "), retrying file " + file.relativePath + " in " + delay + " ms");
+		schedule(retry, delay);
+	}
+
+	// runs the task on the worker pool after the delay, and not before a rate limit pause is over
+	private void schedule(Runnable task, long delayMs) {
+		long delay;
+		synchronized (this) {
+			delay = Math.max(delayMs, pausedUntil - System.currentTimeMillis());
+		}
+		Runnable guarded = () -> {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				printDebug("schedule", new String[]{"exception"}, new String[]{e.toString()}, Level.SEVERE);
+				fail("Upload failed due to : " + e);
+			}
+		};
+		try {
+			if (delay <= 0)
+				DevOpsExecutors.execute(guarded);
+			else
+				DevOpsExecutors.scheduler().schedule(() -> {
+					try {
+						DevOpsExecutors.execute(guarded);
+					} catch (RejectedExecutionException e) {
+						fail("Upload cancelled, ServiceNow DevOps is shutting down");
+					}
+				}, delay, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			fail("Upload cancelled, ServiceNow DevOps is shutting down");
+		}
+	}
+
+	private synchronized void fail(String message) {
+		if (cancelled)
+			return;
+		cancelled = true;
+		printDebug("fail", new String[]{"message"}, new String[]{message}, Level.FINE);
+		batch.completeExceptionally(new UploadException(message));
+	}
+
+	// reads the file from wherever the workspace lives on every write, so the request can be repeated
+	private static DevOpsHttpTransport.Body content(FileUpload file, boolean gzip) {
+		return out -> {
+			CountingOutputStream sent = new CountingOutputStream(out);
+			OutputStream target = gzip ? new GZIPOutputStream(sent, BUFFER_SIZE) : sent;
+			long read = 0;
+			try (InputStream in = file.file.read()) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				int n;
+				while ((n = in.read(buffer)) != -1) {
+					target.write(buffer, 0, n);
+					read += n;
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while reading " + file.relativePath);
+			}
+			// closing releases the deflater, the transport tolerates a closed request stream
+			if (gzip)
+				target.close();
+			else
+				target.flush();
+			file.size = read;
+			file.sent = sent.count;
+			file.written = true;
+		};
+	}
+
+	private static final class CountingOutputStream extends FilterOutputStream {
+		private long count;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+	private static boolean isRateLimited(DevOpsHttpTransport.Response response) {
+		return response.getStatusCode() == 429 || response.getStatusCode() == 503;
+	}
+
+	private static boolean isProcessing(String state) {
+		return state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_NEW.toString())
+				|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_IN_PROGRESS.toString())
+				|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_READY.toString())
+				|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_INITIALIZING.toString());
+	}
+
+	private static JSONObject parse(DevOpsHttpTransport.Response response) {
+		String body = response.getBody();
+		if (body == null || body.trim().isEmpty())
+			throw new JSONException("Empty response");
+		return JSONObject.fromObject(body);
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsConfigUploadEngine.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -0,0 +1,166 @@
+package io.jenkins.plugins.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import hudson.FilePath;
+import hudson.model.Job;
+import io.jenkins.plugins.utils.DevOpsConstants;
+import io.jenkins.plugins.utils.GenericUtils;
+import net.sf.json.JSONObject;
+
+/**
+ * Configuration files last uploaded by a job, per application and upload target, kept in
+ * {JENKINS_HOME}/jobs/{jobName}/snConfigUploadManifest.json. Each name path maps to the digest of the
+ * content uploaded and the changeset it went into, so that unchanged files are not uploaded again.
+ */
+public final class DevOpsConfigUploadManifest {
+
+	private static final String FILES = "files";
+	private static final String LAST_CHANGESET = "lastChangeset";
+	private static final String DIGEST = "digest";
+	private static final String CHANGESET = "changeset";
+
+	private final File file;
+	private final String key;
+	// name path -> entry, as last recorded
+	private final Map<String, Entry> entries;
+	private String lastChangesetId;
+
+	private DevOpsConfigUploadManifest(File file, String key, Map<String, Entry> entries, String lastChangesetId) {
+		this.file = file;
+		this.key = key;
+		this.entries = entries;
+		this.lastChangesetId = lastChangesetId;
+	}
+
+	/**
+	 * @return the files last uploaded by the job for the application and target, none if never recorded
+	 */
+	public static DevOpsConfigUploadManifest load(Job<?, ?> job, String applicationName, String target,
+			String deployableName, String collectionName, String dataFormat) {
+		File file = new File(job.getRootDir(),
+				DevOpsConstants.SERVICENOW_CONFIG_UPLOAD_MANIFEST_FILE_NAME.toString());
+		String key = applicationName + "|" + target + "|" + deployableName + "|" + collectionName + "|"
+				+ dataFormat;
+		Map<String, Entry> entries = new HashMap<>();
+		String lastChangesetId = null;
+		synchronized (DevOpsConfigUploadManifest.class) {
+			JSONObject section = read(file).optJSONObject(key);
+			JSONObject files = section != null ? section.optJSONObject(FILES) : null;
+			if (files != null) {
+				lastChangesetId = section.optString(LAST_CHANGESET, null);
+				for (Object namePath : files.keySet()) {
+					JSONObject entry = files.optJSONObject((String) namePath);
+					if (entry != null)
+						entries.put((String) namePath,
+								new Entry(entry.optString(DIGEST, null), entry.optString(CHANGESET, null)));
+				}
+			}
+		}
+		return new DevOpsConfigUploadManifest(file, key, entries, lastChangesetId);
+	}
+
+	/**
+	 * @return whether the content was last uploaded into a changeset under the name path
+	 */
+	public boolean isUnchanged(String namePath, String digest) {
+		Entry entry = entries.get(namePath);
+		return entry != null && entry.digest != null && entry.digest.equals(digest) && entry.changesetId != null;
+	}
+
+	/**
+	 * @return changeset of the most recent upload, null if nothing was recorded
+	 */
+	public String getLastChangesetId() {
+		return lastChangesetId;
+	}
+
+	/**
+	 * @return name paths recorded that are not among the given ones, sorted
+	 */
+	public List<String> getRemoved(Map<String, String> digests) {
+		List<String> removed = new ArrayList<>();
+		for (String namePath : entries.keySet()) {
+			if (!digests.containsKey(namePath))
+				removed.add(namePath);
+		}
+		Collections.sort(removed);
+		return removed;
+	}
+
+	/**
+	 * Records the files found by an upload. Files that were uploaded go with the changeset, the others keep
+	 * the changeset they were recorded with. Name paths no longer found are dropped.
+	 * @param digests name path -> digest of every file found
+	 * @param uploaded name paths that were uploaded
+	 * @param changesetId changeset the files were uploaded into
+	 */
+	public void record(Map<String, String> digests, Iterable<String> uploaded, String changesetId) {
+		Map<String, Entry> recorded = new HashMap<>();
+		for (Map.Entry<String, String> digest : digests.entrySet()) {
+			Entry previous = entries.get(digest.getKey());
+			if (previous != null && digest.getValue().equals(previous.digest))
+				recorded.put(digest.getKey(), previous);
+		}
+		for (String namePath : uploaded)
+			recorded.put(namePath, new Entry(digests.get(namePath), changesetId));
+
+		JSONObject files = new JSONObject();
+		for (Map.Entry<String, Entry> entry : recorded.entrySet()) {
+			JSONObject value = new JSONObject();
+			value.put(DIGEST, entry.getValue().digest);
+			value.put(CHANGESET, entry.getValue().changesetId);
+			files.put(entry.getKey(), value);
+		}
+		JSONObject section = new JSONObject();
+		section.put(LAST_CHANGESET, changesetId);
+		section.put(FILES, files);
+		synchronized (DevOpsConfigUploadManifest.class) {
+			// other applications and targets of the job share the file
+			JSONObject manifest = read(file);
+			manifest.put(key, section);
+			try {
+				new FilePath(file).write(manifest.toString(), "UTF-8");
+			} catch (Exception e) {
+				printDebug("record", new String[]{"file", "exception"}, new String[]{file.getPath(), e.getMessage()},
+						Level.SEVERE);
+			}
+		}
+		entries.clear();
+		entries.putAll(recorded);
+		lastChangesetId = changesetId;
+	}
+
+	// a missing or unreadable manifest counts as empty, every file is then uploaded
+	private static JSONObject read(File file) {
+		if (!file.isFile())
+			return new JSONObject();
+		try {
+			return JSONObject.fromObject(new FilePath(file).readToString());
+		} catch (Exception e) {
+			printDebug("read", new String[]{"file", "exception"}, new String[]{file.getPath(), e.getMessage()},
+					Level.WARNING);
+			return new JSONObject();
+		}
+	}
+
+	private static final class Entry {
+		private final String digest;
+		private final String changesetId;
+
+		Entry(String digest, String changesetId) {
+			this.digest = digest;
+			this.changesetId = changesetId;
+		}
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsConfigUploadManifest.class.getName(), methodName, variables, values, logLevel);
+	}
+}
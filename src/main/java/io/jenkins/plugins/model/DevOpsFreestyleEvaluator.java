@@ -0,0 +1,83 @@
+package io.jenkins.plugins.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+import hudson.model.Job;
+import hudson.model.Queue;
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.GenericUtils;
+import jenkins.model.Jenkins;
+
+/**
+ * Decides whether a queued freestyle job is tracked and under change control, and registers it for approval,
+ * on the shared worker pool. The evaluation is started when the item enters the queue; the queue dispatcher
+ * only looks the verdict up, so slow ServiceNow calls never hold the Queue lock.
+ */
+public final class DevOpsFreestyleEvaluator {
+	private DevOpsFreestyleEvaluator() {}
+
+	// jobId (queue id/job url) -> whether the evaluation finished
+	private static final ConcurrentMap<String, Boolean> evaluations = new ConcurrentHashMap<>();
+
+	/**
+	 * Starts the evaluation of the item unless it is already running or done. The evaluation is only handed
+	 * to the worker pool, it never runs on the calling thread, which may hold the Queue lock.
+	 * @param item queued item
+	 * @param job job of the item
+	 */
+	public static void evaluate(Queue.Item item, Job<?, ?> job) {
+		DevOpsModel model = new DevOpsModel();
+		String jobId = model.getJobId(item, job);
+		if (evaluations.putIfAbsent(jobId, Boolean.FALSE) != null)
+			return;
+		printDebug("evaluate", new String[]{"jobId"}, new String[]{jobId}, Level.FINE);
+		try {
+			DevOpsExecutors.execute(() -> {
+				try {
+					model.evaluateFreestyle(item, job);
+				} catch (RuntimeException e) {
+					printDebug("evaluate", new String[]{"jobId", "exception"}, new String[]{jobId, e.toString()},
+							Level.SEVERE);
+					model.setAbortResultForFreestyle(jobId);
+				} finally {
+					evaluations.replace(jobId, Boolean.TRUE);
+					// let the queue pick the verdict up right away instead of on its next periodic pass
+					Jenkins jenkins = Jenkins.getInstanceOrNull();
+					if (jenkins != null)
+						jenkins.getQueue().scheduleMaintenance();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			evaluations.remove(jobId);
+			printDebug("evaluate", new String[]{"jobId", "exception"}, new String[]{jobId, e.getMessage()},
+					Level.WARNING);
+		}
+	}
+
+	/**
+	 * @param jobId queue id/job url
+	 * @return whether an evaluation was started for the item, finished or not
+	 */
+	public static boolean isStarted(String jobId) {
+		return evaluations.containsKey(jobId);
+	}
+
+	public static boolean isEvaluated(String jobId) {
+		return Boolean.TRUE.equals(evaluations.get(jobId));
+	}
+
+	/**
+	 * Forgets the verdict once the item left the queue.
+	 * @param jobId queue id/job url
+	 */
+	public static void forget(String jobId) {
+		evaluations.remove(jobId);
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsFreestyleEvaluator.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -9,6 +9,12 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -39,6 +45,7 @@ import io.jenkins.plugins.pipeline.steps.executions.DevOpsPipelineChangeStepExec
 import io.jenkins.plugins.pipeline.steps.executions.DevOpsPipelineMapStepExecution;
 import io.jenkins.plugins.utils.CommUtils;
 import io.jenkins.plugins.utils.DevOpsConstants;
+import io.jenkins.plugins.utils.DevOpsHttpTransport;
 import io.jenkins.plugins.utils.GenericUtils;
 import jenkins.model.Jenkins;
 import jenkins.triggers.SCMTriggerItem;
@@ -48,6 +55,9 @@ import net.sf.json.JSONObject;
 
 public class DevOpsModel {
 
+	// jobName/jobUrl -> tracking lookup in flight
+	private static final ConcurrentMap<String, CompletableFuture<JSONObject>> trackingLookups = new ConcurrentHashMap<>();
+
 	public final Pattern urlPatt;
 	private boolean queueJobs;
 
@@ -312,12 +322,12 @@ public class DevOpsModel {
 		return tracking.booleanValue();
 	}
 
-	public JSONObject checkPipelineInfoInFile(String jobName, String path) {
+	public DevOpsPipelineInfoCache.Entry checkPipelineInfoInFile(String jobName, String path) {
 		printDebug("checkPipelineInfoInFile", new String[]{"jobName"}, new String[]{jobName}, Level.FINE);
 		if (jobName == null)
 			return null;
 		printDebug("checkPipelineInfoInFile", new String[]{"path"}, new String[]{path}, Level.FINE);
-		return DevOpsRootAction.checkInfoInFile(jobName, path);
+		return DevOpsPipelineInfoCache.get().lookup(path);
 	}
 
 	public Boolean updatePipelineInfoInFile(String jobName, JSONObject infoAPIResponse, String path) {
@@ -329,7 +339,67 @@ public class DevOpsModel {
 	}
 
 	/*
-	 *Checking /{JENKINS_HOME}/snPipelineInfo.json file each time before making a call to /sn-devops/pipelineInfo api
+	 *Concurrent lookups for the same job (e.g. a multibranch scan starting many runs at once) share one call
+	 *to /sn-devops/pipelineInfo, callers arriving while it is in flight wait for its response up to the time
+	 *the call itself may take, then call the endpoint on their own. Every caller gets its own copy of the response
+	 */
+	private JSONObject lookupPipelineInfo(DevOpsConfiguration devopsConfig, String jobUrl, String jobName, String pronoun, String branchName, boolean isMultiBranch) {
+		String key = jobName + DevOpsConstants.TRACKING_KEY_SEPARATOR.toString() + jobUrl;
+		CompletableFuture<JSONObject> lookup = new CompletableFuture<>();
+		CompletableFuture<JSONObject> inFlight = trackingLookups.putIfAbsent(key, lookup);
+		if (inFlight != null) {
+			printDebug("lookupPipelineInfo", new String[]{"message", "key"}, new String[]{"Joining lookup in flight", key}, Level.FINE);
+			try {
+				return copyOf(inFlight.get(getLookupWaitMs(devopsConfig), TimeUnit.MILLISECONDS));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			} catch (ExecutionException e) {
+				return null;
+			} catch (TimeoutException e) {
+				printDebug("lookupPipelineInfo", new String[]{"message", "key"}, new String[]{"Lookup in flight timed out, calling directly", key}, Level.WARNING);
+				return callTrackingEndpoint(devopsConfig, jobUrl, jobName, pronoun, branchName, isMultiBranch);
+			}
+		}
+		JSONObject response = null;
+		try {
+			response = callTrackingEndpoint(devopsConfig, jobUrl, jobName, pronoun, branchName, isMultiBranch);
+			return copyOf(response);
+		} finally {
+			trackingLookups.remove(key, lookup);
+			lookup.complete(response);
+		}
+	}
+
+	private long getLookupWaitMs(DevOpsConfiguration devopsConfig) {
+		int readTimeout = devopsConfig.getHttpReadTimeout();
+		if (readTimeout <= 0)
+			readTimeout = DevOpsConfiguration.DEFAULT_HTTP_READ_TIMEOUT;
+		return (long) devopsConfig.getHttpConnectTimeout() + readTimeout;
+	}
+
+	private JSONObject copyOf(JSONObject response) {
+		if (response == null || response.isNullObject())
+			return response;
+		return JSONObject.fromObject(response.toString());
+	}
+
+	private JSONObject callTrackingEndpoint(DevOpsConfiguration devopsConfig, String jobUrl, String jobName, String pronoun, String branchName, boolean isMultiBranch) {
+		JSONObject params = new JSONObject();
+		params.put(DevOpsConstants.TOOL_ID_ATTR.toString(), devopsConfig.getToolId());
+		params.put("url", jobUrl);
+		params.put("name", jobName);
+		params.put("pronoun", pronoun);
+		if (branchName != null)
+			params.put("branchName", branchName);
+		params.put("isMultiBranch", isMultiBranch);
+		return CommUtils.call(DevOpsConstants.REST_GET_METHOD.toString(),
+				devopsConfig.getTrackingUrl(), params, null,
+				devopsConfig.getUser(), devopsConfig.getPwd(), null, null);
+	}
+
+	/*
+	 *Checking the cached /{JENKINS_HOME}/snPipelineInfo.json content each time before making a call to /sn-devops/pipelineInfo api
 	 *if api response available in file -> retrieve the response and use it, else -> make call to /sn-devops/pipelineInfo
 	 *api response for multibranch pipeline uses ONLY jobName as the key
 	 */
@@ -341,22 +411,19 @@ public class DevOpsModel {
 		if (isMultiBranch)
 			jobDir = jobDir.split(DevOpsConstants.MULTIBRANCH_PATH_SEPARATOR.toString())[0];
 		String infoFilePath = jobDir + DevOpsConstants.PATH_SEPARATOR.toString() + DevOpsConstants.SERVICENOW_PIPELINE_INFO_FILE_NAME.toString();
-		JSONObject infoAPIResponse = checkPipelineInfoInFile(jobName, infoFilePath);
-		if (!(GenericUtils.checkIfAttributeExist(infoAPIResponse, DevOpsConstants.TRACKING_RESPONSE_ATTR.toString())) || devopsConfig.isTrackCheck()) {
-			JSONObject params = new JSONObject();
-			params.put(DevOpsConstants.TOOL_ID_ATTR.toString(), devopsConfig.getToolId());
-			params.put("url", jobUrl);
-			params.put("name", jobName);
-			params.put("pronoun", pronoun);
-			if (branchName != null)
-				params.put("branchName", branchName);
-			params.put("isMultiBranch", isMultiBranch);
-			infoAPIResponse = CommUtils.call(DevOpsConstants.REST_GET_METHOD.toString(),
-					devopsConfig.getTrackingUrl(), params, null,
-					devopsConfig.getUser(), devopsConfig.getPwd(), null, null);
+		DevOpsPipelineInfoCache.Entry cached = checkPipelineInfoInFile(jobName, infoFilePath);
+		JSONObject infoAPIResponse = cached != null ? cached.getValue() : null;
+		if (!(GenericUtils.checkIfAttributeExist(infoAPIResponse, DevOpsConstants.TRACKING_RESPONSE_ATTR.toString()))) {
+			infoAPIResponse = lookupPipelineInfo(devopsConfig, jobUrl, jobName, pronoun, branchName, isMultiBranch);
 			if (GenericUtils.checkIfAttributeExist(infoAPIResponse, DevOpsConstants.TRACKING_RESPONSE_ATTR.toString())) {
 				updatePipelineInfoInFile(jobName, infoAPIResponse, infoFilePath);
 			}
+		} else if (devopsConfig.isTrackCheck() && cached.isStale()) {
+			// serve the cached answer, ServiceNow is asked again in the background
+			DevOpsPipelineInfoCache.get().refreshAsync(infoFilePath, cached, () -> {
+				JSONObject refreshed = lookupPipelineInfo(devopsConfig, jobUrl, jobName, pronoun, branchName, isMultiBranch);
+				return GenericUtils.checkIfAttributeExist(refreshed, DevOpsConstants.TRACKING_RESPONSE_ATTR.toString()) ? refreshed : null;
+			});
 		}
 		result = GenericUtils.parseResponseResult(infoAPIResponse,
 				DevOpsConstants.TRACKING_RESPONSE_ATTR.toString());
@@ -1238,7 +1305,7 @@ public class DevOpsModel {
 			jenkins.getQueue().cancel(item);
 	}
 
-	// Called from DevOpsQueueTaskDispatcher.canRun()
+	// Called from DevOpsQueueTaskDispatcher.canRun() under the Queue lock, only looks cached state up
 	public CauseOfBlockage handleFreestyle(Queue.Item item,
 										   Job<?, ?> job) {
 		printDebug("handleFreestyle", null, null, Level.FINE);
@@ -1287,93 +1354,113 @@ public class DevOpsModel {
 					else {
 						printDebug("handleFreestyle", new String[]{"message", "token"},
 								new String[]{"Job not registered", "null"}, Level.FINE);
-						// Check if job is being tracked
-						if (checkIsTracking(item).isTrack()) {
-							// If Job is under change control, register and notify SN with callback URL
-							String _result = sendIsUnderChgControl(jobUrl, jobName, null, null,
-									GenericUtils.isMultiBranch((job)), null);
-							if (_result != null) {
-								// Job is under change control
-								if (_result.equalsIgnoreCase(
-										DevOpsConstants.COMMON_RESPONSE_VALUE_TRUE
-												.toString())) {
-									printDebug("handleFreestyle",
-											new String[]{"message", "jobUrl", "jobName"},
-											new String[]{"Job is under change control",
-													jobUrl, jobName}, Level.FINE);
-
-									// Generate a new token
-									token = getNewToken(job.getPronoun());
-									printDebug("handleFreestyle", new String[]{"token"},
-											new String[]{token}, Level.FINE);
-
-									// Register the Job callback hook, then notify SN
-									_result = registerFreestyleAndNotify(item, job,
-											token, jobId, jobUrl, jobName, jenkinsUrl);
-									if (_result != null) {
-										// Job registered successfully
-										if (_result.equalsIgnoreCase(
-												DevOpsConstants.COMMON_RESPONSE_VALUE_TRUE
-														.toString())) {
-											printDebug("handleFreestyle",
-													new String[]{"message", "token"},
-													new String[]{"Job registered", token}, Level.FINE);
-											return getWaitingBlockage(
-													"Job is waiting for approval");
-										}
-										// Could not register the Job callback, so there are no webhooks registered
-										else {
-											printDebug("handleFreestyle",
-													new String[]{"message", "_result"},
-													new String[]{
-															"Something went wrong when registering the job",
-															_result}, Level.WARNING);
-											if (GenericUtils.isNotEmpty(_result) && _result.contains(DevOpsConstants.COMMON_RESULT_FAILURE.toString())) {
-												setAbortResultForFreestyle(jobId, _result);
-											} else {
-												setAbortResultForFreestyle(jobId);
-											}
-										}
-									}
-									// Call to SN failed
-									else {
-										printDebug("handleFreestyle", new String[]{"message"},
-												new String[]{
-														"Something went wrong when calling SN to register the job"}, Level.WARNING);
-										setAbortResultForFreestyle(jobId);
-									}
-								}
-								// Job is not under change control
-								else if (_result.equalsIgnoreCase(
-										DevOpsConstants.COMMON_RESPONSE_VALUE_FALSE
-												.toString())) {
-									printDebug("handleFreestyle",
-											new String[]{"message", "jobUrl"},
-											new String[]{"Job is not under change control",
-													jobUrl}, Level.FINE);
-								} else if (_result.equalsIgnoreCase(
-										DevOpsConstants.COMMON_RESPONSE_VALUE_UNKNOWN
-												.toString())) {
-									printDebug("handleFreestyle", new String[]{"message"},
-											new String[]{
-													"Job is not associated with any step"}, Level.FINE);
-									setAbortResultForFreestyle(jobId);
-								}
+						// tracking and change control checks call ServiceNow, DevOpsQueueListener.onEnterWaiting
+						// starts them on the worker pool
+						if (!DevOpsFreestyleEvaluator.isEvaluated(jobId)) {
+							// an item that entered the queue before the plugin was ready has none yet, hand one off
+							if (!DevOpsFreestyleEvaluator.isStarted(jobId))
+								DevOpsFreestyleEvaluator.evaluate(item, job);
+							return getWaitingBlockage("Job is pending ServiceNow DevOps change control evaluation");
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
 
-							}
-							// Failed to check if the Job is under change control
-							else {
-								printDebug("handleFreestyle", new String[]{"message"},
-										new String[]{
-												"Something went wrong when checking if job is under change control"}, Level.WARNING);
+	// Called from DevOpsFreestyleEvaluator on a worker thread for a freestyle job that is not registered yet.
+	// Registers the job when it is under change control, sets an abort result when that cannot be decided.
+	public void evaluateFreestyle(Queue.Item item, Job<?, ?> job) {
+		printDebug("evaluateFreestyle", null, null, Level.FINE);
+		String jobId = getJobId(item, job);
+		String jobUrl = job.getAbsoluteUrl();
+		String jobName = job.getName();
+		String jenkinsUrl = getJenkinsUrl();
+		String token;
+		if (jobUrl == null || jenkinsUrl == null || jobName == null)
+			return;
+		// Check if job is being tracked
+		if (checkIsTracking(item).isTrack()) {
+			// If Job is under change control, register and notify SN with callback URL
+			String _result = sendIsUnderChgControl(jobUrl, jobName, null, null,
+					GenericUtils.isMultiBranch((job)), null);
+			if (_result != null) {
+				// Job is under change control
+				if (_result.equalsIgnoreCase(
+						DevOpsConstants.COMMON_RESPONSE_VALUE_TRUE
+								.toString())) {
+					printDebug("evaluateFreestyle",
+							new String[]{"message", "jobUrl", "jobName"},
+							new String[]{"Job is under change control",
+									jobUrl, jobName}, Level.FINE);
+
+					// Generate a new token
+					token = getNewToken(job.getPronoun());
+					printDebug("evaluateFreestyle", new String[]{"token"},
+							new String[]{token}, Level.FINE);
+
+					// Register the Job callback hook, then notify SN
+					_result = registerFreestyleAndNotify(item, job,
+							token, jobId, jobUrl, jobName, jenkinsUrl);
+					if (_result != null) {
+						// Job registered successfully
+						if (_result.equalsIgnoreCase(
+								DevOpsConstants.COMMON_RESPONSE_VALUE_TRUE
+										.toString())) {
+							printDebug("evaluateFreestyle",
+									new String[]{"message", "token"},
+									new String[]{"Job registered", token}, Level.FINE);
+							// the registered token keeps the item waiting for approval
+						}
+						// Could not register the Job callback, so there are no webhooks registered
+						else {
+							printDebug("evaluateFreestyle",
+									new String[]{"message", "_result"},
+									new String[]{
+											"Something went wrong when registering the job",
+											_result}, Level.WARNING);
+							if (GenericUtils.isNotEmpty(_result) && _result.contains(DevOpsConstants.COMMON_RESULT_FAILURE.toString())) {
+								setAbortResultForFreestyle(jobId, _result);
+							} else {
 								setAbortResultForFreestyle(jobId);
 							}
 						}
 					}
+					// Call to SN failed
+					else {
+						printDebug("evaluateFreestyle", new String[]{"message"},
+								new String[]{
+										"Something went wrong when calling SN to register the job"}, Level.WARNING);
+						setAbortResultForFreestyle(jobId);
+					}
+				}
+				// Job is not under change control
+				else if (_result.equalsIgnoreCase(
+						DevOpsConstants.COMMON_RESPONSE_VALUE_FALSE
+								.toString())) {
+					printDebug("evaluateFreestyle",
+							new String[]{"message", "jobUrl"},
+							new String[]{"Job is not under change control",
+									jobUrl}, Level.FINE);
+				} else if (_result.equalsIgnoreCase(
+						DevOpsConstants.COMMON_RESPONSE_VALUE_UNKNOWN
+								.toString())) {
+					printDebug("evaluateFreestyle", new String[]{"message"},
+							new String[]{
+									"Job is not associated with any step"}, Level.FINE);
+					setAbortResultForFreestyle(jobId);
 				}
+
+			}
+			// Failed to check if the Job is under change control
+			else {
+				printDebug("evaluateFreestyle", new String[]{"message"},
+						new String[]{
+								"Something went wrong when checking if job is under change control"}, Level.WARNING);
+				setAbortResultForFreestyle(jobId);
 			}
 		}
-		return null;
 	}
 
 	// Called from DevOpsPipelineMapStepExecution.run()
@@ -1763,6 +1850,44 @@ public class DevOpsModel {
 	public JSONObject uploadData(String applicationName, String changesetNumber, String dataFormat, String path,
 								 boolean autoCommit, boolean autoValidate, String fileContent, String target, String deployableName,
 								 String collectionName, String transactionSource) {
+		DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
+		String uploadUrl = getUploadUrl(devopsConfig, target);
+		if (uploadUrl == null)
+			return null;
+
+		JSONObject queryParams = getUploadQueryParams(applicationName, changesetNumber, dataFormat, path, autoCommit,
+				autoValidate, deployableName, collectionName);
+		return CommUtils.call(DevOpsConstants.REST_POST_METHOD.toString(), uploadUrl, queryParams, fileContent,
+				devopsConfig.getUser(), devopsConfig.getPwd(), "text/plain", transactionSource);
+	}
+
+	/**
+	 * Same request as {@link #uploadData}, streaming the file content instead of holding it in
+	 * memory, and returning the raw response so that callers can act on the status code, e.g. back
+	 * off when ServiceNow rate limits the upload.
+	 * @param content file content, written while the request is sent
+	 * @param contentEncoding encoding the content is written with, null if it is written as is
+	 * @return the response, null if the target type is invalid
+	 * @throws Exception if the request cannot be sent
+	 */
+	public DevOpsHttpTransport.Response requestUpload(String applicationName, String changesetNumber,
+			String dataFormat, String path, boolean autoCommit, boolean autoValidate,
+			DevOpsHttpTransport.Body content, String contentEncoding, String target, String deployableName,
+			String collectionName, String transactionSource) throws Exception {
+		DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
+		String uploadUrl = getUploadUrl(devopsConfig, target);
+		if (uploadUrl == null)
+			return null;
+
+		JSONObject queryParams = getUploadQueryParams(applicationName, changesetNumber, dataFormat, path, autoCommit,
+				autoValidate, deployableName, collectionName);
+		return CommUtils.callForStreamingResponse(DevOpsConstants.REST_POST_METHOD.toString(), uploadUrl, queryParams,
+				content, devopsConfig.getUser(), devopsConfig.getPwd(), "text/plain", contentEncoding,
+				transactionSource);
+	}
+
+	private JSONObject getUploadQueryParams(String applicationName, String changesetNumber, String dataFormat,
+			String path, boolean autoCommit, boolean autoValidate, String deployableName, String collectionName) {
 		JSONObject queryParams = new JSONObject();
 
 		queryParams.put(DevOpsConstants.CONFIG_APPLICATION_NAME.toString(), applicationName);
@@ -1773,32 +1898,17 @@ public class DevOpsModel {
 		queryParams.put(DevOpsConstants.CONFIG_AUTO_VALIDATE.toString(), autoValidate);
 		queryParams.put(DevOpsConstants.CONFIG_DEPLOYABLE_NAME.toString(), deployableName);
 		queryParams.put(DevOpsConstants.CONFIG_COLLECTION_NAME.toString(), collectionName);
+		return queryParams;
+	}
 
-
-		JSONObject filePayloadJSON = new JSONObject();
-
-		DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
-
-		filePayloadJSON.put(DevOpsConstants.CONFIG_FILE_CONTENT.toString(), fileContent);
-
-		JSONObject response = null;
-
+	private String getUploadUrl(DevOpsConfiguration devopsConfig, String target) {
 		if (target.equalsIgnoreCase(DevOpsConstants.CONFIG_COMPONENT_TYPE.toString()))
-			response = CommUtils.call(DevOpsConstants.REST_POST_METHOD.toString(),
-					devopsConfig.getCDMUploadToComponentURL(), queryParams, fileContent, devopsConfig.getUser(),
-					devopsConfig.getPwd(), "text/plain", transactionSource);
+			return devopsConfig.getCDMUploadToComponentURL();
 		else if (target.equalsIgnoreCase(DevOpsConstants.CONFIG_DEPLOYABLE_TYPE.toString()))
-			response = CommUtils.call(DevOpsConstants.REST_POST_METHOD.toString(),
-					devopsConfig.getCDMUploadToDeployableURL(), queryParams, fileContent, devopsConfig.getUser(),
-					devopsConfig.getPwd(), "text/plain", transactionSource);
+			return devopsConfig.getCDMUploadToDeployableURL();
 		else if (target.equalsIgnoreCase(DevOpsConstants.CONFIG_COLLECTION_TYPE.toString()))
-			response = CommUtils.call(DevOpsConstants.REST_POST_METHOD.toString(),
-					devopsConfig.getCDMUploadToCollectionURL(), queryParams, fileContent, devopsConfig.getUser(),
-					devopsConfig.getPwd(), "text/plain", transactionSource);
-		else
-			return null;
-
-		return response;
+			return devopsConfig.getCDMUploadToCollectionURL();
+		return null;
 	}
 
 	public JSONObject checkStatusForUpload(String uploadId) {
@@ -1817,6 +1927,17 @@ public class DevOpsModel {
 
 	}
 
+	/**
+	 * Same request as {@link #checkStatusForUpload}, returning the raw response.
+	 * @throws Exception if the request cannot be sent
+	 */
+	public DevOpsHttpTransport.Response requestUploadStatus(String uploadId) throws Exception {
+		DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
+		return CommUtils.callForResponse(DevOpsConstants.REST_GET_METHOD.toString(),
+				devopsConfig.getUploadStatusURL() + uploadId, new JSONObject(), null, devopsConfig.getUser(),
+				devopsConfig.getPwd(), null, null);
+	}
+
 	public JSONObject insertExportRequest(String applicationName, String deployableName, String exporterName, String exporterFormat, JSONObject exporterArgs, String snapshotName, String transactionSource) {
 
 		JSONObject queryParams = new JSONObject();
@@ -0,0 +1,63 @@
+package io.jenkins.plugins.model;
+
+/**
+ * Serialized run-status or test-summary notification waiting to be posted to ServiceNow.
+ * Payloads are serialized when the event is created so later changes to the
+ * source models do not leak into queued events.
+ */
+public class DevOpsNotificationEvent {
+
+	public static final String TYPE_RUN_STATUS = "runStatus";
+	public static final String TYPE_TEST_RESULT = "testResult";
+
+	private final String type;
+	private final String runKey;
+	private final String payload;
+	private final String params;
+	// sequence number assigned by DevOpsNotificationOutbox
+	private long id;
+	// 0 for events persisted before the creation time was recorded
+	private long createdAt;
+
+	public DevOpsNotificationEvent(String type, String runKey, String payload, String params) {
+		this.type = type;
+		this.runKey = runKey;
+		this.payload = payload;
+		this.params = params;
+		this.createdAt = System.currentTimeMillis();
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public long getCreatedAt() {
+		return createdAt;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	// externalizable id of the run the event belongs to, events of one run are delivered in order
+	public String getRunKey() {
+		return runKey;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public String getParams() {
+		return params;
+	}
+
+	@Override
+	public String toString() {
+		return "DevOpsNotificationEvent [id=" + id + ", type=" + type + ", runKey=" + runKey + "]";
+	}
+}
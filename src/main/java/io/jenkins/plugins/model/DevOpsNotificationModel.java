@@ -1,5 +1,6 @@
 package io.jenkins.plugins.model;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -7,8 +8,10 @@ import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import hudson.model.Run;
 import io.jenkins.plugins.config.DevOpsConfiguration;
 import io.jenkins.plugins.utils.CommUtils;
+import io.jenkins.plugins.utils.DevOpsHttpTransport;
 import io.jenkins.plugins.utils.DevOpsConstants;
 import io.jenkins.plugins.utils.GenericUtils;
 import net.sf.json.JSONObject;
@@ -16,6 +19,28 @@ import net.sf.json.JSONObject;
 
 public class DevOpsNotificationModel {
 
+	enum DeliveryResult {
+		DELIVERED,
+		// transient failure, the event should be retried
+		RETRY,
+		// refused by the instance, retrying would fail again
+		REJECTED,
+		// ServiceNow DevOps is disabled or its configuration is invalid, the event should be dropped
+		DISABLED
+	}
+
+	enum BatchResult {
+		DELIVERED,
+		// transient failure, events should be retried
+		FAILED,
+		// the instance has no batch endpoint
+		UNSUPPORTED,
+		// the batch was refused, events should be posted one by one
+		REJECTED,
+		// ServiceNow DevOps is disabled or its configuration is invalid, the events should be dropped
+		DISABLED
+	}
+
 	private final Gson gson;
 	private static final Logger LOGGER =
 			Logger.getLogger(DevOpsNotificationModel.class.getName());
@@ -24,18 +49,17 @@ public class DevOpsNotificationModel {
 		this.gson = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.IDENTITY).setPrettyPrinting().create();
 	}
 
-	public void send(DevOpsRunStatusModel model) {
+	public void send(Run<?, ?> run, DevOpsRunStatusModel model) {
 
 		if (model != null) {//&&
 
-			DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
 			printDebug("send", null, null, Level.FINE);
 
 			JSONObject params = new JSONObject();
 			params.put(DevOpsConstants.TOOL_TYPE_ATTR.toString(),
 					DevOpsConstants.TOOL_TYPE.toString());
 
-			sendNotification(devopsConfig.getNotificationUrl(), gson.toJson(model), params);
+			enqueue(run, DevOpsNotificationEvent.TYPE_RUN_STATUS, gson.toJson(model), params);
 
 		} else {
 			LOGGER.log(Level.INFO,
@@ -44,20 +68,131 @@ public class DevOpsNotificationModel {
 	}
 
 
-	public void sendTestResults(DevOpsTestSummary testModel) {
+	public void sendTestResults(Run<?, ?> run, DevOpsTestSummary testModel) {
 
 		if (testModel != null) {//&&
-			DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
 			printDebug("sendTestResults", null, null, Level.FINE);
 
-			sendNotification(devopsConfig.getTestUrl(), gson.toJson(testModel), new JSONObject());
+			enqueue(run, DevOpsNotificationEvent.TYPE_TEST_RESULT, gson.toJson(testModel), new JSONObject());
 		} else {
 			LOGGER.log(Level.INFO,
 					"DevOpsRunStatusTestModel is null or empty");
 		}
 	}
 
-	private void sendNotification(String notificationUrl, String data, JSONObject params) {
+	/**
+	 * Blocks until the notifications queued for the run so far have been posted.
+	 * @param run run whose notifications should be flushed
+	 */
+	public void flush(Run<?, ?> run) {
+		printDebug("flush", null, null, Level.FINE);
+		DevOpsNotificationQueue.get().flush(run.getExternalizableId());
+	}
+
+	// notifications are posted asynchronously, see DevOpsNotificationQueue
+	private void enqueue(Run<?, ?> run, String type, String data, JSONObject params) {
+		if (GenericUtils.isDevOpsConfigurationEnabled() && GenericUtils.isDevOpsConfigurationValid()) {
+			DevOpsNotificationQueue.get().enqueue(
+					new DevOpsNotificationEvent(type, run.getExternalizableId(), data, params.toString()));
+		} else {
+			LOGGER.log(Level.INFO,
+					"ServiceNow Devops is disabled for all jobs or global configuration" +
+					" is invalid");
+		}
+	}
+
+	/**
+	 * Posts a queued event.
+	 * @param event event to post
+	 * @return outcome of the post
+	 */
+	DeliveryResult deliver(DevOpsNotificationEvent event) {
+		DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
+		String url = DevOpsNotificationEvent.TYPE_TEST_RESULT.equals(event.getType()) ? devopsConfig.getTestUrl()
+				: devopsConfig.getNotificationUrl();
+		return sendNotification(url, event.getPayload(), JSONObject.fromObject(event.getParams()));
+	}
+
+	/**
+	 * Asks the instance whether it exposes the batch resource. Instances without it answer the GET
+	 * with a client error, batches are only posted to instances that answer it with success.
+	 * @return whether the instance supports batch posts, null when that could not be told
+	 */
+	Boolean probeBatchSupport() {
+		if (!(GenericUtils.isDevOpsConfigurationEnabled() && GenericUtils.isDevOpsConfigurationValid()))
+			return null;
+		DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
+		JSONObject params = new JSONObject();
+		params.put(DevOpsConstants.TOOL_ID_ATTR.toString(), devopsConfig.getToolId());
+		params.put(DevOpsConstants.TOOL_TYPE_ATTR.toString(), DevOpsConstants.TOOL_TYPE.toString());
+		try {
+			DevOpsHttpTransport.Response response = CommUtils.callForResponse(
+					DevOpsConstants.REST_GET_METHOD.toString(), devopsConfig.getNotificationBatchUrl(), params, null,
+					devopsConfig.getUser(), devopsConfig.getPwd(), null, null);
+			int status = response.getStatusCode();
+			printDebug("probeBatchSupport", new String[]{"status"}, new String[]{String.valueOf(status)}, Level.FINE);
+			if (status < 300)
+				return Boolean.TRUE;
+			// credentials and throttling say nothing about the resource
+			if (status < 500 && status != 401 && status != 403 && status != 429)
+				return Boolean.FALSE;
+		} catch (Exception e) {
+			printDebug("probeBatchSupport", new String[]{"Exception"}, new String[]{e.getMessage()}, Level.WARNING);
+		}
+		return null;
+	}
+
+	/**
+	 * Posts several queued events as a single array payload, to instances that support it, see
+	 * {@link #probeBatchSupport()}.
+	 * @param events events to post, in delivery order
+	 * @return outcome of the bulk post
+	 */
+	BatchResult deliverBatch(List<DevOpsNotificationEvent> events) {
+		if (!(GenericUtils.isDevOpsConfigurationEnabled() && GenericUtils.isDevOpsConfigurationValid())) {
+			LOGGER.log(Level.INFO,
+					"ServiceNow Devops is disabled for all jobs or global configuration" +
+					" is invalid");
+			return BatchResult.DISABLED;
+		}
+		DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
+		printDebug("deliverBatch", new String[]{"size"}, new String[]{String.valueOf(events.size())}, Level.FINE);
+
+		// payloads are already serialized JSON, splice them instead of re-parsing
+		StringBuilder data = new StringBuilder("[");
+		for (DevOpsNotificationEvent event : events) {
+			if (data.length() > 1)
+				data.append(',');
+			data.append("{\"type\":").append(gson.toJson(event.getType()))
+					.append(",\"params\":").append(event.getParams())
+					.append(",\"data\":").append(event.getPayload())
+					.append('}');
+		}
+		data.append(']');
+
+		JSONObject params = new JSONObject();
+		params.put(DevOpsConstants.TOOL_ID_ATTR.toString(), devopsConfig.getToolId());
+		params.put(DevOpsConstants.TOOL_TYPE_ATTR.toString(), DevOpsConstants.TOOL_TYPE.toString());
+		try {
+			DevOpsHttpTransport.Response response = CommUtils.callForResponse("POST",
+					devopsConfig.getNotificationBatchUrl(), params, data.toString(), devopsConfig.getUser(),
+					devopsConfig.getPwd(), null, null);
+			int status = response.getStatusCode();
+			if (status < 300)
+				return BatchResult.DELIVERED;
+			// ServiceNow answers unknown REST resources with 400
+			if (status == 400 || status == 404 || status == 405 || status == 501)
+				return BatchResult.UNSUPPORTED;
+			if (status < 500)
+				return BatchResult.REJECTED;
+			printDebug("deliverBatch", new String[]{"status"}, new String[]{String.valueOf(status)}, Level.WARNING);
+		} catch (Exception e) {
+			printDebug("deliverBatch", new String[]{"Exception"}, new String[]{e.getMessage()}, Level.SEVERE);
+		}
+		return BatchResult.FAILED;
+	}
+
+	private DeliveryResult sendNotification(String notificationUrl, String data, JSONObject params) {
 
 		if (GenericUtils.isDevOpsConfigurationEnabled() && GenericUtils.isDevOpsConfigurationValid()) {//&&
 				DevOpsConfiguration devopsConfig = GenericUtils.getDevOpsConfiguration();
@@ -68,14 +203,38 @@ public class DevOpsNotificationModel {
 				params.put(DevOpsConstants.TOOL_ID_ATTR.toString(), toolId);
 				String user = devopsConfig.getUser();
 				String pwd = devopsConfig.getPwd();
-				CommUtils.call("POST", notificationUrl, params, data, user, pwd, null, null);
+				try {
+					DevOpsHttpTransport.Response response = CommUtils.callForResponse("POST", notificationUrl, params,
+							data, user, pwd, null, null);
+					int status = response.getStatusCode();
+					// an expired or rotated credential can be fixed, keep the event until it is
+					if (status >= 500 || status == 401 || status == 403 || status == 408 || status == 429) {
+						printDebug("sendNotification", new String[]{"status"}, new String[]{String.valueOf(status)},
+								Level.WARNING);
+						return DeliveryResult.RETRY;
+					}
+					if (status >= 400) {
+						printDebug("sendNotification", new String[]{"status", "body"},
+								new String[]{String.valueOf(status), response.getBody()}, Level.SEVERE);
+						return DeliveryResult.REJECTED;
+					}
+					// maintenance pages come back as HTML with a success status
+					if (response.getBody() != null && !response.getBody().isEmpty())
+						JSONObject.fromObject(response.getBody());
+				} catch (Exception e) {
+					// connection failures and non-JSON responses are retried
+					printDebug("sendNotification", new String[]{"Exception"}, new String[]{e.getMessage()},
+							Level.SEVERE);
+					return DeliveryResult.RETRY;
+				}
 
 		} else {
 			LOGGER.log(Level.INFO,
 					"ServiceNow Devops is disabled for all jobs or global configuration" +
 					" is invalid");
+			return DeliveryResult.DISABLED;
 		}
-
+		return DeliveryResult.DELIVERED;
 	}
 
 
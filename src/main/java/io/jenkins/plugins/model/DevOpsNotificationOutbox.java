@@ -0,0 +1,705 @@
+package io.jenkins.plugins.model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.DevOpsLogTail;
+import io.jenkins.plugins.utils.GenericUtils;
+import jenkins.model.Jenkins;
+
+/**
+ * Durable, append-only log of notifications not yet acknowledged by ServiceNow,
+ * kept under JENKINS_HOME so that events survive instance outages and controller restarts.
+ *
+ * Every event is appended to the active segment before it is queued for delivery and
+ * acknowledged once posted. A background replayer re-posts events that failed, overflowed
+ * the in-memory queue or were recovered from disk, backing off exponentially while the
+ * instance is unreachable. Segments rotate by size and are deleted once all of their
+ * events are acknowledged.
+ *
+ * A run with events left to the replayer is parked: its later events are handed to the
+ * replayer too, so that they reach ServiceNow after the earlier ones. Transient failures
+ * (unreachable instance, 5xx, throttling, refused credentials) are retried however long the
+ * outage lasts, up to {@link #MAX_AGE_MS}. Events the instance rejects as invalid, or older
+ * than that, are moved to a dead-letter file. Once the outbox exceeds {@link #MAX_BYTES} its
+ * oldest segment is dropped.
+ */
+public final class DevOpsNotificationOutbox {
+
+	private static final String OUTBOX_DIR = "servicenow-devops" + File.separator + "outbox";
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String LOG_SUFFIX = ".log";
+	private static final String ACK_SUFFIX = ".ack";
+	private static final long SEGMENT_MAX_BYTES = 16L * 1024 * 1024;
+	// appends are flushed to the OS immediately and forced to disk at this interval
+	private static final long SYNC_INTERVAL_MS = 200;
+	private static final long MIN_BACKOFF_MS = 1000;
+	private static final long MAX_BACKOFF_MS = 5L * 60 * 1000;
+	private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+	private static final long MAX_AGE_MS = TimeUnit.HOURS.toMillis(24);
+	private static final long MAX_BYTES = 256L * 1024 * 1024;
+	// consecutive failed posts after which a replay gives up until the next backoff
+	private static final int MAX_FAILURES_PER_REPLAY = 3;
+	private static final String DEAD_LETTER_FILE = "dead-letter.log";
+	private static final long DEAD_LETTER_MAX_BYTES = 16L * 1024 * 1024;
+	private static final String NO_RUN = "";
+	private static final int READ_BUFFER_SIZE = 8192;
+	static final String DISABLED_REASON = "ServiceNow DevOps is disabled or its configuration is invalid";
+
+	private static DevOpsNotificationOutbox instance;
+
+	private final File dir;
+	private final File deadLetterFile;
+	private final Gson gson = new Gson();
+	private final DevOpsNotificationModel notificationModel = new DevOpsNotificationModel();
+	// segments by id of their first event, guarded by this
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+	// events currently held by DevOpsNotificationQueue, skipped by the replayer
+	private final Map<Long, Pending> inFlight = new ConcurrentHashMap<>();
+	// events left to the replayer, guarded by this
+	private final TreeMap<Long, Pending> replayable = new TreeMap<>();
+	// run -> number of its events left to the replayer, guarded by this
+	private final Map<String, Integer> parkedRuns = new HashMap<>();
+	private final ScheduledFuture<?> syncTask;
+	private final AtomicBoolean replaying = new AtomicBoolean();
+	private Segment active;
+	private long nextId;
+	private long unacknowledged;
+	// size of all segments on disk
+	private long totalBytes;
+	private volatile boolean dirty;
+	private volatile boolean running = true;
+	private volatile long backoffMs = MIN_BACKOFF_MS;
+	private volatile long nextReplayAt;
+
+	private DevOpsNotificationOutbox(File dir) throws IOException {
+		this.dir = dir;
+		this.deadLetterFile = new File(dir, DEAD_LETTER_FILE);
+		Files.createDirectories(dir.toPath());
+		synchronized (this) {
+			recover();
+			openActiveSegment();
+		}
+		this.syncTask = DevOpsExecutors.scheduler().scheduleWithFixedDelay(this::tick, SYNC_INTERVAL_MS,
+				SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+	}
+
+	public static synchronized DevOpsNotificationOutbox get() {
+		if (instance == null) {
+			try {
+				instance = new DevOpsNotificationOutbox(new File(Jenkins.get().getRootDir(), OUTBOX_DIR));
+			} catch (IOException e) {
+				throw new IllegalStateException("Unable to open the notification outbox", e);
+			}
+		}
+		return instance;
+	}
+
+	public static void shutdown() {
+		DevOpsNotificationOutbox previous;
+		synchronized (DevOpsNotificationOutbox.class) {
+			previous = instance;
+			instance = null;
+		}
+		if (previous != null)
+			previous.close();
+	}
+
+	/**
+	 * Persists the event and assigns its id.
+	 * @param event event to persist
+	 * @param queued true when the caller delivers the event itself, false to leave it to the replayer
+	 */
+	public synchronized void append(DevOpsNotificationEvent event, boolean queued) {
+		long id = nextId++;
+		event.setId(id);
+		try {
+			if (totalBytes >= MAX_BYTES)
+				dropOldestSegment();
+			long offset = active.bytes;
+			active.appendEvent(gson.toJson(event));
+			totalBytes += active.bytes - offset;
+			unacknowledged++;
+			Pending pending = new Pending(event.getRunKey(), offset);
+			if (queued)
+				inFlight.put(id, pending);
+			else
+				markReplayable(id, pending);
+			dirty = true;
+			if (active.bytes >= SEGMENT_MAX_BYTES)
+				rotate();
+		} catch (IOException e) {
+			printDebug("append", new String[]{"IOException", "event"}, new String[]{e.getMessage(), event.toString()},
+					Level.SEVERE);
+		}
+	}
+
+	/**
+	 * Marks the event as delivered (or deliberately discarded).
+	 * @param event event to acknowledge
+	 */
+	public void acknowledge(DevOpsNotificationEvent event) {
+		acknowledge(event.getId());
+	}
+
+	private void acknowledge(long id) {
+		inFlight.remove(id);
+		synchronized (this) {
+			unmarkReplayable(id);
+			Map.Entry<Long, Segment> entry = segments.floorEntry(id);
+			if (entry == null)
+				return;
+			Segment segment = entry.getValue();
+			if (!segment.acked.add(id))
+				return;
+			unacknowledged--;
+			try {
+				segment.appendAck(id);
+			} catch (IOException e) {
+				printDebug("acknowledge", new String[]{"IOException"}, new String[]{e.getMessage()}, Level.WARNING);
+			}
+			if (segment.isComplete())
+				removeSegment(segment);
+		}
+	}
+
+	/**
+	 * Hands an undelivered event over to the replayer and parks its run.
+	 * @param event event that could not be delivered by the caller
+	 */
+	public void release(DevOpsNotificationEvent event) {
+		long id = event.getId();
+		synchronized (this) {
+			// not replayable if its segment was dropped meanwhile
+			Pending pending = inFlight.get(id);
+			Map.Entry<Long, Segment> entry = segments.floorEntry(id);
+			if (pending != null && entry != null && !entry.getValue().acked.contains(id))
+				markReplayable(id, pending);
+		}
+		inFlight.remove(id);
+	}
+
+	/**
+	 * Gives up on an event: records it in the dead-letter file and acknowledges it.
+	 * @param event event that will not be delivered
+	 * @param reason why the event is given up on
+	 */
+	public void deadLetter(DevOpsNotificationEvent event, String reason) {
+		printDebug("deadLetter", new String[]{"event", "reason"}, new String[]{event.toString(), reason},
+				Level.WARNING);
+		JsonObject entry = gson.toJsonTree(event).getAsJsonObject();
+		entry.addProperty("reason", reason);
+		entry.addProperty("deadLetteredAt", System.currentTimeMillis());
+		synchronized (deadLetterFile) {
+			try {
+				if (deadLetterFile.length() >= DEAD_LETTER_MAX_BYTES)
+					Files.move(deadLetterFile.toPath(), new File(dir, DEAD_LETTER_FILE + ".1").toPath(),
+							StandardCopyOption.REPLACE_EXISTING);
+				try (Writer writer = new OutputStreamWriter(new FileOutputStream(deadLetterFile, true),
+						StandardCharsets.UTF_8)) {
+					writer.write(gson.toJson(entry));
+					writer.write('\n');
+				}
+			} catch (IOException e) {
+				printDebug("deadLetter", new String[]{"IOException"}, new String[]{e.getMessage()}, Level.WARNING);
+			}
+		}
+		acknowledge(event);
+	}
+
+	/**
+	 * Drops an event that is no longer to be posted, e.g. because ServiceNow DevOps was disabled.
+	 * @param event event to drop
+	 * @param reason why the event is dropped
+	 */
+	public void discard(DevOpsNotificationEvent event, String reason) {
+		printDebug("discard", new String[]{"event", "reason"}, new String[]{event.toString(), reason},
+				Level.WARNING);
+		acknowledge(event);
+	}
+
+	/**
+	 * @param runKey externalizable id of the run
+	 * @return whether events of the run are left to the replayer, later events of the run must follow them
+	 */
+	public synchronized boolean isParked(String runKey) {
+		return parkedRuns.containsKey(runKey != null ? runKey : NO_RUN);
+	}
+
+	/**
+	 * Waits until the replayer has delivered or given up on every event of the run. Returns at once
+	 * while the replayer backs off, there is no point in waiting for an unreachable instance.
+	 * @param runKey externalizable id of the run
+	 * @param timeoutMs how long to wait at most
+	 * @return false if events of the run are still waiting
+	 */
+	public synchronized boolean awaitReplayed(String runKey, long timeoutMs) throws InterruptedException {
+		String key = runKey != null ? runKey : NO_RUN;
+		long deadline = System.currentTimeMillis() + timeoutMs;
+		while (parkedRuns.containsKey(key)) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0 || isBackingOff())
+				return false;
+			wait(remaining);
+		}
+		return true;
+	}
+
+	private void markReplayable(long id, Pending pending) {
+		if (replayable.put(id, pending) == null)
+			parkedRuns.merge(pending.runKey, 1, Integer::sum);
+	}
+
+	private void unmarkReplayable(long id) {
+		Pending pending = replayable.remove(id);
+		if (pending == null)
+			return;
+		parkedRuns.computeIfPresent(pending.runKey, (k, count) -> count > 1 ? count - 1 : null);
+		notifyAll();
+	}
+
+	private void removeSegment(Segment segment) {
+		segments.remove(segment.id);
+		totalBytes -= segment.bytes;
+		segment.delete();
+	}
+
+	// keeps the outbox bounded while the instance is unreachable, the dropped events are lost
+	private void dropOldestSegment() {
+		Map.Entry<Long, Segment> oldest = segments.firstEntry();
+		if (oldest == null || oldest.getValue() == active)
+			return;
+		Segment segment = oldest.getValue();
+		Long next = segments.higherKey(segment.id);
+		Map<Long, Pending> dropped = next != null ? replayable.subMap(segment.id, next) : replayable.tailMap(segment.id);
+		for (Long id : new ArrayList<>(dropped.keySet()))
+			unmarkReplayable(id);
+		int lost = segment.appended - segment.acked.size();
+		unacknowledged -= lost;
+		printDebug("dropOldestSegment", new String[]{"message", "segment", "events"},
+				new String[]{"Notification outbox is full, dropping its oldest events", segment.logFile.getName(),
+						String.valueOf(lost)}, Level.SEVERE);
+		removeSegment(segment);
+	}
+
+	private void recover() {
+		File[] logs = dir.listFiles((d, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(LOG_SUFFIX));
+		if (logs == null)
+			return;
+		Arrays.sort(logs);
+		for (File log : logs) {
+			String name = log.getName();
+			Segment segment;
+			try {
+				segment = new Segment(Long.parseLong(
+						name.substring(SEGMENT_PREFIX.length(), name.length() - LOG_SUFFIX.length())));
+			} catch (NumberFormatException e) {
+				continue;
+			}
+			segment.sealed = true;
+			try {
+				if (segment.ackFile.exists()) {
+					for (String line : Files.readAllLines(segment.ackFile.toPath(), StandardCharsets.UTF_8)) {
+						if (!line.isEmpty())
+							segment.acked.add(Long.parseLong(line.trim()));
+					}
+				}
+				try (BufferedReader reader = Files.newBufferedReader(log.toPath(), StandardCharsets.UTF_8)) {
+					String line;
+					long offset = 0;
+					while ((line = reader.readLine()) != null) {
+						long lineOffset = offset;
+						offset += DevOpsLogTail.utf8Length(line) + 1;
+						DevOpsNotificationEvent event = parse(line);
+						if (event == null)
+							continue;
+						segment.appended++;
+						nextId = Math.max(nextId, event.getId() + 1);
+						if (!segment.acked.contains(event.getId()))
+							markReplayable(event.getId(), new Pending(event.getRunKey(), lineOffset));
+					}
+				}
+			} catch (IOException | NumberFormatException e) {
+				printDebug("recover", new String[]{"Exception", "segment"}, new String[]{e.getMessage(), name},
+						Level.SEVERE);
+			}
+			if (segment.isComplete()) {
+				segment.delete();
+			} else {
+				segment.bytes = log.length();
+				segments.put(segment.id, segment);
+				totalBytes += segment.bytes;
+				unacknowledged += segment.appended - segment.acked.size();
+			}
+		}
+		printDebug("recover", new String[]{"unacknowledged"}, new String[]{String.valueOf(unacknowledged)},
+				Level.INFO);
+	}
+
+	private void openActiveSegment() throws IOException {
+		active = new Segment(nextId);
+		active.open();
+		segments.put(active.id, active);
+		totalBytes += active.bytes;
+	}
+
+	private void rotate() throws IOException {
+		active.closeLog();
+		active.sealed = true;
+		if (active.isComplete())
+			removeSegment(active);
+		openActiveSegment();
+	}
+
+	private DevOpsNotificationEvent parse(String line) {
+		if (line == null || line.isEmpty())
+			return null;
+		try {
+			return gson.fromJson(line, DevOpsNotificationEvent.class);
+		} catch (JsonParseException e) {
+			// torn write from a crash, nothing to recover from this line
+			return null;
+		}
+	}
+
+	// periodic timer: forces pending appends to disk and starts a replay when one is due
+	private void tick() {
+		try {
+			sync();
+			if (!running || isBackingOff() || !hasReplayableEvents())
+				return;
+			if (replaying.compareAndSet(false, true)) {
+				try {
+					DevOpsExecutors.get().execute(this::replayOnce);
+				} catch (RejectedExecutionException e) {
+					replaying.set(false);
+				}
+			}
+		} catch (RuntimeException e) {
+			// an exception would cancel the periodic task
+			printDebug("tick", new String[]{"Exception"}, new String[]{e.getMessage()}, Level.SEVERE);
+		}
+	}
+
+	private void replayOnce() {
+		try {
+			if (replay()) {
+				backoffMs = MIN_BACKOFF_MS;
+				nextReplayAt = 0;
+			} else {
+				printDebug("replayOnce", new String[]{"backoffMs"}, new String[]{String.valueOf(backoffMs)},
+						Level.FINE);
+				nextReplayAt = System.currentTimeMillis() + backoffMs;
+				backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+				// lets flushing runs stop waiting
+				synchronized (this) {
+					notifyAll();
+				}
+			}
+		} finally {
+			replaying.set(false);
+		}
+	}
+
+	private boolean isBackingOff() {
+		return System.currentTimeMillis() < nextReplayAt;
+	}
+
+	private synchronized boolean hasReplayableEvents() {
+		return !replayable.isEmpty();
+	}
+
+	private synchronized boolean isReplayable(long id) {
+		return replayable.containsKey(id);
+	}
+
+	// segment holding the event, null if it was dropped
+	private synchronized Segment getSegment(long id) {
+		Map.Entry<Long, Segment> entry = segments.floorEntry(id);
+		return entry != null ? entry.getValue() : null;
+	}
+
+	/*
+	 * Posts the events left to the replayer oldest first, reading each one at its offset instead of
+	 * scanning the segments. An event that fails holds back the later events of its run, as does an
+	 * event of the run still held by the queue; other runs go on until several posts in a row fail.
+	 */
+	private boolean replay() {
+		List<Long> ids;
+		List<Pending> pendings;
+		synchronized (this) {
+			ids = new ArrayList<>(replayable.keySet());
+			pendings = new ArrayList<>(replayable.values());
+		}
+		Set<String> heldBack = new HashSet<>();
+		for (Pending pending : inFlight.values())
+			heldBack.add(pending.runKey);
+		boolean failed = false;
+		int failures = 0;
+		Segment segment = null;
+		FileChannel channel = null;
+		try {
+			for (int i = 0; running && i < ids.size(); i++) {
+				long id = ids.get(i);
+				Pending pending = pendings.get(i);
+				if (heldBack.contains(pending.runKey) || !isReplayable(id))
+					continue;
+				Segment owner = getSegment(id);
+				if (owner == null)
+					continue;
+				if (owner != segment) {
+					closeQuietly(channel);
+					channel = null;
+					segment = owner;
+					try {
+						channel = FileChannel.open(owner.logFile.toPath(), StandardOpenOption.READ);
+					} catch (NoSuchFileException e) {
+						// segment got removed meanwhile
+					}
+				}
+				if (channel == null)
+					continue;
+				String line = readLine(channel, pending.offset);
+				if (line == null)
+					continue;
+				DevOpsNotificationEvent event = parse(line);
+				if (event == null || event.getId() != id) {
+					printDebug("replay", new String[]{"message", "id"},
+							new String[]{"Unreadable outbox event, dropping it", String.valueOf(id)}, Level.SEVERE);
+					acknowledge(id);
+					continue;
+				}
+				DevOpsNotificationModel.DeliveryResult result;
+				try {
+					result = notificationModel.deliver(event);
+				} catch (Exception e) {
+					printDebug("replay", new String[]{"Exception", "event"},
+							new String[]{e.getMessage(), event.toString()}, Level.SEVERE);
+					result = DevOpsNotificationModel.DeliveryResult.RETRY;
+				}
+				if (result == DevOpsNotificationModel.DeliveryResult.DELIVERED) {
+					acknowledge(event);
+					failures = 0;
+				} else if (result == DevOpsNotificationModel.DeliveryResult.REJECTED) {
+					deadLetter(event, "Rejected by the instance");
+				} else if (result == DevOpsNotificationModel.DeliveryResult.DISABLED) {
+					discard(event, DISABLED_REASON);
+				} else if (isExpired(event)) {
+					deadLetter(event, "Not delivered within " + TimeUnit.MILLISECONDS.toHours(MAX_AGE_MS) + " hours");
+				} else {
+					failed = true;
+					heldBack.add(pending.runKey);
+					if (++failures >= MAX_FAILURES_PER_REPLAY)
+						return false;
+				}
+			}
+		} catch (IOException e) {
+			printDebug("replay", new String[]{"IOException"}, new String[]{e.getMessage()}, Level.SEVERE);
+			return false;
+		} finally {
+			closeQuietly(channel);
+		}
+		return !failed;
+	}
+
+	// line starting at the offset, null if it is not complete
+	private static String readLine(FileChannel channel, long offset) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		long position = offset;
+		int read;
+		while ((read = channel.read(buffer, position)) > 0) {
+			byte[] bytes = buffer.array();
+			for (int i = 0; i < read; i++) {
+				if (bytes[i] == '\n') {
+					line.write(bytes, 0, i);
+					return new String(line.toByteArray(), StandardCharsets.UTF_8);
+				}
+			}
+			line.write(bytes, 0, read);
+			position += read;
+			buffer.clear();
+		}
+		return null;
+	}
+
+	private static void closeQuietly(FileChannel channel) {
+		if (channel == null)
+			return;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			printDebug("closeQuietly", new String[]{"IOException"}, new String[]{e.getMessage()}, Level.FINE);
+		}
+	}
+
+	// transient failures do not count against an event, only its age does
+	private static boolean isExpired(DevOpsNotificationEvent event) {
+		long createdAt = event.getCreatedAt();
+		return createdAt > 0 && System.currentTimeMillis() - createdAt > MAX_AGE_MS;
+	}
+
+	private void sync() {
+		if (!dirty)
+			return;
+		FileChannel channel;
+		synchronized (this) {
+			dirty = false;
+			channel = active != null ? active.logStream.getChannel() : null;
+		}
+		if (channel == null)
+			return;
+		try {
+			channel.force(false);
+		} catch (ClosedChannelException e) {
+			// segment rotated meanwhile, it was forced on close
+		} catch (IOException e) {
+			printDebug("sync", new String[]{"IOException"}, new String[]{e.getMessage()}, Level.WARNING);
+		}
+	}
+
+	private void close() {
+		running = false;
+		syncTask.cancel(false);
+		long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+		try {
+			while (replaying.get() && System.currentTimeMillis() < deadline)
+				Thread.sleep(SYNC_INTERVAL_MS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		sync();
+		synchronized (this) {
+			for (Segment segment : segments.values())
+				segment.close();
+			active = null;
+		}
+	}
+
+	private final class Segment {
+		private final long id;
+		private final File logFile;
+		private final File ackFile;
+		private final Set<Long> acked = new HashSet<>();
+		private int appended;
+		// size of the log in bytes, also the offset of the next event
+		private long bytes;
+		private boolean sealed;
+		private FileOutputStream logStream;
+		private Writer logWriter;
+		private Writer ackWriter;
+
+		Segment(long id) {
+			this.id = id;
+			String name = SEGMENT_PREFIX + String.format("%020d", id);
+			this.logFile = new File(dir, name + LOG_SUFFIX);
+			this.ackFile = new File(dir, name + ACK_SUFFIX);
+		}
+
+		void open() throws IOException {
+			logStream = new FileOutputStream(logFile, true);
+			logWriter = new BufferedWriter(new OutputStreamWriter(logStream, StandardCharsets.UTF_8));
+			bytes = logFile.length();
+		}
+
+		void appendEvent(String json) throws IOException {
+			logWriter.write(json);
+			logWriter.write('\n');
+			logWriter.flush();
+			appended++;
+			bytes += DevOpsLogTail.utf8Length(json) + 1;
+		}
+
+		void appendAck(long eventId) throws IOException {
+			if (ackWriter == null)
+				ackWriter = new BufferedWriter(
+						new OutputStreamWriter(new FileOutputStream(ackFile, true), StandardCharsets.UTF_8));
+			ackWriter.write(Long.toString(eventId));
+			ackWriter.write('\n');
+			ackWriter.flush();
+		}
+
+		boolean isComplete() {
+			return sealed && acked.size() >= appended;
+		}
+
+		void closeLog() throws IOException {
+			if (logWriter != null) {
+				logWriter.flush();
+				logStream.getChannel().force(false);
+				logWriter.close();
+				logWriter = null;
+			}
+		}
+
+		void close() {
+			try {
+				closeLog();
+				if (ackWriter != null) {
+					ackWriter.close();
+					ackWriter = null;
+				}
+			} catch (IOException e) {
+				printDebug("close", new String[]{"IOException"}, new String[]{e.getMessage()}, Level.WARNING);
+			}
+		}
+
+		void delete() {
+			close();
+			try {
+				Files.deleteIfExists(logFile.toPath());
+				Files.deleteIfExists(ackFile.toPath());
+			} catch (IOException e) {
+				printDebug("delete", new String[]{"IOException"}, new String[]{e.getMessage()}, Level.WARNING);
+			}
+		}
+	}
+
+	// where a pending event is, and its run
+	private static final class Pending {
+		private final String runKey;
+		private final long offset;
+
+		Pending(String runKey, long offset) {
+			this.runKey = runKey != null ? runKey : NO_RUN;
+			this.offset = offset;
+		}
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsNotificationOutbox.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -0,0 +1,439 @@
+package io.jenkins.plugins.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import io.jenkins.plugins.config.DevOpsConfiguration;
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.GenericUtils;
+
+/**
+ * Bounded in-memory queue of outbound notifications, drained by a fixed number of
+ * worker lanes on the shared {@link DevOpsExecutors} pool. Events are routed to a lane by run, so events of one run are
+ * posted in the order they were enqueued while different runs proceed in parallel.
+ * Every event is persisted in the {@link DevOpsNotificationOutbox} first; events that
+ * overflow or fail are left there for its replayer. That parks their run: its later
+ * events are left to the replayer as well, so they are not posted ahead of the earlier ones.
+ *
+ * With batching enabled a worker coalesces what its lane holds (across runs, in lane
+ * order) into one array post, bounded by event count, payload size and a linger time.
+ * If the instance has no batch endpoint the queue falls back to single posts, for the
+ * rest of the process so that no later queue probes it again.
+ * Events still queued when ServiceNow DevOps gets disabled are dropped.
+ */
+public final class DevOpsNotificationQueue {
+
+	public static final String OVERFLOW_BLOCK = "block";
+	public static final String OVERFLOW_DROP_OLDEST = "dropOldest";
+	public static final String OVERFLOW_SPILL = "spill";
+
+	private static final long FLUSH_TIMEOUT_SECONDS = 60;
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+	private static final long STOP_POLL_MILLIS = 50;
+	private static final int MAX_ITEMS_PER_DRAIN = 100;
+	private static final int BATCH_MAX_CHARS = 2 * 1024 * 1024;
+
+	private static volatile DevOpsNotificationQueue instance;
+	// settings the current instance was built with, see get()
+	private static String instanceSettings;
+
+	private final Lane[] lanes;
+	private final String overflowPolicy;
+	private final boolean batchEnabled;
+	private final int batchSize;
+	private final long batchLingerNanos;
+	// whether the instance supports batch posts, null until it was asked, kept across reconfigured queues
+	private static volatile Boolean batchSupported;
+	private final DevOpsNotificationModel notificationModel = new DevOpsNotificationModel();
+
+	private DevOpsNotificationQueue(int capacity, int workers, String overflowPolicy, boolean batchEnabled,
+			int batchSize, int batchLingerMs) {
+		this.overflowPolicy = overflowPolicy;
+		this.batchEnabled = batchEnabled;
+		this.batchSize = batchSize;
+		this.batchLingerNanos = TimeUnit.MILLISECONDS.toNanos(batchLingerMs);
+		this.lanes = new Lane[workers];
+		int laneCapacity = Math.max(1, (capacity + workers - 1) / workers);
+		for (int i = 0; i < workers; i++)
+			lanes[i] = new Lane(laneCapacity);
+		printDebug("DevOpsNotificationQueue", new String[]{"capacity", "workers", "overflowPolicy"},
+				new String[]{String.valueOf(capacity), String.valueOf(workers), overflowPolicy}, Level.FINE);
+	}
+
+	public static DevOpsNotificationQueue get() {
+		DevOpsNotificationQueue current = instance;
+		if (current != null)
+			return current;
+		synchronized (DevOpsNotificationQueue.class) {
+			if (instance == null) {
+				DevOpsConfiguration config = GenericUtils.getDevOpsConfiguration();
+				instance = new DevOpsNotificationQueue(config.getNotificationQueueCapacity(),
+						config.getNotificationQueueWorkers(), config.getNotificationQueueOverflowPolicy(),
+						config.isNotificationBatchEnabled(), config.getNotificationBatchSize(),
+						config.getNotificationBatchLingerMs());
+				instanceSettings = getSettingsKey(config);
+			}
+			return instance;
+		}
+	}
+
+	/**
+	 * Replaces the queue if its settings changed. The previous queue keeps draining
+	 * the events it already holds before its workers stop.
+	 * @param config updated configuration
+	 */
+	public static void reconfigure(DevOpsConfiguration config) {
+		DevOpsNotificationQueue previous = null;
+		synchronized (DevOpsNotificationQueue.class) {
+			if (instance != null && !getSettingsKey(config).equals(instanceSettings)) {
+				previous = instance;
+				instance = null;
+				instanceSettings = null;
+			}
+		}
+		if (previous != null)
+			previous.stop();
+	}
+
+	/**
+	 * Stops the queue, delivering what can be delivered within the shutdown timeout.
+	 * Anything left stays in the outbox and is replayed after the restart.
+	 */
+	public static void shutdown() {
+		DevOpsNotificationQueue previous;
+		synchronized (DevOpsNotificationQueue.class) {
+			previous = instance;
+			instance = null;
+			instanceSettings = null;
+		}
+		if (previous != null)
+			previous.stop();
+	}
+
+	private static String getSettingsKey(DevOpsConfiguration config) {
+		return config.getNotificationQueueCapacity() + ":" + config.getNotificationQueueWorkers() + ":"
+				+ config.getNotificationQueueOverflowPolicy() + ":" + config.isNotificationBatchEnabled() + ":"
+				+ config.getNotificationBatchSize() + ":" + config.getNotificationBatchLingerMs();
+	}
+
+	public void enqueue(DevOpsNotificationEvent event) {
+		DevOpsNotificationOutbox outbox = DevOpsNotificationOutbox.get();
+		if (outbox.isParked(event.getRunKey())) {
+			// goes behind the events of the run already waiting for the replayer
+			outbox.append(event, false);
+			return;
+		}
+		outbox.append(event, true);
+		Lane lane = laneFor(event.getRunKey());
+		if (lane.queue.offer(event)) {
+			lane.schedule();
+			return;
+		}
+
+		printDebug("enqueue", new String[]{"message", "overflowPolicy"},
+				new String[]{"Notification queue is full", overflowPolicy}, Level.WARNING);
+		if (OVERFLOW_DROP_OLDEST.equals(overflowPolicy)) {
+			while (!lane.queue.offer(event)) {
+				Object dropped = lane.queue.pollFirst();
+				if (dropped instanceof FlushMarker)
+					((FlushMarker) dropped).release();
+				else if (dropped != null) {
+					printDebug("enqueue", new String[]{"dropped"}, new String[]{dropped.toString()}, Level.WARNING);
+					outbox.acknowledge((DevOpsNotificationEvent) dropped);
+				}
+			}
+			lane.schedule();
+		} else if (OVERFLOW_SPILL.equals(overflowPolicy) || DevOpsExecutors.isWorkerThread()) {
+			// already on disk, the outbox replayer posts it. Workers never block: they would
+			// starve the lanes they wait for
+			outbox.release(event);
+		} else {
+			try {
+				lane.schedule();
+				lane.queue.put(event);
+				lane.schedule();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				printDebug("enqueue", new String[]{"InterruptedException"}, new String[]{e.getMessage()},
+						Level.WARNING);
+				outbox.release(event);
+			}
+		}
+	}
+
+	/**
+	 * Waits until every event enqueued so far for the given run has been posted, including
+	 * events of the run left to the outbox replayer, or given up on. The whole wait is bounded by
+	 * one timeout, and it does not wait for the replayer while the instance is unreachable.
+	 * @param runKey externalizable id of the run
+	 */
+	public void flush(String runKey) {
+		FlushMarker marker = new FlushMarker();
+		Lane lane = laneFor(runKey);
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(FLUSH_TIMEOUT_SECONDS);
+		try {
+			boolean flushed = false;
+			if (lane.queue.offer(marker, remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+				lane.schedule();
+				flushed = marker.await(remainingMillis(deadline))
+						&& DevOpsNotificationOutbox.get().awaitReplayed(runKey, remainingMillis(deadline));
+			}
+			if (!flushed)
+				printDebug("flush", new String[]{"message", "runKey"},
+						new String[]{"Timed out waiting for notifications", runKey}, Level.WARNING);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			printDebug("flush", new String[]{"InterruptedException"}, new String[]{e.getMessage()}, Level.WARNING);
+		}
+	}
+
+	private static long remainingMillis(long deadline) {
+		return Math.max(0, deadline - System.currentTimeMillis());
+	}
+
+	private Lane laneFor(String runKey) {
+		int hash = runKey != null ? runKey.hashCode() : 0;
+		return lanes[Math.floorMod(hash, lanes.length)];
+	}
+
+	private void stop() {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+		try {
+			while (System.nanoTime() < deadline && !isIdle())
+				Thread.sleep(STOP_POLL_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (Lane lane : lanes)
+			lane.spill();
+	}
+
+	private boolean isIdle() {
+		for (Lane lane : lanes) {
+			if (!lane.isIdle())
+				return false;
+		}
+		return true;
+	}
+
+	private void deliver(DevOpsNotificationEvent event) {
+		DevOpsNotificationOutbox outbox = DevOpsNotificationOutbox.get();
+		if (outbox.isParked(event.getRunKey())) {
+			outbox.release(event);
+			return;
+		}
+		DevOpsNotificationModel.DeliveryResult result = DevOpsNotificationModel.DeliveryResult.RETRY;
+		try {
+			result = notificationModel.deliver(event);
+		} catch (Exception e) {
+			printDebug("deliver", new String[]{"Exception", "event"}, new String[]{e.getMessage(), event.toString()},
+					Level.SEVERE);
+		}
+		switch (result) {
+			case DELIVERED:
+				outbox.acknowledge(event);
+				break;
+			case REJECTED:
+				outbox.deadLetter(event, "Rejected by the instance");
+				break;
+			case DISABLED:
+				outbox.discard(event, DevOpsNotificationOutbox.DISABLED_REASON);
+				break;
+			default:
+				outbox.release(event);
+				break;
+		}
+	}
+
+	private void deliverBatch(List<DevOpsNotificationEvent> batch) {
+		if (batch.size() == 1 || !isBatchSupported()) {
+			for (DevOpsNotificationEvent event : batch)
+				deliver(event);
+			return;
+		}
+		DevOpsNotificationModel.BatchResult result;
+		try {
+			result = notificationModel.deliverBatch(batch);
+		} catch (Exception e) {
+			printDebug("deliverBatch", new String[]{"Exception"}, new String[]{e.getMessage()}, Level.SEVERE);
+			result = DevOpsNotificationModel.BatchResult.FAILED;
+		}
+		DevOpsNotificationOutbox outbox = DevOpsNotificationOutbox.get();
+		switch (result) {
+			case DELIVERED:
+				for (DevOpsNotificationEvent event : batch)
+					outbox.acknowledge(event);
+				break;
+			case FAILED:
+				for (DevOpsNotificationEvent event : batch)
+					outbox.release(event);
+				break;
+			case DISABLED:
+				for (DevOpsNotificationEvent event : batch)
+					outbox.discard(event, DevOpsNotificationOutbox.DISABLED_REASON);
+				break;
+			case UNSUPPORTED:
+				printDebug("deliverBatch", new String[]{"message"},
+						new String[]{"Batch notifications are not supported by the instance, posting events one by one"},
+						Level.INFO);
+				batchSupported = false;
+				for (DevOpsNotificationEvent event : batch)
+					deliver(event);
+				break;
+			default:
+				for (DevOpsNotificationEvent event : batch)
+					deliver(event);
+				break;
+		}
+	}
+
+	// asks the instance once per process, until then events are posted one by one
+	private boolean isBatchSupported() {
+		Boolean supported = batchSupported;
+		if (supported != null)
+			return supported;
+		try {
+			supported = notificationModel.probeBatchSupport();
+		} catch (Exception e) {
+			printDebug("isBatchSupported", new String[]{"Exception"}, new String[]{e.getMessage()}, Level.SEVERE);
+		}
+		// asked again with the next batch
+		if (supported == null)
+			return false;
+		if (!supported)
+			printDebug("isBatchSupported", new String[]{"message"},
+					new String[]{"Batch notifications are not supported by the instance, posting events one by one"},
+					Level.INFO);
+		batchSupported = supported;
+		return supported;
+	}
+
+	private static int estimateSize(DevOpsNotificationEvent event) {
+		return (event.getPayload() != null ? event.getPayload().length() : 0)
+				+ (event.getParams() != null ? event.getParams().length() : 0);
+	}
+
+	/**
+	 * FIFO of one worker lane. At most one drain task per lane runs on the shared
+	 * executor at a time, which keeps the lane ordered without a dedicated thread.
+	 */
+	private final class Lane implements Runnable {
+		private final LinkedBlockingDeque<Object> queue;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		Lane(int capacity) {
+			this.queue = new LinkedBlockingDeque<>(capacity);
+		}
+
+		void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					DevOpsExecutors.get().execute(this);
+				} catch (RejectedExecutionException e) {
+					scheduled.set(false);
+					printDebug("schedule", new String[]{"RejectedExecutionException"}, new String[]{e.getMessage()},
+							Level.WARNING);
+					spill();
+				}
+			}
+		}
+
+		// no worker to drain the lane, leave its events to the outbox replayer, which keeps their order
+		void spill() {
+			DevOpsNotificationOutbox outbox = DevOpsNotificationOutbox.get();
+			Object item;
+			while ((item = queue.pollFirst()) != null) {
+				if (item instanceof FlushMarker)
+					((FlushMarker) item).release();
+				else
+					outbox.release((DevOpsNotificationEvent) item);
+			}
+		}
+
+		boolean isIdle() {
+			return !scheduled.get() && queue.isEmpty();
+		}
+
+		@Override
+		public void run() {
+			try {
+				// bounded so that a busy lane yields its pool thread now and then
+				for (int i = 0; i < MAX_ITEMS_PER_DRAIN; i++) {
+					Object item = queue.poll();
+					if (item == null)
+						break;
+					if (item instanceof FlushMarker)
+						((FlushMarker) item).release();
+					else if (batchEnabled && !Boolean.FALSE.equals(batchSupported))
+						collectAndDeliver((DevOpsNotificationEvent) item);
+					else
+						deliver((DevOpsNotificationEvent) item);
+				}
+			} finally {
+				scheduled.set(false);
+			}
+			if (!queue.isEmpty())
+				schedule();
+		}
+
+		// gathers follow-up events until a size, byte or linger threshold is hit, or a flush is requested
+		private void collectAndDeliver(DevOpsNotificationEvent first) {
+			DevOpsNotificationOutbox outbox = DevOpsNotificationOutbox.get();
+			if (outbox.isParked(first.getRunKey())) {
+				outbox.release(first);
+				return;
+			}
+			List<DevOpsNotificationEvent> batch = new ArrayList<>();
+			batch.add(first);
+			int chars = estimateSize(first);
+			FlushMarker marker = null;
+			long deadline = System.nanoTime() + batchLingerNanos;
+			try {
+				while (batch.size() < batchSize && chars < BATCH_MAX_CHARS) {
+					long remaining = deadline - System.nanoTime();
+					Object next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+					if (next == null)
+						break;
+					if (next instanceof FlushMarker) {
+						marker = (FlushMarker) next;
+						break;
+					}
+					DevOpsNotificationEvent event = (DevOpsNotificationEvent) next;
+					if (outbox.isParked(event.getRunKey())) {
+						outbox.release(event);
+						continue;
+					}
+					batch.add(event);
+					chars += estimateSize(event);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			deliverBatch(batch);
+			if (marker != null)
+				marker.release();
+		}
+	}
+
+	private static final class FlushMarker {
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		void release() {
+			latch.countDown();
+		}
+
+		boolean await(long timeoutMs) throws InterruptedException {
+			return latch.await(timeoutMs, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsNotificationQueue.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -2,13 +2,13 @@ package io.jenkins.plugins.model;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
@@ -40,8 +40,9 @@ public class DevOpsPipelineGraph {
 	private String jobExecutionUrl;
 	private FilePath workspacePath;
 	// In restart senario duplicate event are coming, just to filter them using processedIdList
-	private final Set<String> processedIdList = new HashSet<String>();
-	private final Map<String, DevOpsPipelineNode> map = new HashMap<>(); // NodeId -> DevopsPipelineNode
+	// nodes are added on the CPS VM thread while stage notifications are built on worker threads
+	private final Set<String> processedIdList = ConcurrentHashMap.newKeySet();
+	private final Map<String, DevOpsPipelineNode> map = new ConcurrentHashMap<>(); // NodeId -> DevopsPipelineNode
 	private final Map<String, LinkedList<DevOpsPipelineNode>> graph = new HashMap<>();  // ParentNodeId -> LinkedList<DevopsPipelineNode>
 
 	public FilePath getWorkspacePath() {
@@ -52,11 +53,14 @@ public class DevOpsPipelineGraph {
 		this.workspacePath = workspacePath;
 	}
 
-	private final Set<DevOpsTestSummary> jobTestResults = new HashSet<DevOpsTestSummary>();
-	private final Set<DevOpsSonarQubeModel> jobSonarQubeModelResults = new HashSet<DevOpsSonarQubeModel>();
-	private final Set<DevOpsJFrogModel> jobJFrogModelResults = new HashSet<DevOpsJFrogModel>();
+	// identities of published test summaries, the summaries themselves hold whole report files
+	private final Set<String> jobTestResults = ConcurrentHashMap.newKeySet();
+	private final Set<DevOpsSonarQubeModel> jobSonarQubeModelResults = ConcurrentHashMap.newKeySet();
+	private final Set<DevOpsJFrogModel> jobJFrogModelResults = ConcurrentHashMap.newKeySet();
 
 	public DevOpsPipelineNode getNodeById(String id) {
+		if (id == null)
+			return null;
 		return this.map.get(id);
 	}
 
@@ -75,11 +79,12 @@ public class DevOpsPipelineGraph {
 	}
 
 	public void addToProcessedList(String stageId) {
-		processedIdList.add(stageId);
+		if (stageId != null)
+			processedIdList.add(stageId);
 	}
 
 	public boolean isAlreadyProcessed(String stageId) {
-		return processedIdList.contains(stageId);
+		return stageId != null && processedIdList.contains(stageId);
 	}
 
 	public void addStepToNode(String stageId) {
@@ -99,11 +104,11 @@ public class DevOpsPipelineGraph {
 	}
 
 	public boolean isTestResultPublished(DevOpsTestSummary testSummary) {
-		return this.jobTestResults.contains(testSummary);
+		return this.jobTestResults.contains(testSummary.getIdentity());
 	}
 
 	public void addToJobTestResults(DevOpsTestSummary testSummary) {
-		this.jobTestResults.add(testSummary);
+		this.jobTestResults.add(testSummary.getIdentity());
 	}
 
 	public boolean isSonarQubeModelResultPublished(DevOpsSonarQubeModel sonarQubeModel) {
@@ -193,12 +198,14 @@ public class DevOpsPipelineGraph {
 		DevOpsPipelineNode upStreamStage = null;
 		String key = getGraphHashKey(parentId);
 
-		if (graph.containsKey(key)) {
-			LinkedList<DevOpsPipelineNode> linkedList = graph.get(key);
-			for (int i = 0; i < linkedList.size() - 1; i++) {
-				if (linkedList.get(i).getId().equals(id)) {
-					upStreamStage = linkedList.get(i + 1);
-					break;
+		synchronized (graph) {
+			if (graph.containsKey(key)) {
+				LinkedList<DevOpsPipelineNode> linkedList = graph.get(key);
+				for (int i = 0; i < linkedList.size() - 1; i++) {
+					if (linkedList.get(i).getId().equals(id)) {
+						upStreamStage = linkedList.get(i + 1);
+						break;
+					}
 				}
 			}
 		}
@@ -208,10 +215,12 @@ public class DevOpsPipelineGraph {
 	public List<String> getWaitForChildExecutions(String stageId) {
 		List<String> childs = new ArrayList<>();
 		String key = getGraphHashKey(stageId);
-		if (graph.containsKey(key)) {
-			LinkedList<DevOpsPipelineNode> list = graph.get(key);
-			for (DevOpsPipelineNode node : list) {
-				childs.add(getStageExecutionUrl(node.getPipelineExecutionUrl(), node.getId()));
+		synchronized (graph) {
+			if (graph.containsKey(key)) {
+				LinkedList<DevOpsPipelineNode> list = graph.get(key);
+				for (DevOpsPipelineNode node : list) {
+					childs.add(getStageExecutionUrl(node.getPipelineExecutionUrl(), node.getId()));
+				}
 			}
 		}
 		return childs;
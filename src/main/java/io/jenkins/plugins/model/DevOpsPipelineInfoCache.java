@@ -0,0 +1,209 @@
+package io.jenkins.plugins.model;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import hudson.FilePath;
+import io.jenkins.plugins.DevOpsRootAction;
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.GenericUtils;
+import net.sf.json.JSONObject;
+
+/**
+ * In-memory copy of the snPipelineInfo.json files, keyed by file path.
+ *
+ * Lookups are served from memory. A missing entry is loaded from disk once, an entry older than
+ * {@link #TTL_MS} is still served while it is refreshed in the background. Updates replace the
+ * entry at once and reach the file through a write-behind task.
+ */
+public final class DevOpsPipelineInfoCache {
+
+	private static final long TTL_MS = TimeUnit.MINUTES.toMillis(5);
+	private static final int MAX_ENTRIES = 5000;
+
+	private static final DevOpsPipelineInfoCache instance = new DevOpsPipelineInfoCache();
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	// latest content to write per file path, drained by flushWrites()
+	private final Map<String, JSONObject> pendingWrites = new ConcurrentHashMap<>();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	// serializes file writes against deleting the files
+	private final Object fileLock = new Object();
+
+	private DevOpsPipelineInfoCache() {}
+
+	public static DevOpsPipelineInfoCache get() {
+		return instance;
+	}
+
+	/**
+	 * @param path path of the snPipelineInfo.json file
+	 * @return cached entry, loaded from disk if missing; its value is null when there is no usable file
+	 */
+	public Entry lookup(String path) {
+		String key = getKey(path);
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			// an entry evicted before its write reached the file is still pending
+			JSONObject pending = pendingWrites.get(key);
+			entry = new Entry(pending != null ? pending : readFile(path));
+			Entry existing = entries.putIfAbsent(key, entry);
+			if (existing != null)
+				return existing;
+			evictIfFull();
+		}
+		return entry;
+	}
+
+	/**
+	 * Replaces the cached content and schedules writing it to the file.
+	 * @param path path of the snPipelineInfo.json file
+	 * @param pipelineInfo new content
+	 */
+	public void put(String path, JSONObject pipelineInfo) {
+		String key = getKey(path);
+		entries.put(key, new Entry(pipelineInfo));
+		evictIfFull();
+		pendingWrites.put(key, pipelineInfo);
+		scheduleFlush();
+	}
+
+	/**
+	 * Refreshes a stale entry in the background while callers keep getting the old content.
+	 * At most one refresh per entry runs at a time.
+	 * @param path path of the snPipelineInfo.json file
+	 * @param entry the stale entry
+	 * @param loader fetches the new content, null keeps the entry as it is
+	 */
+	public void refreshAsync(String path, Entry entry, Callable<JSONObject> loader) {
+		if (!entry.refreshing.compareAndSet(false, true))
+			return;
+		String key = getKey(path);
+		try {
+			DevOpsExecutors.get().execute(() -> {
+				try {
+					JSONObject refreshed = loader.call();
+					if (refreshed != null)
+						put(path, refreshed);
+					else
+						// nothing better known, keep serving the current content for another period
+						entries.replace(key, entry, new Entry(entry.value));
+				} catch (Exception e) {
+					printDebug("refreshAsync", new String[]{"path", "exception"}, new String[]{path, e.getMessage()},
+							Level.WARNING);
+				} finally {
+					entry.refreshing.set(false);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			entry.refreshing.set(false);
+		}
+	}
+
+	// file content, null if there is no file or it has no tracking information
+	private JSONObject readFile(String path) {
+		return DevOpsRootAction.checkInfoInFile(null, path);
+	}
+
+	/**
+	 * Drops every entry and pending write, called before the files are deleted.
+	 */
+	public void clear() {
+		synchronized (fileLock) {
+			pendingWrites.clear();
+			entries.clear();
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void scheduleFlush() {
+		if (!flushScheduled.compareAndSet(false, true))
+			return;
+		try {
+			DevOpsExecutors.execute(this::flushWrites);
+		} catch (RejectedExecutionException e) {
+			flushWrites();
+		}
+	}
+
+	/**
+	 * Writes all pending updates to their files.
+	 */
+	public void flushWrites() {
+		flushScheduled.set(false);
+		for (String key : pendingWrites.keySet()) {
+			synchronized (fileLock) {
+				JSONObject pipelineInfo = pendingWrites.remove(key);
+				if (pipelineInfo != null)
+					writeFile(key, pipelineInfo);
+			}
+		}
+	}
+
+	private void writeFile(String path, JSONObject pipelineInfo) {
+		try {
+			new FilePath(new File(path)).write(pipelineInfo.toString(), "UTF-8");
+		} catch (Exception e) {
+			printDebug("writeFile", new String[]{"path", "exception"}, new String[]{path, e.getMessage()},
+					Level.SEVERE);
+		}
+	}
+
+	// the same file is reached through the job directory and through JENKINS_HOME/jobs/<name>
+	private static String getKey(String path) {
+		return new File(path).getAbsoluteFile().toPath().normalize().toString();
+	}
+
+	private void evictIfFull() {
+		if (entries.size() <= MAX_ENTRIES)
+			return;
+		long now = System.currentTimeMillis();
+		entries.values().removeIf(entry -> now - entry.loadedAt > TTL_MS);
+		// still full of fresh entries, drop the oldest ones
+		while (entries.size() > MAX_ENTRIES) {
+			Map.Entry<String, Entry> oldest = null;
+			for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+				if (oldest == null || candidate.getValue().loadedAt < oldest.getValue().loadedAt)
+					oldest = candidate;
+			}
+			if (oldest == null)
+				break;
+			entries.remove(oldest.getKey(), oldest.getValue());
+		}
+	}
+
+	/**
+	 * Cached content of one file.
+	 */
+	public static final class Entry {
+		private final JSONObject value;
+		private final long loadedAt = System.currentTimeMillis();
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		Entry(JSONObject value) {
+			this.value = value;
+		}
+
+		// shared with other callers, do not modify
+		public JSONObject getValue() {
+			return value;
+		}
+
+		public boolean isStale() {
+			return System.currentTimeMillis() - loadedAt > TTL_MS;
+		}
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsPipelineInfoCache.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -0,0 +1,91 @@
+package io.jenkins.plugins.model;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.GenericUtils;
+import net.sf.json.JSONObject;
+
+/**
+ * Paces the ServiceNow work of change and config steps resumed after a controller restart. Every
+ * parked step resumes at once; instead of all of them querying ServiceNow together, their work is started at
+ * most {@link #RESUMES_PER_SECOND} times per second, each start jittered within its slot.
+ */
+public final class DevOpsResumeCoordinator {
+	private DevOpsResumeCoordinator() {}
+
+	private static final double RESUMES_PER_SECOND = Math.max(0.1,
+			Double.parseDouble(System.getProperty(DevOpsResumeCoordinator.class.getName() + ".resumesPerSecond", "5")));
+	private static final long SLOT_MS = (long) (1000 / RESUMES_PER_SECOND);
+	private static final int PROGRESS_EVERY = 10;
+
+	private static final AtomicInteger submitted = new AtomicInteger();
+	private static final AtomicInteger completed = new AtomicInteger();
+	// start of the next free slot, guarded by the class
+	private static long nextSlot;
+
+	/**
+	 * @param name name of the resumed execution, for logging
+	 * @param task ServiceNow work of the resumed execution
+	 */
+	public static void submit(String name, Runnable task) {
+		long delay;
+		synchronized (DevOpsResumeCoordinator.class) {
+			long now = System.currentTimeMillis();
+			long slot = Math.max(now, nextSlot);
+			nextSlot = slot + SLOT_MS;
+			delay = slot - now + ThreadLocalRandom.current().nextLong(SLOT_MS + 1);
+		}
+		submitted.incrementAndGet();
+		printDebug("submit", new String[]{"name", "delay"}, new String[]{name, String.valueOf(delay)}, Level.FINE);
+		try {
+			DevOpsExecutors.scheduler().schedule(() -> {
+				try {
+					DevOpsExecutors.execute(() -> run(name, task));
+				} catch (RejectedExecutionException shutdown) {
+					printDebug("submit", new String[]{"name", "message"},
+							new String[]{name, "Not resumed, the worker pool is shut down"}, Level.WARNING);
+				}
+			}, delay, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			run(name, task);
+		}
+	}
+
+	private static void run(String name, Runnable task) {
+		try {
+			task.run();
+		} catch (RuntimeException e) {
+			printDebug("run", new String[]{"name", "exception"}, new String[]{name, e.toString()}, Level.SEVERE);
+		} finally {
+			int done = completed.incrementAndGet();
+			int total = submitted.get();
+			if (done % PROGRESS_EVERY == 0 || done == total)
+				printDebug("run", new String[]{"message"},
+						new String[]{"Resumed " + done + " of " + total + " resumed steps"}, Level.INFO);
+		}
+	}
+
+	/**
+	 * Progress of the resumed steps.
+	 * @return counters as JSON
+	 */
+	public static JSONObject getMetrics() {
+		int done = completed.get();
+		int total = submitted.get();
+		JSONObject metrics = new JSONObject();
+		metrics.put("submitted", total);
+		metrics.put("completed", done);
+		metrics.put("pending", total - done);
+		metrics.put("resumesPerSecond", RESUMES_PER_SECOND);
+		return metrics;
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsResumeCoordinator.class.getName(), methodName, variables, values, logLevel);
+	}
+}
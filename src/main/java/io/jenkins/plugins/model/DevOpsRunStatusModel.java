@@ -189,6 +189,14 @@ public class DevOpsRunStatusModel {
 		this.testSummaries.add(testSummary);
 	}
 
+	// report contents are only needed until the notifications are serialized
+	public void releaseTestReportContent() {
+		if (this.testSummaries != null) {
+			for (DevOpsTestSummary testSummary : this.testSummaries)
+				testSummary.releaseFileContent();
+		}
+	}
+
 	public List<DevOpsSonarQubeModel> getSonarQubeAnalysisModels() {
 		return sonarQubeAnalysisModels;
 	}
@@ -0,0 +1,128 @@
+package io.jenkins.plugins.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.types.FileSet;
+
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Finds test reports in a workspace and reads them where the workspace lives, so an agent
+ * workspace costs a single remoting round trip. Reports come back gzip compressed.
+ */
+public class DevOpsTestReportCallable extends MasterToSlaveFileCallable<List<DevOpsTestReportCallable.TestReport>> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String includes;
+	private final long modifiedAfter;
+
+	/**
+	 * @param includes comma separated Ant patterns relative to the workspace
+	 * @param modifiedAfter only reports modified after this time (ms since epoch) are returned
+	 */
+	public DevOpsTestReportCallable(String includes, long modifiedAfter) {
+		this.includes = includes;
+		this.modifiedAfter = modifiedAfter;
+	}
+
+	// runs on the agent, stay clear of GenericUtils and the controller-side classes it references
+	private static MessageDigest newSha256() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public List<TestReport> invoke(File ws, VirtualChannel channel) throws IOException, InterruptedException {
+		List<TestReport> reports = new ArrayList<>();
+		if (!ws.isDirectory())
+			return reports;
+		FileSet fs = Util.createFileSet(ws, includes);
+		DirectoryScanner ds = fs.getDirectoryScanner();
+		for (String relPath : ds.getIncludedFiles()) {
+			File reportFile = new File(ws, relPath);
+			long lastModified = reportFile.lastModified();
+			if (lastModified <= modifiedAfter)
+				continue;
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			MessageDigest digest = newSha256();
+			try (OutputStream out = new DigestOutputStream(new GZIPOutputStream(compressed), digest)) {
+				Files.copy(reportFile.toPath(), out);
+			}
+			reports.add(new TestReport(relPath, reportFile.getName(), lastModified, compressed.toByteArray(),
+					Util.toHexString(digest.digest())));
+		}
+		return reports;
+	}
+
+	/**
+	 * A test report file found in the workspace.
+	 */
+	public static final class TestReport implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final String path;
+		private final String name;
+		private final long lastModified;
+		private final byte[] compressedContent;
+		private final String contentDigest;
+
+		TestReport(String path, String name, long lastModified, byte[] compressedContent, String contentDigest) {
+			this.path = path;
+			this.name = name;
+			this.lastModified = lastModified;
+			this.compressedContent = compressedContent;
+			this.contentDigest = contentDigest;
+		}
+
+		// relative to the workspace
+		public String getPath() {
+			return path;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getLastModified() {
+			return lastModified;
+		}
+
+		// SHA-256 of the uncompressed content, computed while reading the file
+		public String getContentDigest() {
+			return contentDigest;
+		}
+
+		public String getContent() throws IOException {
+			try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressedContent))) {
+				ByteArrayOutputStream content = new ByteArrayOutputStream(compressedContent.length * 4);
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = in.read(buffer)) != -1)
+					content.write(buffer, 0, read);
+				return new String(content.toByteArray(), StandardCharsets.UTF_8);
+			}
+		}
+	}
+}
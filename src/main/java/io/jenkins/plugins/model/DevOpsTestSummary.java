@@ -5,6 +5,8 @@ import java.text.SimpleDateFormat;
 import java.util.Objects;
 import java.util.TimeZone;
 
+import io.jenkins.plugins.utils.GenericUtils;
+
 public class DevOpsTestSummary {
 	private String name;
 	private int passedTests;
@@ -23,6 +25,8 @@ public class DevOpsTestSummary {
 	private String url;
 	private transient boolean resultsFound = true;
 	private String fileContent;
+	// identifies the report content in equals/hashCode, survives releaseFileContent()
+	private transient String contentDigest;
 	private String branch;
 	private String isMultiBranch;
 
@@ -45,6 +49,7 @@ public class DevOpsTestSummary {
 		private long startTime;
 		private long finishTime;
 		private String fileContent;
+		private String contentDigest;
 		private String branchName;
 		private String multiBranch;
 
@@ -129,6 +134,12 @@ public class DevOpsTestSummary {
 			return this;
 		}
 
+		// digest of fileContent when already known, computed from fileContent otherwise
+		public Builder contentDigest(String digest) {
+			this.contentDigest = digest;
+			return this;
+		}
+
 		public Builder branchName(String bname) {
 			this.branchName = bname;
 			return this;
@@ -164,6 +175,8 @@ public class DevOpsTestSummary {
 			testSummary.finishTime = utcFormat.format(this.finishTime);
 
 			testSummary.fileContent = this.fileContent;
+			testSummary.contentDigest = this.contentDigest != null ? this.contentDigest :
+					GenericUtils.sha256Hex(this.fileContent);
 
 			//set passing percent
 			int total = this.total - this.skipped;
@@ -316,8 +329,28 @@ public class DevOpsTestSummary {
 		this.fileContent = fileContent;
 	}
 
-	private String geFileContentForEquals(){
-		return (fileContent==null)? "null": fileContent;
+	/**
+	 * Drops the report content once it has been sent, the digest keeps identifying the summary.
+	 */
+	public void releaseFileContent() {
+		this.fileContent = null;
+	}
+
+	public String getContentDigest() {
+		return contentDigest;
+	}
+
+	private String getContentDigestForEquals(){
+		return (contentDigest==null)? "null": contentDigest;
+	}
+
+	/**
+	 * Compact key with the same identity as equals, used to remember published results.
+	 * @return counts, url and content digest
+	 */
+	public String getIdentity() {
+		return passedTests + ":" + failedTests + ":" + skippedTests + ":" + blockedTests + ":" + totalTests + ":"
+				+ getContentDigestForEquals() + ":" + getUrlForEquals();
 	}
 
 	public String getProjectName() {
@@ -356,11 +389,11 @@ public class DevOpsTestSummary {
 		       blockedTests == that.blockedTests &&
 		       totalTests == that.totalTests &&
 		       getUrlForEquals().equals(that.getUrlForEquals()) &&
-		       geFileContentForEquals().equals(that.geFileContentForEquals());
+		       getContentDigestForEquals().equals(that.getContentDigestForEquals());
 	}
 
 	@Override public int hashCode() {
 		return Objects.hash(passedTests, failedTests, skippedTests, blockedTests, totalTests, url
-				, fileContent);
+				, contentDigest);
 	}
 }
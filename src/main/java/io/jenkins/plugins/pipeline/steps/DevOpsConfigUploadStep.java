@@ -29,6 +29,7 @@ public class DevOpsConfigUploadStep extends Step implements Serializable {
     private String changesetNumber;
     private String target;
     private String configFile;
+    private String excludeConfigFile;
     private String namePath;
     private boolean autoCommit;
     private boolean autoValidate;
@@ -38,6 +39,8 @@ public class DevOpsConfigUploadStep extends Step implements Serializable {
     private boolean convertPath;
     private boolean markFailed;
     private boolean showResults;
+    private int uploadConcurrency;
+    private boolean skipUnchanged;
    
 
     @DataBoundConstructor
@@ -206,6 +209,36 @@ public class DevOpsConfigUploadStep extends Step implements Serializable {
         this.autoValidate = autoValidate;
     }
 
+    public String getExcludeConfigFile() {
+        return excludeConfigFile;
+    }
+
+    // glob of files and directories skipped while looking for configFile
+    @DataBoundSetter
+    public void setExcludeConfigFile(String excludeConfigFile) {
+        this.excludeConfigFile = excludeConfigFile;
+    }
+
+    public int getUploadConcurrency() {
+        return uploadConcurrency;
+    }
+
+    // maximum number of files uploaded at a time, the plugin default when not set
+    @DataBoundSetter
+    public void setUploadConcurrency(int uploadConcurrency) {
+        this.uploadConcurrency = uploadConcurrency;
+    }
+
+    public boolean getSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    // only upload files that changed since the last committed upload of the job
+    @DataBoundSetter
+    public void setSkipUnchanged(boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+    }
+
     @Extension
 	public static class DescriptorImpl extends StepDescriptor {
 
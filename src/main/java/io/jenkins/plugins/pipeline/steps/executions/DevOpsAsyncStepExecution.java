@@ -0,0 +1,211 @@
+package io.jenkins.plugins.pipeline.steps.executions;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+import org.jenkinsci.plugins.workflow.steps.AbstractStepExecutionImpl;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+
+import hudson.AbortException;
+import io.jenkins.plugins.model.DevOpsResumeCoordinator;
+import io.jenkins.plugins.utils.DevOpsExecutors;
+import io.jenkins.plugins.utils.GenericUtils;
+
+/**
+ * Base of the steps that wait on ServiceNow to process a request. The work runs on the plugin
+ * worker pool and waits through status checks scheduled on the shared scheduler, so no thread is
+ * held while ServiceNow is busy. Subclasses keep the ids of the requests they have sent in
+ * serialized fields; after a controller restart {@link #resume()} continues from those ids.
+ * @param <T> result of the step
+ */
+public abstract class DevOpsAsyncStepExecution<T> extends AbstractStepExecutionImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	// scheduled status checks, cancelled when the step is stopped
+	private transient Set<Future<?>> timers;
+	private transient AtomicBoolean done;
+
+	protected DevOpsAsyncStepExecution(StepContext context) {
+		super(context);
+	}
+
+	/**
+	 * Work of the step, called on the worker pool. The step ends when it calls {@link #complete} or
+	 * throws.
+	 * @throws Exception to fail the step
+	 */
+	protected abstract void begin() throws Exception;
+
+	/**
+	 * Continues the work after a controller restart, called on the worker pool. Starts over by default.
+	 * @throws Exception to fail the step
+	 */
+	protected void resume() throws Exception {
+		begin();
+	}
+
+	/**
+	 * Called once the step is stopped, to cancel work not tracked by this class.
+	 */
+	protected void onStop() {
+	}
+
+	@Override
+	public boolean start() throws Exception {
+		submit(this::begin);
+		return false;
+	}
+
+	@Override
+	public void onResume() {
+		super.onResume();
+		// every waiting step resumes at once after a restart, pace their ServiceNow calls
+		DevOpsResumeCoordinator.submit(getClass().getSimpleName(), () -> run(this::resume));
+	}
+
+	@Override
+	public void stop(Throwable cause) throws Exception {
+		if (isDone().compareAndSet(false, true)) {
+			for (Future<?> timer : getTimers())
+				timer.cancel(false);
+			onStop();
+		}
+		getContext().onFailure(cause);
+	}
+
+	/**
+	 * Runs the task on the worker pool.
+	 */
+	protected final void submit(Task task) {
+		schedule(task, 0);
+	}
+
+	/**
+	 * Runs the task on the worker pool once the delay has passed, without holding a thread meanwhile.
+	 */
+	protected final void schedule(Task task, long delayMs) {
+		if (isDone().get())
+			return;
+		try {
+			if (delayMs <= 0) {
+				DevOpsExecutors.execute(() -> run(task));
+				return;
+			}
+			Set<Future<?>> scheduled = getTimers();
+			AtomicReference<Future<?>> timer = new AtomicReference<>();
+			timer.set(DevOpsExecutors.scheduler().schedule(() -> {
+				Future<?> fired = timer.get();
+				if (fired != null)
+					scheduled.remove(fired);
+				submit(task);
+			}, delayMs, TimeUnit.MILLISECONDS));
+			scheduled.add(timer.get());
+			if (timer.get().isDone())
+				scheduled.remove(timer.get());
+		} catch (RejectedExecutionException e) {
+			fail(new AbortException("ServiceNow DevOps is shutting down"));
+		}
+	}
+
+	/**
+	 * Asks the flow to write this execution to disk, to be called right after a serialized field got
+	 * a request id so that {@link #resume()} finds it after a crash. Fields must hold values no
+	 * other thread is still changing.
+	 */
+	protected final void saveState() {
+		getContext().saveState();
+	}
+
+	/**
+	 * Ends the step with its result, unless it has already ended.
+	 */
+	protected final void complete(T result) {
+		if (isDone().compareAndSet(false, true))
+			getContext().onSuccess(result);
+	}
+
+	/**
+	 * Ends the step with a failure, unless it has already ended.
+	 */
+	protected final void fail(Throwable cause) {
+		if (isDone().compareAndSet(false, true))
+			getContext().onFailure(cause);
+	}
+
+	/**
+	 * @return the result of the future once completed, the continuation failing the future when it throws
+	 */
+	protected static <A, B> CompletableFuture<B> then(CompletableFuture<A> future, Continuation<A, B> next) {
+		return future.thenCompose(value -> {
+			try {
+				return next.apply(value);
+			} catch (Exception e) {
+				CompletableFuture<B> failed = new CompletableFuture<>();
+				failed.completeExceptionally(e);
+				return failed;
+			}
+		});
+	}
+
+	/**
+	 * @return the failure a future completed with, unwrapped from the completion wrapper
+	 */
+	protected static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+
+	private void run(Task task) {
+		if (isDone().get())
+			return;
+		try {
+			task.run();
+		} catch (Exception e) {
+			printDebug("run", new String[]{"exception"}, new String[]{e.toString()}, Level.FINE);
+			fail(e);
+		} catch (Error e) {
+			fail(e);
+			throw e;
+		}
+	}
+
+	private synchronized Set<Future<?>> getTimers() {
+		if (timers == null)
+			timers = ConcurrentHashMap.newKeySet();
+		return timers;
+	}
+
+	private synchronized AtomicBoolean isDone() {
+		if (done == null)
+			done = new AtomicBoolean();
+		return done;
+	}
+
+	/**
+	 * Work that may fail the step.
+	 */
+	@FunctionalInterface
+	protected interface Task {
+		void run() throws Exception;
+	}
+
+	/**
+	 * Continues with the value of a completed future.
+	 */
+	@FunctionalInterface
+	protected interface Continuation<A, B> {
+		CompletableFuture<B> apply(A value) throws Exception;
+	}
+
+	private void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsAsyncStepExecution.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -5,7 +5,6 @@ import hudson.EnvVars;
 import hudson.model.Result;
 
 import org.jenkinsci.plugins.workflow.steps.StepContext;
-import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
 
 import hudson.FilePath;
 import hudson.model.Run;
@@ -20,12 +19,15 @@ import net.sf.json.JSONObject;
 
 import io.jenkins.plugins.utils.DevOpsConstants;
 
-public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepExecution<Boolean> {
+public class DevOpsConfigExportStepExecution extends DevOpsAsyncStepExecution<Boolean> {
 	private static final long serialVersionUID = 1L;
 
 	private DevOpsConfigExportStep step;
 	private int retryFrequency = 220;
 	private int maxRetryCount = 20;
+	// kept across a controller restart once the export is requested
+	private String exportId;
+	private int retryCount;
 
 	public DevOpsConfigExportStepExecution(StepContext context, DevOpsConfigExportStep step) {
 		super(context);
@@ -33,12 +35,10 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 	}
 
 	@Override
-	protected Boolean run() throws Exception {
+	protected void begin() throws Exception {
 
 		TaskListener listener = getContext().get(TaskListener.class);
-		EnvVars envVars = getContext().get(EnvVars.class);
 		DevOpsModel model = new DevOpsModel();
-		FilePath workspace = getContext().get(FilePath.class);
 
 		GenericUtils.printConsoleLog(listener,
 				DevOpsConstants.CONFIG_EXPORT_STEP_FUNCTION_NAME.toString() + " - Config export step execution starts");
@@ -55,28 +55,35 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 			responseEnvType = model.fetchSnapshotRecord(this.step.getApplicationName().trim(),
 					this.step.getDeployableName().trim(), snapshot);
 		} catch (Exception e) {
-			return handleException("Exception occurred while export - " + e.getMessage() + " : Export step failed");
+			complete(handleException("Exception occurred while export - " + e.getMessage() + " : Export step failed"));
+			return;
 		}
 
-		if (responseEnvType == null)
-			return handleException("Unable to find snapshot with given inputs : Export step failed");
+		if (responseEnvType == null) {
+			complete(handleException("Unable to find snapshot with given inputs : Export step failed"));
+			return;
+		}
 
 		JSONArray resultEnvType = null;
 		try {
 			resultEnvType = responseEnvType.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
 		} catch (JSONException j) {
-			return handleException("Export step failed :" + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			complete(handleException("Export step failed :" + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+			return;
 		}
 
-		if (resultEnvType.isEmpty())
-			return handleException("Unable to find snapshot with given inputs : Export step failed");
+		if (resultEnvType.isEmpty()) {
+			complete(handleException("Unable to find snapshot with given inputs : Export step failed"));
+			return;
+		}
 
 		String environmentType = "";
 		try {
 			JSONObject responseBody = resultEnvType.getJSONObject(0);
 			environmentType=responseBody.getString(DevOpsConstants.CONFIG_ENVIRONMENT_TYPE.toString());			
 		} catch (JSONException j) {
-			return handleException("Export step failed :" + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			complete(handleException("Export step failed :" + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+			return;
 		}
 		String transactionSource = "system_information=jenkins,interface_type="+step.getExporterName()+",interface="+step.getExporterFormat()+",interface_version="+environmentType;
 
@@ -86,12 +93,15 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 					this.step.getExporterName(), this.step.getExporterFormat(), this.step.getExporterArgs(),
 					this.step.getSnapshotName(), transactionSource);
 		} catch (Exception e) {
-			return handleException(e.getMessage());
+			complete(handleException(e.getMessage()));
+			return;
 		}
 
 		String exportId = "";
-		if (null == request)
-			return handleException("Failed to create export request");
+		if (null == request) {
+			complete(handleException("Failed to create export request"));
+			return;
+		}
 
 		if (this.step.getShowResults())
 			GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_EXPORT_STEP_FUNCTION_NAME.toString()
@@ -103,60 +113,85 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 				JSONObject error = request.getJSONObject(DevOpsConstants.COMMON_RESULT_ERROR.toString());
 				errorMessage = error.getString(DevOpsConstants.COMMON_RESPONSE_MESSAGE.toString());
 			} catch (JSONException j) {
-				return handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+				complete(handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+				return;
 			}
-			return handleException(errorMessage);
+			complete(handleException(errorMessage));
+			return;
 		}
 
 		try {
 			JSONObject result = request.getJSONObject(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
 			exportId = result.getString(DevOpsConstants.COMMON_RESPONSE_EXPORT_ID.toString());
 		} catch (JSONException j) {
-			return handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			complete(handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+			return;
 		}
 
+		this.exportId = exportId;
+		saveState();
 		GenericUtils.printConsoleLog(listener,
 				DevOpsConstants.CONFIG_EXPORT_STEP_FUNCTION_NAME.toString() + " - Polling for export status");
+		poll();
+	}
+
+	@Override
+	protected void resume() throws Exception {
+		if (this.exportId == null) {
+			begin();
+			return;
+		}
+		GenericUtils.printConsoleLog(getContext().get(TaskListener.class),
+				DevOpsConstants.CONFIG_EXPORT_STEP_FUNCTION_NAME.toString() + " - Resuming the export status polling");
+		poll();
+	}
+
+	// checks the export status once, the next check is scheduled rather than slept on
+	private void poll() throws Exception {
+		TaskListener listener = getContext().get(TaskListener.class);
+		DevOpsModel model = new DevOpsModel();
 
 		JSONObject response = null;
 		JSONObject exportStatus = null;
 		String state = "";
-		int retryCount = 0;
 
-		while (retryCount <= maxRetryCount) {
-			retryCount++;
-			try {
-				exportStatus = model.fetchExportStatus(exportId);
-			} catch (Exception e) {
-				return handleException(e.getMessage());
-			}
+		retryCount++;
+		try {
+			exportStatus = model.fetchExportStatus(exportId);
+		} catch (Exception e) {
+			complete(handleException(e.getMessage()));
+			return;
+		}
 
-			try {
-				response = exportStatus.getJSONObject(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
-				state = response.getString(DevOpsConstants.COMMON_RESPONSE_STATE.toString());
-			} catch (JSONException j) {
-				return handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
-			}
+		try {
+			response = exportStatus.getJSONObject(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
+			state = response.getString(DevOpsConstants.COMMON_RESPONSE_STATE.toString());
+		} catch (JSONException j) {
+			complete(handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+			return;
+		}
 
-			if (state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_NEW.toString())
-					|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_IN_PROGRESS.toString())
-					|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_READY.toString())
-					|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_INITIALIZING.toString())) {
-				if (retryCount % 2 == 0) {
-					GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_EXPORT_STEP_FUNCTION_NAME.toString()
-							+ " - Waiting for response - Retried  " + retryCount + " times");
-					retryFrequency *= 2;
-				}
-				try {
-					Thread.sleep(retryFrequency);
-				} catch (InterruptedException i) {
-					GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_EXPORT_STEP_FUNCTION_NAME.toString()
-							+ " - Exception while fetching export status");
-					continue;
-				}
-			} else
-				break;
+		if ((state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_NEW.toString())
+				|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_IN_PROGRESS.toString())
+				|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_READY.toString())
+				|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_INITIALIZING.toString()))
+				&& retryCount <= maxRetryCount) {
+			if (retryCount % 2 == 0) {
+				GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_EXPORT_STEP_FUNCTION_NAME.toString()
+						+ " - Waiting for response - Retried  " + retryCount + " times");
+				retryFrequency *= 2;
+			}
+			schedule(this::poll, retryFrequency);
+			return;
 		}
+		finishExport(exportStatus, response, state);
+	}
+
+	private void finishExport(JSONObject exportStatus, JSONObject response, String state) throws Exception {
+		TaskListener listener = getContext().get(TaskListener.class);
+		EnvVars envVars = getContext().get(EnvVars.class);
+		DevOpsModel model = new DevOpsModel();
+		FilePath workspace = getContext().get(FilePath.class);
 
 		if (this.step.getShowResults())
 			GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_EXPORT_STEP_FUNCTION_NAME.toString()
@@ -166,10 +201,12 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 		try {
 			if (response != null && !(state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_COMPLETED.toString()))) {
 				message = response.getString(DevOpsConstants.COMMON_RESPONSE_OUTPUT.toString());
-				return handleException(message);
+				complete(handleException(message));
+				return;
 			}
 		} catch (JSONException j) {
-			return handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			complete(handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+			return;
 		}
 
 		JSONObject output = null;
@@ -181,7 +218,8 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 				outputState = output.getString(DevOpsConstants.COMMON_RESPONSE_STATE.toString());
 			}
 		} catch (JSONException j) {
-			return handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			complete(handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+			return;
 		}
 		// Here output cannot be null as for success cases we have exported data and for
 		// failure cases we have failure reason within output key
@@ -191,10 +229,12 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 				try {
 					errors = output.getJSONArray(DevOpsConstants.COMMON_RESPONSE_ERRORS.toString());
 				} catch (JSONException j) {
-					return handleException(
-							"Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+					complete(handleException(
+							"Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+					return;
 				}
-				return handleException("Export failed due to : " + errors);
+				complete(handleException("Export failed due to : " + errors));
+				return;
 			}
 		}
 
@@ -206,7 +246,8 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 		try {
 			exportResponse = model.fetchExportData(exportId);
 		} catch (Exception e) {
-			return handleException(e.getMessage());
+			complete(handleException(e.getMessage()));
+			return;
 		}
 
 		if (this.step.getShowResults())
@@ -224,7 +265,8 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 					exportData = exportData.replace("\"", "\\\"");
 			}
 		} catch (JSONException j) {
-			return handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+			complete(handleException("Export step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+			return;
 		}
 
 		GenericUtils.printConsoleLog(listener,
@@ -252,10 +294,11 @@ public class DevOpsConfigExportStepExecution extends SynchronousNonBlockingStepE
 		try {
 			filePath.write(exportData, "utf-8");
 		} catch (Exception e) {
-			return handleException(" Exception while writing file : " + e.getMessage());
+			complete(handleException(" Exception while writing file : " + e.getMessage()));
+			return;
 		}
 
-		return Boolean.valueOf(true);
+		complete(Boolean.valueOf(true));
 	}
 
 	private Boolean handleException(String exceptionMessage) throws Exception {
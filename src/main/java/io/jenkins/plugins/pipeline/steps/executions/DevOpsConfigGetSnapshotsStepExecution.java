@@ -3,19 +3,15 @@ package io.jenkins.plugins.pipeline.steps.executions;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.ConnectException;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.evanlennick.retry4j.CallExecutorBuilder;
-import com.evanlennick.retry4j.config.RetryConfig;
-import com.evanlennick.retry4j.config.RetryConfigBuilder;
-import com.evanlennick.retry4j.exception.RetriesExhaustedException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import hudson.AbortException;
@@ -25,7 +21,6 @@ import hudson.model.Result;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
-import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
 
 import hudson.model.Run;
 import hudson.model.TaskListener;
@@ -54,7 +49,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import java.io.File;
 
-public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockingStepExecution<String> {
+public class DevOpsConfigGetSnapshotsStepExecution extends DevOpsAsyncStepExecution<String> {
 
 	private static final long serialVersionUID = 1L;
 	private static final String RETRY = "retry";
@@ -62,6 +57,8 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 	private int maxNumberOfRetries = 20;
 	private int notValidatedRetryCount = 60;
 	private boolean checkForNotValidated = true;
+	private boolean noDeployablesImpacted = false;
+	private int noOfDeployablesImpacted = 0;
 
 	private DevOpsConfigGetSnapshotsStep step;
 	private ObjectMapper mapper = new ObjectMapper();
@@ -71,162 +68,192 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 		this.step = step;
 	}
 
+	// the snapshot queries are read only, after a restart they are simply started over
 	@Override
-	protected String run() throws Exception {
+	protected void begin() throws Exception {
+		noDeployablesImpacted = false;
+		noOfDeployablesImpacted = 0;
+		then(CompletableFuture.completedFuture(null), ignored -> querySnapshots())
+				.whenComplete((result, error) -> submit(() -> finish(result, error)));
+	}
+
+	// completes with null when the step inputs are invalid and SN errors are ignored
+	private CompletableFuture<List<CDMSnapshot>> querySnapshots() throws Exception {
 		Run<?, ?> run = getContext().get(Run.class);
 		TaskListener listener = getContext().get(TaskListener.class);
-		FilePath workspace = getContext().get(FilePath.class);
-		EnvVars envVars = getContext().get(EnvVars.class);
 		DevOpsModel model = new DevOpsModel();
 		DevOpsJobProperty jobProperties = model.getJobProperty(run.getParent());
-		List<CDMSnapshot> result = new ArrayList<>();
-		boolean noDeployablesImpacted = false;
-		int noOfDeployablesImpacted = 0;
 
-		try {
-			GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots - Config status step execution starts");
-			if (validateStepInputs()) {
-				// Checking if app is valid
-				JSONObject appDetails = null;
-				appDetails = model.checkForValidApp(this.step.getApplicationName());
-
-				JSONArray appResult = appDetails.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
-				if (appResult.size() == 0) {
-					GenericUtils.printConsoleLog(listener,
-							"snDevOpsConfigGetSnapshots - Failed to find application with given name");
-					throw new AbortException("Failed to find application with given name");
-				}
-				String appSysId = appResult.getJSONObject(0).getString("sys_id");
-				if (appSysId == null) {
-					GenericUtils.printConsoleLog(listener,
-							"snDevOpsConfigGetSnapshots - Failed to find application with given name");
-					throw new AbortException("Failed to find application with given name");
-				}
-				// Polling for changeset to commit
-				String appName = "";
-				String changesetSysId = "";
-				if (!StringUtils.isEmpty(this.step.getChangesetNumber())) {
-
-					Callable<String> callable = () -> {
-						String retryStatus = "success";
-						JSONObject changesetDetails = model.getChangesetId(this.step.getChangesetNumber());
-						JSONArray details = changesetDetails
-								.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
-						if (details.size() == 0) {
-							return retryStatus;
-						}
-						JSONObject changesetSysIdObj = details.getJSONObject(0);
-						String changesetState = changesetSysIdObj
-								.getString(DevOpsConstants.COMMON_RESPONSE_STATE.toString());
+		GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots - Config status step execution starts");
+		if (!validateStepInputs()) {
+			if (!jobProperties.isIgnoreSNErrors() || this.step.getMarkFailed()) {
+				run.setResult(Result.FAILURE);
+				throw new AbortException("snDevOpsConfigGetSnapshots  - Missing parameters.");
+			}
+			GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots - Validation of step inputs failed");
+			return CompletableFuture.completedFuture(null);
+		}
+		// Checking if app is valid
+		JSONObject appDetails = null;
+		appDetails = model.checkForValidApp(this.step.getApplicationName());
 
-						if (changesetState.equals("open") || changesetState.equals("commit_failed")
-								|| changesetState.equals("blocked") || changesetState.equals("committed")) {
-							return retryStatus;
-						} else {
-							GenericUtils.printConsoleLog(listener,
-									"snDevOpsConfigGetSnapshots - Waiting for changeset to get committed");
-							retryStatus = RETRY;
-							return retryStatus;
-						}
-					};
-					pollWithCallable(listener, callable, model);
+		JSONArray appResult = appDetails.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
+		if (appResult.size() == 0) {
+			GenericUtils.printConsoleLog(listener,
+					"snDevOpsConfigGetSnapshots - Failed to find application with given name");
+			throw new AbortException("Failed to find application with given name");
+		}
+		String appSysId = appResult.getJSONObject(0).getString("sys_id");
+		if (appSysId == null) {
+			GenericUtils.printConsoleLog(listener,
+					"snDevOpsConfigGetSnapshots - Failed to find application with given name");
+			throw new AbortException("Failed to find application with given name");
+		}
+		if (StringUtils.isEmpty(this.step.getChangesetNumber()))
+			return querySnapshots(appSysId, "");
 
-					JSONObject committedChangeset = model.getChangesetId(this.step.getChangesetNumber());
-					JSONArray changesetDetail = committedChangeset
-							.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
+		// Polling for changeset to commit
+		Callable<String> callable = () -> {
+			String retryStatus = "success";
+			JSONObject changesetDetails = model.getChangesetId(this.step.getChangesetNumber());
+			JSONArray details = changesetDetails
+					.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
+			if (details.size() == 0) {
+				return retryStatus;
+			}
+			JSONObject changesetSysIdObj = details.getJSONObject(0);
+			String changesetState = changesetSysIdObj
+					.getString(DevOpsConstants.COMMON_RESPONSE_STATE.toString());
 
-					if (changesetDetail.size() == 0) {
-						GenericUtils.printConsoleLog(listener,
-								"snDevOpsConfigGetSnapshots - No changeset record found for input parameters");
-						throw new AbortException("No changeset record found for input parameters");
-					}
+			if (changesetState.equals("open") || changesetState.equals("commit_failed")
+					|| changesetState.equals("blocked") || changesetState.equals("committed")) {
+				return retryStatus;
+			} else {
+				GenericUtils.printConsoleLog(listener,
+						"snDevOpsConfigGetSnapshots - Waiting for changeset to get committed");
+				retryStatus = RETRY;
+				return retryStatus;
+			}
+		};
+		return then(pollWithCallable(listener, callable, model),
+				polled -> querySnapshots(appSysId, getCommittedChangesetSysId(model, listener)));
+	}
 
-					JSONObject changesetObj = changesetDetail.getJSONObject(0);
-					String state = changesetObj.getString("state");
-					appName = changesetObj.getString("cdm_application.node.name");
-					changesetSysId = changesetObj.getString("sys_id");
-
-					if (!state.equalsIgnoreCase("committed")) {
-						if (state.equalsIgnoreCase("open")) {
-							GenericUtils.printConsoleLog(listener,
-									"snDevOpsConfigGetSnapshots - ERROR: Unable to return snapshots for an open changeset."
-											+ " Please ensure the changeset is committed before trying to get status of possibly created snapshots");
-							throw new AbortException("snDevOpsConfigGetSnapshots - ERROR: Unable to return snapshots for an open changeset."
-							+ " Please ensure the changeset is committed before trying to get status of possibly created snapshots");
-						} else if (state.equalsIgnoreCase("blocked")) {
-							GenericUtils.printConsoleLog(listener,
-									"snDevOpsConfigGetSnapshots - ERROR: unable to return snapshots since the changeset is currently blocked."
-											+ " Please review the conflict details in DevOps Config and retry upload of your config data");
-	
-							throw new AbortException("snDevOpsConfigGetSnapshots - ERROR: unable to return snapshots since the changeset is currently blocked."
-							+ " Please review the conflict details in DevOps Config and retry upload of your config data");
-						} else if (state.equalsIgnoreCase("commit_failed")) {
-							GenericUtils.printConsoleLog(listener,
-									"snDevOpsConfigGetSnapshots - ERROR: unable to return snapshots since the changeset failed to commit."
-											+ " Please review the details in DevOps Config and retry upload of your configuration data");
-
-							throw new AbortException("snDevOpsConfigGetSnapshots - ERROR: unable to return snapshots since the changeset failed to commit."
-							+ " Please review the details in DevOps Config and retry upload of your configuration data");
-						} else {
-							GenericUtils.printConsoleLog(listener,
-									"snDevOpsConfigGetSnapshots - Changeset provided is not yet commited - State of changeset - "
-											+ state);
-							throw new AbortException("snDevOpsConfigGetSnapshots - Changeset provided is not yet commited - State of changeset - "+ state);
-						}
-					}
+	private String getCommittedChangesetSysId(DevOpsModel model, TaskListener listener)
+			throws IOException, InterruptedException, JSONException, IndexOutOfBoundsException {
+		JSONObject committedChangeset = model.getChangesetId(this.step.getChangesetNumber());
+		JSONArray changesetDetail = committedChangeset
+				.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
 
-					if (!this.step.getApplicationName().equalsIgnoreCase(appName)) {
-						GenericUtils.printConsoleLog(listener,
-								"snDevOpsConfigGetSnapshots - Changeset provided is not associated with application : "
-										+ this.step.getApplicationName());
-						throw new AbortException("Changeset provided is not associated with application");
-					}
-				}
+		if (changesetDetail.size() == 0) {
+			GenericUtils.printConsoleLog(listener,
+					"snDevOpsConfigGetSnapshots - No changeset record found for input parameters");
+			throw new AbortException("No changeset record found for input parameters");
+		}
 
-				List<String> deployableNames = getDeployableNames(model, changesetSysId, listener);
-				noOfDeployablesImpacted = deployableNames.size();
-				if (noOfDeployablesImpacted == 0) {
-					GenericUtils.printConsoleLog(listener,
-							"snDevOpsConfigGetSnapshots - No deployables are impacted. Ignoring polling for snapshot");
-							noDeployablesImpacted = true;
-					throw new AbortException("No deployables are impacted. Ignoring polling for snapshot");
-				}
+		JSONObject changesetObj = changesetDetail.getJSONObject(0);
+		String state = changesetObj.getString("state");
+		String appName = changesetObj.getString("cdm_application.node.name");
+		String changesetSysId = changesetObj.getString("sys_id");
 
-				if (!StringUtils.isEmpty(this.step.getDeployableName())) {
-					if (!deployableNames.contains(this.step.getDeployableName().toLowerCase())) {
-						GenericUtils.printConsoleLog(listener,
-								"snDevOpsConfigGetSnapshots - Deployable provided is not impacted under given changeset. Ignoring polling for snapshot");
-							    noDeployablesImpacted = true;
-						throw new AbortException("Deployable provided is not impacted under given changeset");
-					} else {
-						deployableNames.clear();
-						deployableNames.add(this.step.getDeployableName());
-					}
-				}
+		if (!state.equalsIgnoreCase("committed")) {
+			if (state.equalsIgnoreCase("open")) {
+				GenericUtils.printConsoleLog(listener,
+						"snDevOpsConfigGetSnapshots - ERROR: Unable to return snapshots for an open changeset."
+								+ " Please ensure the changeset is committed before trying to get status of possibly created snapshots");
+				throw new AbortException("snDevOpsConfigGetSnapshots - ERROR: Unable to return snapshots for an open changeset."
+				+ " Please ensure the changeset is committed before trying to get status of possibly created snapshots");
+			} else if (state.equalsIgnoreCase("blocked")) {
+				GenericUtils.printConsoleLog(listener,
+						"snDevOpsConfigGetSnapshots - ERROR: unable to return snapshots since the changeset is currently blocked."
+								+ " Please review the conflict details in DevOps Config and retry upload of your config data");
 
-				if (StringUtils.isEmpty(step.getChangesetNumber())) {
-					result = processSnapshotsByPollingValidationStatus(appSysId, deployableNames,
-							listener);
-				} else {
-					result = processSnapshotsByPollingCreationAndValidationStatus(appSysId,
-							deployableNames, step.getChangesetNumber());
-				}
-				run.setResult(Result.SUCCESS);
+				throw new AbortException("snDevOpsConfigGetSnapshots - ERROR: unable to return snapshots since the changeset is currently blocked."
+				+ " Please review the conflict details in DevOps Config and retry upload of your config data");
+			} else if (state.equalsIgnoreCase("commit_failed")) {
+				GenericUtils.printConsoleLog(listener,
+						"snDevOpsConfigGetSnapshots - ERROR: unable to return snapshots since the changeset failed to commit."
+								+ " Please review the details in DevOps Config and retry upload of your configuration data");
+
+				throw new AbortException("snDevOpsConfigGetSnapshots - ERROR: unable to return snapshots since the changeset failed to commit."
+				+ " Please review the details in DevOps Config and retry upload of your configuration data");
 			} else {
-				if (!jobProperties.isIgnoreSNErrors() || this.step.getMarkFailed()) {
-					run.setResult(Result.FAILURE);
-					throw new AbortException("snDevOpsConfigGetSnapshots  - Missing parameters.");
-				} else {
-					GenericUtils.printConsoleLog(listener,
-							"snDevOpsConfigGetSnapshots - Validation of step inputs failed");
-				}
+				GenericUtils.printConsoleLog(listener,
+						"snDevOpsConfigGetSnapshots - Changeset provided is not yet commited - State of changeset - "
+								+ state);
+				throw new AbortException("snDevOpsConfigGetSnapshots - Changeset provided is not yet commited - State of changeset - "+ state);
+			}
+		}
+
+		if (!this.step.getApplicationName().equalsIgnoreCase(appName)) {
+			GenericUtils.printConsoleLog(listener,
+					"snDevOpsConfigGetSnapshots - Changeset provided is not associated with application : "
+							+ this.step.getApplicationName());
+			throw new AbortException("Changeset provided is not associated with application");
+		}
+		return changesetSysId;
+	}
+
+	private CompletableFuture<List<CDMSnapshot>> querySnapshots(String appSysId, String changesetSysId)
+			throws IOException, InterruptedException, JSONException, IndexOutOfBoundsException {
+		TaskListener listener = getContext().get(TaskListener.class);
+		DevOpsModel model = new DevOpsModel();
+
+		List<String> deployableNames = getDeployableNames(model, changesetSysId, listener);
+		noOfDeployablesImpacted = deployableNames.size();
+		if (noOfDeployablesImpacted == 0) {
+			GenericUtils.printConsoleLog(listener,
+					"snDevOpsConfigGetSnapshots - No deployables are impacted. Ignoring polling for snapshot");
+					noDeployablesImpacted = true;
+			throw new AbortException("No deployables are impacted. Ignoring polling for snapshot");
+		}
+
+		if (!StringUtils.isEmpty(this.step.getDeployableName())) {
+			if (!deployableNames.contains(this.step.getDeployableName().toLowerCase())) {
+				GenericUtils.printConsoleLog(listener,
+						"snDevOpsConfigGetSnapshots - Deployable provided is not impacted under given changeset. Ignoring polling for snapshot");
+					    noDeployablesImpacted = true;
+				throw new AbortException("Deployable provided is not impacted under given changeset");
+			} else {
+				deployableNames.clear();
+				deployableNames.add(this.step.getDeployableName());
+			}
+		}
+
+		if (StringUtils.isEmpty(step.getChangesetNumber())) {
+			return processSnapshotsByPollingValidationStatus(appSysId, deployableNames,
+					listener);
+		} else {
+			return processSnapshotsByPollingCreationAndValidationStatus(appSysId,
+					deployableNames, step.getChangesetNumber());
+		}
+	}
+
+	private void finish(List<CDMSnapshot> snapshots, Throwable error) throws Exception {
+		Run<?, ?> run = getContext().get(Run.class);
+		TaskListener listener = getContext().get(TaskListener.class);
+		FilePath workspace = getContext().get(FilePath.class);
+		EnvVars envVars = getContext().get(EnvVars.class);
+		DevOpsModel model = new DevOpsModel();
+		DevOpsJobProperty jobProperties = model.getJobProperty(run.getParent());
+		List<CDMSnapshot> result = snapshots != null ? snapshots : new ArrayList<>();
+
+		if (error == null) {
+			if (snapshots != null)
+				run.setResult(Result.SUCCESS);
+		} else {
+			Throwable e = unwrap(error);
+			if (!(e instanceof IOException || e instanceof InterruptedException || e instanceof JSONException
+					|| e instanceof IndexOutOfBoundsException || e instanceof ParserConfigurationException
+					|| e instanceof TransformerException)) {
+				fail(e);
+				return;
 			}
-		} catch (IOException | InterruptedException | JSONException | IndexOutOfBoundsException
-				| ParserConfigurationException | TransformerException e) {
 			if(!noDeployablesImpacted) {
 				if ((e instanceof AbortException) && (!jobProperties.isIgnoreSNErrors() || this.step.getMarkFailed())) {
 					run.setResult(Result.FAILURE);
-					throw e;
+					fail(e);
+					return;
 				}
 				GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots - Exception in run method");
 			}
@@ -237,7 +264,8 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 				else
 					GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots - No snapshot was generated because the specified deployable was not impacted or"+
 									" the deployable provided was invalid");
-				return mapper.writeValueAsString(result);
+				complete(mapper.writeValueAsString(result));
+				return;
 			}
 		}
 		String resultString = null;
@@ -252,7 +280,7 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 			resultWithValidation = generateTestResults(result, workspace, listener, envVars);
 			resultString = mapper.writeValueAsString(resultWithValidation);
 			GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots -  Result " + resultString);
-			return resultString;
+			complete(resultString);
 		} else {
 			if (!jobProperties.isIgnoreSNErrors() || this.step.getMarkFailed()) {
 				run.setResult(Result.FAILURE);
@@ -260,7 +288,7 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 			}
 			GenericUtils.printConsoleLog(listener,
 					"snDevOpsConfigGetSnapshots  - No snapshot found for input parameters");
-			return mapper.writeValueAsString(result);
+			complete(mapper.writeValueAsString(result));
 		}
 	}
 
@@ -647,7 +675,7 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 
 	}
 
-	public List<CDMSnapshot> processSnapshotsByPollingCreationAndValidationStatus(String appSysId,
+	public CompletableFuture<List<CDMSnapshot>> processSnapshotsByPollingCreationAndValidationStatus(String appSysId,
 			List<String> deployableNames, String changesetNumber)
 			throws IOException, InterruptedException, JSONException, IndexOutOfBoundsException {
 		// poll for snapshot creation first
@@ -655,30 +683,32 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 		TaskListener listener = getContext().get(TaskListener.class);
 
 		GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots - Polling for creation");
-		pollForSnapshotCreation(appSysId, deployableNames, changesetNumber, model);
-		JSONObject snapShotStatus = model.snapShotExists(appSysId, deployableNames, changesetNumber);
-
-		checkErrorInResponse(snapShotStatus,
-				"snDevOpsConfigGetSnapshots - Exception occurred while polling for snapshot creation");
-		JSONArray result = snapShotStatus.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
-		List<CDMSnapshot> snapshotListAfterpoll = getSnapshotList(result);
-
-		if (snapshotListAfterpoll.size() == 0 || snapshotListAfterpoll.size() < deployableNames.size()) {
-			// no polling
-			snapshotListAfterpoll.clear();
-			return snapshotListAfterpoll;
-		}
-		// poll for validation.
-		GenericUtils.printConsoleLog(listener,
-				"snDevOpsConfigGetSnapshots - Polling for validation : " + snapshotListAfterpoll.size());
-		pollForSnapshotValidation(appSysId, deployableNames, snapshotListAfterpoll, model);
-		// querying db again to get latest status of the snapshots.
-		List<CDMSnapshot> snapshotList = new ArrayList<>();
-		getSnapShotListAfterQuery(appSysId, deployableNames, model, snapshotList, changesetNumber, false);
-		return snapshotList;
+		return then(pollForSnapshotCreation(appSysId, deployableNames, changesetNumber, model), created -> {
+			JSONObject snapShotStatus = model.snapShotExists(appSysId, deployableNames, changesetNumber);
+
+			checkErrorInResponse(snapShotStatus,
+					"snDevOpsConfigGetSnapshots - Exception occurred while polling for snapshot creation");
+			JSONArray result = snapShotStatus.getJSONArray(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
+			List<CDMSnapshot> snapshotListAfterpoll = getSnapshotList(result);
+
+			if (snapshotListAfterpoll.size() == 0 || snapshotListAfterpoll.size() < deployableNames.size()) {
+				// no polling
+				snapshotListAfterpoll.clear();
+				return CompletableFuture.completedFuture(snapshotListAfterpoll);
+			}
+			// poll for validation.
+			GenericUtils.printConsoleLog(listener,
+					"snDevOpsConfigGetSnapshots - Polling for validation : " + snapshotListAfterpoll.size());
+			return then(pollForSnapshotValidation(appSysId, deployableNames, snapshotListAfterpoll, model), validated -> {
+				// querying db again to get latest status of the snapshots.
+				List<CDMSnapshot> snapshotList = new ArrayList<>();
+				getSnapShotListAfterQuery(appSysId, deployableNames, model, snapshotList, changesetNumber, false);
+				return CompletableFuture.completedFuture(snapshotList);
+			});
+		});
 	}
 
-	private List<CDMSnapshot> processSnapshotsByPollingValidationStatus(String appSysId,
+	private CompletableFuture<List<CDMSnapshot>> processSnapshotsByPollingValidationStatus(String appSysId,
 			List<String> deployableNames, TaskListener listener)
 			throws IOException, InterruptedException, JSONException, IndexOutOfBoundsException {
 		DevOpsModel devOpsModel = new DevOpsModel();
@@ -689,7 +719,7 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 		getSnapShotListAfterQuery(appSysId, deployableNames, devOpsModel, snapshotList, null, isValidated);
 		// change
 		if (snapshotList.size() == 0) {
-			return snapshotList;
+			return CompletableFuture.completedFuture(snapshotList);
 		}
 
 		if(isValidated) {
@@ -698,11 +728,10 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 				vSnapshot = snapshotList.get(0);
 				snapshotList = new ArrayList<>();
 				snapshotList.add(vSnapshot);
-                return snapshotList;
+                return CompletableFuture.completedFuture(snapshotList);
 			}
 			else {
-				List<CDMSnapshot> latestPassed = getLatestPassedSnapshot(snapshotList, isValidated, appSysId, deployableNames, devOpsModel,listener);
-				return latestPassed;
+				return getLatestPassedSnapshot(snapshotList, isValidated, appSysId, deployableNames, devOpsModel,listener);
 			}	
 		}
 		else {
@@ -715,46 +744,43 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 			// polling
 			if (filteredSnapshots.size() == 0) {
 				// no polling
-				return snapshotList;
+				return CompletableFuture.completedFuture(snapshotList);
 			}
 
-			pollForSnapshotValidation(appSysId, deployableNames, filteredSnapshots, devOpsModel); // poll all snapshots for 15 minutes.
-			// querying db again to get latest status of the snapshots.
-			snapshotList = new ArrayList<>();
-			getSnapShotListAfterQuery(appSysId, deployableNames, devOpsModel, snapshotList, null, isValidated);
-			return snapshotList;
+			// poll all snapshots for 15 minutes.
+			return then(pollForSnapshotValidation(appSysId, deployableNames, filteredSnapshots, devOpsModel), validated -> {
+				// querying db again to get latest status of the snapshots.
+				List<CDMSnapshot> latestSnapshots = new ArrayList<>();
+				getSnapShotListAfterQuery(appSysId, deployableNames, devOpsModel, latestSnapshots, null, isValidated);
+				return CompletableFuture.completedFuture(latestSnapshots);
+			});
 		}
 	}
 
-	private List<CDMSnapshot> getLatestPassedSnapshot(List<CDMSnapshot> snapshotList, boolean isValidated, String appSysId,
+	private CompletableFuture<List<CDMSnapshot>> getLatestPassedSnapshot(List<CDMSnapshot> snapshotList, boolean isValidated, String appSysId,
 			 List<String> deployableNames, DevOpsModel model, TaskListener listener) 
 						throws IOException, InterruptedException, JSONException, IndexOutOfBoundsException {
 		if(snapshotList.size() < 2) 
-			return snapshotList;
-		else {
-				GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots - Fetching the latest validated snapshot");	
-				CDMSnapshot vSnapshot = snapshotList.get(0);
-				snapshotList.remove(1);
-				pollForSnapshotValidation(appSysId, deployableNames, snapshotList, model);
-
-        		snapshotList = new ArrayList<>();
-				getSnapShotListAfterQuery(appSysId, deployableNames, model, snapshotList, null, isValidated);
-        		if(snapshotList.get(0).getValidation().equals("passed") || snapshotList.get(0).getValidation().equals("passed_with_exception")) {
-					if(snapshotList.size() == 2)
-						snapshotList.remove(1);
-            		return snapshotList;
-        		}
-       			 else if(snapshotList.get(0).getValidation().equals("in_progress") || snapshotList.get(0).getValidation().equals("requested")) {
-					if(snapshotList.get(0).getSys_id().equals(vSnapshot.getSys_id())) {
-                		snapshotList = new ArrayList<>();
-						return snapshotList;
-					}
-					else {
-						return getLatestPassedSnapshot(snapshotList, isValidated, appSysId, deployableNames, model, listener);
-					}
-				}
+			return CompletableFuture.completedFuture(snapshotList);
+		GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots - Fetching the latest validated snapshot");	
+		CDMSnapshot vSnapshot = snapshotList.get(0);
+		snapshotList.remove(1);
+		return then(pollForSnapshotValidation(appSysId, deployableNames, snapshotList, model), validated -> {
+			List<CDMSnapshot> latestSnapshots = new ArrayList<>();
+			getSnapShotListAfterQuery(appSysId, deployableNames, model, latestSnapshots, null, isValidated);
+			if(latestSnapshots.get(0).getValidation().equals("passed") || latestSnapshots.get(0).getValidation().equals("passed_with_exception")) {
+				if(latestSnapshots.size() == 2)
+					latestSnapshots.remove(1);
+				return CompletableFuture.completedFuture(latestSnapshots);
 			}
-		return snapshotList;
+			else if(latestSnapshots.get(0).getValidation().equals("in_progress") || latestSnapshots.get(0).getValidation().equals("requested")) {
+				if(latestSnapshots.get(0).getSys_id().equals(vSnapshot.getSys_id()))
+					return CompletableFuture.completedFuture(new ArrayList<>());
+				else
+					return getLatestPassedSnapshot(latestSnapshots, isValidated, appSysId, deployableNames, model, listener);
+			}
+			return CompletableFuture.completedFuture(latestSnapshots);
+		});
 	}
 
 	private void getSnapShotListAfterQuery(String appSysId, List<String> deployableNames,
@@ -799,7 +825,7 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 		});
 	}
 
-	public void pollForSnapshotCreation(String appSysId, List<String> deployableNames, String changesetNumber,
+	public CompletableFuture<Void> pollForSnapshotCreation(String appSysId, List<String> deployableNames, String changesetNumber,
 			DevOpsModel model) throws IOException, InterruptedException, JSONException, IndexOutOfBoundsException {
 		TaskListener listener = getContext().get(TaskListener.class);
 		final List<CDMSnapshot> snapshotListAfterpoll = new ArrayList<CDMSnapshot>();
@@ -824,10 +850,10 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 				return retryStatus;
 			}
 		};
-		pollWithCallable(listener, callable, model);
+		return pollWithCallable(listener, callable, model);
 	}
 
-	private void pollForSnapshotValidation(String appSysId, List<String> deployableNames, List<CDMSnapshot> filteredSnapshots, DevOpsModel model)
+	private CompletableFuture<Void> pollForSnapshotValidation(String appSysId, List<String> deployableNames, List<CDMSnapshot> filteredSnapshots, DevOpsModel model)
 			throws IOException, InterruptedException, JSONException, IndexOutOfBoundsException {
 		TaskListener listener = getContext().get(TaskListener.class);
 		Callable<String> callable = () -> {
@@ -853,35 +879,65 @@ public class DevOpsConfigGetSnapshotsStepExecution extends SynchronousNonBlockin
 			}
 			return retryStatus;
 		};
-		pollWithCallable(listener, callable, model);
+		return pollWithCallable(listener, callable, model);
 	}
 
-	private void pollWithCallable(TaskListener listener, Callable<String> callable, DevOpsModel model)
-			throws AbortException {
-		// total 15 mins retry
+	// total 15 mins retry, each try is scheduled on the shared scheduler rather than slept on
+	private CompletableFuture<Void> pollWithCallable(TaskListener listener, Callable<String> callable, DevOpsModel model) {
+		CompletableFuture<Void> polled = new CompletableFuture<>();
+		tryPoll(listener, callable, model, polled, 1);
+		return polled;
+	}
+
+	private void tryPoll(TaskListener listener, Callable<String> callable, DevOpsModel model,
+			CompletableFuture<Void> polled, int tryNumber) {
+		String retryStatus;
 		try {
-			RetryConfig config = new RetryConfigBuilder().retryOnSpecificExceptions(ConnectException.class)
-					.retryOnReturnValue(RETRY).withDelayBetweenTries(Duration.ofMillis(durationBetweenRetries))
-					.withFibonacciBackoff().withMaxNumberOfTries(maxNumberOfRetries).build();
-			new CallExecutorBuilder<String>().config(config).onSuccessListener(s -> {
-				GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots Poll Success ");
-			}).build().execute(callable);
-		} catch (RetriesExhaustedException e) {
+			retryStatus = callable.call();
+		} catch (ConnectException e) {
+			retryStatus = RETRY;
+		} catch (Exception e) {
+			polled.completeExceptionally(e);
+			return;
+		}
+		if (!RETRY.equals(retryStatus)) {
+			GenericUtils.printConsoleLog(listener, "snDevOpsConfigGetSnapshots Poll Success ");
+			polled.complete(null);
+			return;
+		}
+		if (tryNumber >= maxNumberOfRetries) {
+			String message = "Call retries exhausted after " + tryNumber + " tries";
 			try {
 				Run<?, ?> run = getContext().get(Run.class);
-				;
 				DevOpsJobProperty jobProperties = model.getJobProperty(run.getParent());
 				if (jobProperties.isIgnoreSNErrors() && !this.step.getMarkFailed()) {
 					GenericUtils.printConsoleLog(listener,
-							"snDevOpsConfigGetSnapshots - Retry exhausted  " + e.getMessage());
+							"snDevOpsConfigGetSnapshots - Retry exhausted  " + message);
 				} else {
-					throw new AbortException(e.getMessage());
+					polled.completeExceptionally(new AbortException(message));
+					return;
 				}
 			} catch (InterruptedException | IOException io) {
 				GenericUtils.printConsoleLog(listener,
-						"snDevOpsConfigGetSnapshots - Exception in pollWithCallable " + e.getMessage());
+						"snDevOpsConfigGetSnapshots - Exception in pollWithCallable " + message);
 			}
+			polled.complete(null);
+			return;
+		}
+		// fibonacci backoff
+		schedule(() -> tryPoll(listener, callable, model, polled, tryNumber + 1),
+				durationBetweenRetries * fibonacci(tryNumber));
+	}
+
+	private static long fibonacci(int n) {
+		long previous = 0;
+		long current = 1;
+		for (int i = 1; i < n; i++) {
+			long next = previous + current;
+			previous = current;
+			current = next;
 		}
+		return current;
 	}
 
 	private List<CDMSnapshot> getSnapshotList(JSONArray result) throws IOException {
@@ -8,21 +8,25 @@ import hudson.model.Run;
 
 import java.io.IOException;
 
-import java.nio.file.FileSystems;
 import java.nio.file.Path;
-import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 import io.jenkins.plugins.config.DevOpsJobProperty;
 
 import org.jenkinsci.plugins.workflow.steps.StepContext;
-import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
 
 import hudson.FilePath;
 import hudson.model.TaskListener;
+import io.jenkins.plugins.model.DevOpsConfigFileCallable;
+import io.jenkins.plugins.model.DevOpsConfigUploadEngine;
+import io.jenkins.plugins.model.DevOpsConfigUploadManifest;
 import io.jenkins.plugins.model.DevOpsModel;
 import io.jenkins.plugins.pipeline.steps.DevOpsConfigUploadStep;
 import io.jenkins.plugins.utils.GenericUtils;
@@ -30,15 +34,19 @@ import net.sf.json.JSONException;
 import net.sf.json.JSONObject;
 import io.jenkins.plugins.utils.DevOpsConstants;
 
-public class DevOpsConfigUploadStepExecution extends SynchronousNonBlockingStepExecution<String> {
+public class DevOpsConfigUploadStepExecution extends DevOpsAsyncStepExecution<String> {
 
 	private static final long serialVersionUID = 1L;
 	private static final int MAX_DEPTH_COUNT = 10;
 
 	private DevOpsConfigUploadStep step;
-
-	private int retryFrequency = 220;
-	private int maxRetryCount = 20;
+	// kept across a controller restart once the files are being uploaded
+	private String changesetNumber;
+	// replaced rather than changed, the engine works on copies of the files
+	private volatile List<DevOpsConfigUploadEngine.FileUpload> uploads;
+	// name path -> digest of every file found
+	private Map<String, String> digests;
+	private transient DevOpsConfigUploadEngine engine;
 
 	public DevOpsConfigUploadStepExecution(StepContext context, DevOpsConfigUploadStep step) {
 		super(context);
@@ -46,7 +54,7 @@ public class DevOpsConfigUploadStepExecution extends SynchronousNonBlockingStepE
 	}
 //Jenkins step for uploading configuration data
 	@Override
-	protected String run() throws Exception {
+	protected void begin() throws Exception {
 
 		TaskListener listener = getContext().get(TaskListener.class);
 		FilePath workspace = getContext().get(FilePath.class);
@@ -57,45 +65,81 @@ public class DevOpsConfigUploadStepExecution extends SynchronousNonBlockingStepE
 
 //Checking if mandatory params are missing.
 		if (this.step.getConfigFile() == null || this.step.getConfigFile().isEmpty()) {
-			return handleException("File regex cannot be empty. Upload failed");
+			complete(handleException("File regex cannot be empty. Upload failed"));
+			return;
 		}
 
 		if (this.step.getTarget() == null || this.step.getTarget().isEmpty()) {
-			return handleException("Target cannot be empty. Upload failed");
+			complete(handleException("Target cannot be empty. Upload failed"));
+			return;
 		}
 
 		if (this.step.getDataFormat() == null || this.step.getDataFormat().isEmpty()) {
-			return handleException("Data format is empty. Upload failed");
+			complete(handleException("Data format is empty. Upload failed"));
+			return;
 		}
 
 //Fetching files from regex pattern
 
 		try {
 			listener.getLogger().println("Looking for file : " + step.getConfigFile());
-			List<FilePath> allFilesInWorkspace = null;
+			List<DevOpsConfigFileCallable.ConfigFile> filteredList = null;
 			try {
-				allFilesInWorkspace = this.walkFilePaths(workspace, MAX_DEPTH_COUNT);
+				filteredList = workspace.act(new DevOpsConfigFileCallable(this.step.getConfigFile(),
+						this.step.getExcludeConfigFile(), MAX_DEPTH_COUNT));
 			} catch (IOException | InterruptedException e) {
-				return handleException("Error occured while fetching the files");
+				complete(handleException("Error occured while fetching the files"));
+				return;
 			}
 
-			if (allFilesInWorkspace.isEmpty())
-				return handleException("No files found inside workspace");
+			if (filteredList.size() < 1) {
+				complete(handleException("No files found for given regex"));
+				return;
+			}
 
-			final PathMatcher maskMatcher = FileSystems.getDefault()
-					.getPathMatcher("glob:" + this.step.getConfigFile());
-			List<FilePath> filteredList = allFilesInWorkspace.stream().filter(c -> {
+//Preparing the files, the upload engine streams their content.
+			List<DevOpsConfigUploadEngine.FileUpload> uploads = new ArrayList<>();
+			Map<String, String> digests = new LinkedHashMap<>();
+			Set<String> duplicateNamePaths = new HashSet<>();
+			for (DevOpsConfigFileCallable.ConfigFile fileToUpload : filteredList) {
 
-				Path fileRelativePath = Paths.get(c.getRemote().replace(workspace.getRemote() + "/", ""));
-				if (maskMatcher.matches(fileRelativePath)) {
-					return true;
+				// Setting namePath
+				Path relativePath = Paths.get(fileToUpload.getPath());
+				String modifiedNamePath = "";
+				if (this.step.getConvertPath()) {
+					modifiedNamePath = this.step.getNamePath() + File.separator + relativePath.toString();
+				} else {
+					File f = new File(relativePath.toString());
+					String absoulteName = f.getName();
+					modifiedNamePath = this.step.getNamePath() + File.separator + absoulteName;
 				}
-				return false;
+				uploads.add(new DevOpsConfigUploadEngine.FileUpload(workspace.child(fileToUpload.getPath()),
+						relativePath.toString(), modifiedNamePath));
+				if (digests.put(modifiedNamePath, fileToUpload.getContentDigest()) != null)
+					duplicateNamePaths.add(modifiedNamePath);
+			}
 
-			}).collect(Collectors.toList());
+//Skipping the files uploaded unchanged before, if asked to.
+			if (this.step.getSkipUnchanged()) {
+				DevOpsConfigUploadManifest manifest = loadManifest();
+				// files sharing a name path overwrite each other, the engine uploads them in list order
+				uploads.removeIf(file -> !duplicateNamePaths.contains(file.getNamePath())
+						&& manifest.isUnchanged(file.getNamePath(), digests.get(file.getNamePath())));
 
-			if (filteredList.size() < 1) {
-				return handleException("No files found for given regex");
+				List<String> removed = manifest.getRemoved(digests);
+				GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
+						+ " - " + uploads.size() + " of " + filteredList.size()
+						+ " files changed since the last upload" + (removed.isEmpty() ? ""
+								: ", no longer found : " + String.join(", ", removed)));
+				if (uploads.isEmpty()) {
+					if (!removed.isEmpty())
+						manifest.record(digests, Collections.<String>emptyList(), manifest.getLastChangesetId());
+					GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
+							+ " - No configuration changes, files are up to date in changeset : "
+							+ manifest.getLastChangesetId());
+					complete(manifest.getLastChangesetId());
+					return;
+				}
 			}
 
 //Checks for Changeset Number,if not provided, create a new one.
@@ -105,12 +149,14 @@ public class DevOpsConfigUploadStepExecution extends SynchronousNonBlockingStepE
 				try {
 					changesetResponse = model.createChangeset(this.step.getApplicationName().trim(), listener);
 				} catch (Exception e) {
-					return handleException(
-							"Creation of changeset failed due to : " + e.getMessage() + " - Upload failed");
+					complete(handleException(
+							"Creation of changeset failed due to : " + e.getMessage() + " - Upload failed"));
+					return;
 				}
 
 				if (changesetResponse == null) {
-					return handleException("Failed to create changeset. Upload failed");
+					complete(handleException("Failed to create changeset. Upload failed"));
+					return;
 				}
 
 				if (this.step.getShowResults())
@@ -127,11 +173,13 @@ public class DevOpsConfigUploadStepExecution extends SynchronousNonBlockingStepE
 						JSONObject error = changesetResponse
 								.getJSONObject(DevOpsConstants.COMMON_RESULT_ERROR.toString());
 						String errorMessage = error.getString(DevOpsConstants.COMMON_RESPONSE_MESSAGE.toString());
-						return handleException(errorMessage);
+						complete(handleException(errorMessage));
+						return;
 					}
 				} catch (JSONException j) {
-					return handleException(
-							"Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
+					complete(handleException(
+							"Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+					return;
 				}
 
 				GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
@@ -142,166 +190,94 @@ public class DevOpsConfigUploadStepExecution extends SynchronousNonBlockingStepE
 			GenericUtils.printConsoleLog(listener,
 					DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString() + " - Initiating the upload");
 
-//Reading File content.
-			boolean commitFlag = false;
-			String changesetId = "";
-			JSONObject responseStatus = null;
-			String transactionSource = "system_information=jenkins,interface_type="+step.getTarget()+",interface="+step.getAutoValidate()+",interface_version="+step.getDataFormat()+",session_type="+step.getAutoCommit();
-			
-			for (FilePath fileToUpload : filteredList) {
-
-				String fileContent = fileToUpload.readToString();
-
-				// Setting namePath
-				Path relativePath = Paths.get(fileToUpload.getRemote().replace(workspace.getRemote() + "/", ""));
-				String modifiedNamePath = "";
-				if (this.step.getConvertPath()) {
-					modifiedNamePath = this.step.getNamePath() + File.separator + relativePath.toString();
-				} else {
-					File f = new File(relativePath.toString());
-					String absoulteName = f.getName();
-					modifiedNamePath = this.step.getNamePath() + File.separator + absoulteName;
-				}
-
-				if (filteredList.indexOf(fileToUpload) == filteredList.size() - 1) {
-					commitFlag = this.step.getAutoCommit();
-				}
-
-				JSONObject uploadRequest = null;
-				try {
-					uploadRequest = model.uploadData(this.step.getApplicationName().trim(), changesetNumber,
-							this.step.getDataFormat().toLowerCase(), modifiedNamePath, commitFlag,
-							this.step.getAutoValidate(), fileContent, this.step.getTarget(),
-							this.step.getDeployableName(), this.step.getCollectionName(), transactionSource);
-				} catch (Exception e) {
-					return handleException("Failed to upload file due to : " + e.getMessage() + " - Upload failed");
-				}
-
-				if (uploadRequest == null) {
-					return handleException("Invalid target Type : Upload failed");
-				}
+			this.changesetNumber = changesetNumber;
+			this.digests = digests;
+			this.uploads = uploads;
+			saveState();
+			upload();
+		} catch (IllegalArgumentException | UnsupportedOperationException e) {
+			complete(handleException("Failed to read regex pattern - Upload failed"));
+		}
+	}
 
-				if (this.step.getShowResults())
-					GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
-							+ " - Response from upload request api for file " + relativePath + " : " + uploadRequest);
-
-				String errorMessage = "";
-				if (uploadRequest.containsKey(DevOpsConstants.COMMON_RESULT_ERROR.toString())) {
-					try {
-						JSONObject error = uploadRequest.getJSONObject(DevOpsConstants.COMMON_RESULT_ERROR.toString());
-						errorMessage = error.getString(DevOpsConstants.COMMON_RESPONSE_MESSAGE.toString());
-					} catch (JSONException j) {
-						return handleException(
-								"Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
-					}
-					return handleException("Upload failed : " + errorMessage);
-				}
+	@Override
+	protected void resume() throws Exception {
+		if (this.uploads == null || this.changesetNumber == null) {
+			begin();
+			return;
+		}
+		GenericUtils.printConsoleLog(getContext().get(TaskListener.class),
+				DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
+						+ " - Resuming the upload under the changeset : " + this.changesetNumber);
+		upload();
+	}
 
-				String uploadId = "";
-				try {
-					JSONObject result = uploadRequest.getJSONObject(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
-					uploadId = result.getString(DevOpsConstants.CONFIG_UPLOAD_ID.toString());
-				} catch (JSONException j) {
-					return handleException(
-							"Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
-				}
+	@Override
+	protected void onStop() {
+		DevOpsConfigUploadEngine running = this.engine;
+		if (running != null)
+			running.cancel();
+	}
 
-				GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
-						+ " - Polling for upload status of the file - " + relativePath);
-
-				int retryCount = 0;
-				String state = "";
-				JSONObject response = null;
-
-				// Checking for upload status
-				while (retryCount <= maxRetryCount) {
-					retryCount++;
-					try {
-						response = model.checkStatusForUpload(uploadId);
-					} catch (Exception e) {
-						return handleException(
-								"Failed to fetch upload status due to : " + e.getMessage() + " - Upload failed");
-					}
+	// status checks run on the shared scheduler, no thread waits on ServiceNow
+	private void upload() throws Exception {
+		TaskListener listener = getContext().get(TaskListener.class);
+		DevOpsModel model = new DevOpsModel();
+		String transactionSource = "system_information=jenkins,interface_type="+step.getTarget()+",interface="+step.getAutoValidate()+",interface_version="+step.getDataFormat()+",session_type="+step.getAutoCommit();
+
+		final String uploadChangesetNumber = this.changesetNumber;
+		this.engine = new DevOpsConfigUploadEngine(model,
+				(file, content, contentEncoding, commit) -> model.requestUpload(this.step.getApplicationName().trim(),
+						uploadChangesetNumber, this.step.getDataFormat().toLowerCase(), file.getNamePath(), commit,
+						this.step.getAutoValidate(), content, contentEncoding, this.step.getTarget(),
+						this.step.getDeployableName(), this.step.getCollectionName(), transactionSource),
+				listener, this.step.getUploadConcurrency(), this.step.getShowResults());
+
+		this.engine.start(this.uploads, this.step.getAutoCommit(), this::progressed)
+				.whenComplete((responseStatus, error) -> submit(() -> finishUpload(responseStatus, error)));
+	}
 
-					try {
-						responseStatus = response.getJSONObject(DevOpsConstants.COMMON_RESPONSE_RESULT.toString());
-						state = responseStatus.getString(DevOpsConstants.COMMON_RESPONSE_STATE.toString());
-					} catch (JSONException j) {
-						return handleException(
-								"Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
-					}
+	// keeps the copy handed over by the engine and persists it, so a restart only polls the files sent
+	private synchronized void progressed(int index, DevOpsConfigUploadEngine.FileUpload file) {
+		List<DevOpsConfigUploadEngine.FileUpload> progress = new ArrayList<>(this.uploads);
+		progress.set(index, file);
+		this.uploads = progress;
+		saveState();
+	}
 
-					if (state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_NEW.toString())
-							|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_IN_PROGRESS.toString())
-							|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_READY.toString())
-							|| state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_INITIALIZING.toString())) {
-						if (retryCount % 2 == 0) {
-							GenericUtils.printConsoleLog(listener,
-									DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
-											+ " - Waiting for response - Retried  " + retryCount + " times");
-							retryFrequency *= 2;
-						}
-						try {
-							Thread.sleep(retryFrequency);
-						} catch (InterruptedException i) {
-							GenericUtils.printConsoleLog(listener,
-									DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
-											+ " - Exception while fetching upload status");
-							continue;
-						}
-					} else
-						break;
-				}
-				if (this.step.getShowResults())
-					GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
-							+ " - Response from upload status api for file " + relativePath + " : " + response);
-				try {
-					String output = "";
-					if (responseStatus != null
-							&& !(state.equalsIgnoreCase(DevOpsConstants.COMMON_RESPONSE_COMPLETED.toString()))) {
-						output = responseStatus.getString(DevOpsConstants.COMMON_RESPONSE_OUTPUT.toString());
-						return handleException("Upload failed due to : " + output);
-					}
-				} catch (JSONException j) {
-					return handleException(
-							"Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
-				}
-				//resetting retryFrequency for the next file upload
-                this.retryFrequency = 220;
-			}
-			try {
-				if (responseStatus != null)
-					changesetId = (responseStatus.getJSONObject(DevOpsConstants.COMMON_RESPONSE_OUTPUT.toString()))
-							.getString(DevOpsConstants.COMMON_RESPONSE_NUMBER.toString());
-			} catch (JSONException j) {
-				return handleException("Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString());
-			}
+	private void finishUpload(JSONObject responseStatus, Throwable error) throws Exception {
+		if (error != null) {
+			complete(handleException(unwrap(error).getMessage()));
+			return;
+		}
+		String changesetId = "";
+		try {
+			if (responseStatus != null)
+				changesetId = (responseStatus.getJSONObject(DevOpsConstants.COMMON_RESPONSE_OUTPUT.toString()))
+						.getString(DevOpsConstants.COMMON_RESPONSE_NUMBER.toString());
+		} catch (JSONException j) {
+			complete(handleException("Upload step failed : " + DevOpsConstants.FAILURE_REASON_CONN_ISSUE.toString()));
+			return;
+		}
 
-			GenericUtils.printConsoleLog(listener, DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
-					+ " - Files got uploaded under the changeset : " + changesetId);
-			return changesetId;
-		} catch (IllegalArgumentException | UnsupportedOperationException e) {
-			return handleException("Failed to read regex pattern - Upload failed");
+		if (this.step.getSkipUnchanged() && this.step.getAutoCommit() && GenericUtils.isNotEmpty(changesetId)) {
+			List<String> uploadedNamePaths = new ArrayList<>();
+			for (DevOpsConfigUploadEngine.FileUpload upload : this.uploads)
+				uploadedNamePaths.add(upload.getNamePath());
+			loadManifest().record(this.digests, uploadedNamePaths, changesetId);
 		}
+
+		GenericUtils.printConsoleLog(getContext().get(TaskListener.class),
+				DevOpsConstants.CONFIG_UPLOAD_STEP_FUNCTION_NAME.toString()
+						+ " - Files got uploaded under the changeset : " + changesetId);
+		complete(changesetId);
 	}
 
-	private List<FilePath> walkFilePaths(FilePath filePath, int nMaxDepth) throws IOException, InterruptedException {
-		List<FilePath> fileList = new ArrayList<>();
-		filePath.list().stream().forEach(c -> {
-			try {
-				if (c.isDirectory() == true && nMaxDepth > 0) {
-					List<FilePath> paths = this.walkFilePaths(c, nMaxDepth - 1);
-					fileList.addAll(paths);
-				} else {
-					fileList.add(c);
-				}
-			} catch (IOException e) {
-				e.printStackTrace();
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-		});
-		return fileList;
+	private DevOpsConfigUploadManifest loadManifest() throws Exception {
+		Run<?, ?> run = getContext().get(Run.class);
+		return DevOpsConfigUploadManifest.load(run.getParent(), this.step.getApplicationName().trim(),
+				this.step.getTarget(), this.step.getDeployableName(), this.step.getCollectionName(),
+				this.step.getDataFormat().toLowerCase());
 	}
 
 	private String handleException(String exceptionMessage) throws Exception {
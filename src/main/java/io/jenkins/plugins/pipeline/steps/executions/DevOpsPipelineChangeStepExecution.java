@@ -37,13 +37,16 @@ public class DevOpsPipelineChangeStepExecution extends AbstractStepExecutionImpl
 	private String callbackUrl;
 	private String token;
 	private DevOpsPipelineChangeStep step;
-	private transient Thread pollingThread;
+	private transient DevOpsChangePollingModel.ChangePoller poller;
+	// set once the step is stopped, a resume still waiting in the coordinator then does nothing
+	private transient volatile boolean stopped;
 	public void stopPollingThread() {
-		if(this.pollingThread != null && this.pollingThread.isAlive())
-			this.pollingThread.interrupt();
+		DevOpsChangePollingModel.ChangePoller current = this.poller;
+		if(current != null)
+			current.cancel();
 	}
-	public void setPollingThread(Thread pollingThread) {
-		this.pollingThread = pollingThread;
+	public void setPoller(DevOpsChangePollingModel.ChangePoller poller) {
+		this.poller = poller;
 	}
 
 	public DevOpsPipelineChangeStepExecution(StepContext context, DevOpsPipelineChangeStep step) {
@@ -174,6 +177,7 @@ public class DevOpsPipelineChangeStepExecution extends AbstractStepExecutionImpl
 
 	@Override
 	public void stop(Throwable cause) throws Exception {
+		stopped = true;
 		DevOpsRootAction.deregisterPipelineWebhook(this);
 		getContext().onFailure(cause);
 		stopPollingThread();
@@ -181,7 +185,6 @@ public class DevOpsPipelineChangeStepExecution extends AbstractStepExecutionImpl
 
 	@Override
 	public void onResume() {
-		DevOpsModel model = new DevOpsModel();
 		Run<?, ?> run = null;
 
 		EnvVars vars = null;
@@ -200,13 +203,6 @@ public class DevOpsPipelineChangeStepExecution extends AbstractStepExecutionImpl
 				DevOpsRunStatusAction action = run.getAction(DevOpsRunStatusAction.class);
 				if (action != null)
 					graph = action.getPipelineGraph();
-				DevOpsModel.DevOpsPipelineInfo pipelineInfo = model.checkIsTracking(run.getParent(), run.getId(),
-						vars.get("BRANCH_NAME"));
-				if (pipelineInfo != null) {
-					model.addToPipelineInfoCache(run.getParent().getFullName(), run.getId(), pipelineInfo);
-					if (pipelineInfo.isTrack())
-						model.addToTrackingCache(run.getParent().getFullName(), run.getId(), pipelineInfo);
-				}
 				// Also need to re attach the GraphListener to the run, so we can get the
 				// failure event
 				FlowExecution ex = ((WorkflowRun) run).getExecution();
@@ -221,6 +217,35 @@ public class DevOpsPipelineChangeStepExecution extends AbstractStepExecutionImpl
 					new String[]{e.getMessage()}, Level.SEVERE);
 		}
 		super.onResume();
+		// every parked change step resumes at once after a restart, pace their ServiceNow calls
+		final Run<?, ?> resumedRun = run;
+		final EnvVars resumedVars = vars;
+		final TaskListener resumedListener = listener;
+		final DevOpsPipelineGraph resumedGraph = graph;
+		DevOpsResumeCoordinator.submit(run != null ? run.getExternalizableId() : String.valueOf(token), () -> {
+			if (stopped)
+				return;
+			try {
+				resumeChangeControl(resumedRun, resumedVars, resumedListener, resumedGraph);
+			} catch (RuntimeException e) {
+				printDebug("onResume", new String[]{"RuntimeException"},
+						new String[]{e.toString()}, Level.SEVERE);
+				getContext().onFailure(e);
+			}
+		});
+	}
+
+	private void resumeChangeControl(Run<?, ?> run, EnvVars vars, TaskListener listener, DevOpsPipelineGraph graph) {
+		DevOpsModel model = new DevOpsModel();
+		if (run != null && vars != null) {
+			DevOpsModel.DevOpsPipelineInfo pipelineInfo = model.checkIsTracking(run.getParent(), run.getId(),
+					vars.get("BRANCH_NAME"));
+			if (pipelineInfo != null) {
+				model.addToPipelineInfoCache(run.getParent().getFullName(), run.getId(), pipelineInfo);
+				if (pipelineInfo.isTrack())
+					model.addToTrackingCache(run.getParent().getFullName(), run.getId(), pipelineInfo);
+			}
+		}
 		String currentStageId = getCurrentStageId(getContext(), graph);
 		boolean isChangeStepInProgress = model.isChangeStepInProgress(run, currentStageId);
 		if (isChangeStepInProgress) {
@@ -250,6 +275,11 @@ public class DevOpsPipelineChangeStepExecution extends AbstractStepExecutionImpl
 							new String[]{"Job waiting for change callback"}, Level.FINE);
 					this.log(listener, "[ServiceNow DevOps] Job waiting for change callback");
 					new DevOpsChangePollingModel().launchChangePollingThread(listener, run, run.getParent(), this);
+					// stopped while the callback was checked, undo what stop() could not see
+					if (stopped) {
+						DevOpsRootAction.deregisterPipelineWebhook(this);
+						stopPollingThread();
+					}
 				} else {
 					Job<?, ?> job = run.getParent();
 					if (job != null) {
@@ -1,22 +1,20 @@
 package io.jenkins.plugins.utils;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Level;
 
 import javax.xml.bind.DatatypeConverter;
 
-import hudson.ProxyConfiguration;
+import io.jenkins.plugins.config.DevOpsConfiguration;
 import net.sf.json.JSONObject;
 
 public final class CommUtils {
@@ -24,7 +22,85 @@ public final class CommUtils {
     private static Charset charSet = StandardCharsets.UTF_8;
     private static String defaultContentType = "application/json; charset=" + charSet.name();
     
-    private static int connectTimeout = 5000;
+    private static volatile DevOpsHttpTransport transport;
+    // pool settings the current transport was built with, see getTransport()
+    private static String transportSettings;
+
+    /**
+     * Returns the shared transport, building it from the global configuration on first use.
+     * @return transport
+     */
+    public static DevOpsHttpTransport getTransport() {
+        DevOpsHttpTransport current = transport;
+        if (current != null)
+            return current;
+        synchronized (CommUtils.class) {
+            if (transport == null) {
+                DevOpsConfiguration config = GenericUtils.getDevOpsConfiguration();
+                int poolSize = config.getHttpPoolSize();
+                int idleEviction = config.getHttpIdleEvictionSeconds();
+                int connectTimeout = config.getHttpConnectTimeout();
+                int readTimeout = config.getHttpReadTimeout();
+                transport = new PooledHttpTransport(poolSize, idleEviction, connectTimeout, readTimeout);
+                transportSettings = getSettingsKey(poolSize, idleEviction, connectTimeout, readTimeout);
+            }
+            return transport;
+        }
+    }
+
+    /**
+     * Replaces the shared transport, closing the previous one.
+     * @param newTransport transport to be used by subsequent calls
+     */
+    public static void setTransport(DevOpsHttpTransport newTransport) {
+        DevOpsHttpTransport previous;
+        synchronized (CommUtils.class) {
+            previous = transport;
+            transport = newTransport;
+            transportSettings = null;
+        }
+        closeQuietly(previous);
+    }
+
+    /**
+     * Drops the shared transport if the pool settings changed, so that the next call rebuilds it.
+     * In-flight calls on an unchanged transport are not disturbed.
+     * @param config updated configuration
+     */
+    public static void reconfigureTransport(DevOpsConfiguration config) {
+        String settings = getSettingsKey(config.getHttpPoolSize(), config.getHttpIdleEvictionSeconds(),
+                config.getHttpConnectTimeout(), config.getHttpReadTimeout());
+        DevOpsHttpTransport previous = null;
+        synchronized (CommUtils.class) {
+            if (transport != null && !settings.equals(transportSettings)) {
+                previous = transport;
+                transport = null;
+                transportSettings = null;
+            }
+        }
+        closeQuietly(previous);
+    }
+
+    /**
+     * Closes the shared transport and its pooled connections.
+     */
+    public static void shutdownTransport() {
+        setTransport(null);
+    }
+
+    private static String getSettingsKey(int poolSize, int idleEviction, int connectTimeout, int readTimeout) {
+        return poolSize + ":" + idleEviction + ":" + connectTimeout + ":" + readTimeout;
+    }
+
+    private static void closeQuietly(DevOpsHttpTransport previous) {
+        if (previous == null)
+            return;
+        try {
+            previous.close();
+        } catch (IOException e) {
+            printDebug("closeQuietly", new String[]{"IOException"}, new String[]{e.getMessage()}, Level.WARNING);
+        }
+    }
 
     /**
      * Sends request with given params and returns result from the call.
@@ -131,6 +207,50 @@ public final class CommUtils {
         }
     }
 
+    /**
+     * Sends request and returns the raw status and body, for callers that need to act on the status code.
+     * Does not swallow exceptions.
+     * @param method Rest method
+     * @param urlString Url to be called
+     * @param params QueryParams
+     * @param data FilePayload
+     * @param username UserName for Auth
+     * @param password Password for Auth
+     * @param contentType ContentType Header
+     * @return response
+     * @throws Exception Exception
+     */
+    public static DevOpsHttpTransport.Response callForResponse(String method, String urlString, JSONObject params, String data, String username, String password, String contentType, String transactionSource) throws Exception {
+        if(contentType == null)
+            contentType = CommUtils.defaultContentType;
+        printDebug("callForResponse", new String[]{"method","urlString"}, new String[]{method,urlString}, Level.FINE);
+        return _execute(urlString, params, data, username, password, method, contentType, transactionSource);
+    }
+
+    /**
+     * Sends request streaming the payload with chunked transfer encoding and returns the raw status and body.
+     * Does not swallow exceptions.
+     * @param method Rest method
+     * @param urlString Url to be called
+     * @param params QueryParams
+     * @param body Payload, written while the request is sent
+     * @param username UserName for Auth
+     * @param password Password for Auth
+     * @param contentType ContentType Header
+     * @param contentEncoding ContentEncoding Header, null if the payload is not encoded
+     * @return response
+     * @throws Exception Exception
+     */
+    public static DevOpsHttpTransport.Response callForStreamingResponse(String method, String urlString, JSONObject params, DevOpsHttpTransport.Body body, String username, String password, String contentType, String contentEncoding, String transactionSource) throws Exception {
+        if(contentType == null)
+            contentType = CommUtils.defaultContentType;
+        printDebug("callForStreamingResponse", new String[]{"method","urlString","contentEncoding"}, new String[]{method,urlString,contentEncoding}, Level.FINE);
+        String fullUrl = _appendParams(urlString, params);
+        Map<String, String> headers = _headers(fullUrl, username, password, contentType, transactionSource);
+        headers.put("Content-Encoding", contentEncoding);
+        return getTransport().executeStreaming(method, fullUrl, headers, body);
+    }
+
     private static JSONObject getErrorMessage(String message) {
 		JSONObject resultJSON = new JSONObject();
 		resultJSON.put(DevOpsConstants.COMMON_RESULT_FAILURE.toString(), message);
@@ -139,37 +259,31 @@ public final class CommUtils {
     
     
     private static JSONObject _send(String urlString, JSONObject params, String data, String username, String password, String method, String contentType, String transactionSource) throws IOException, MalformedURLException, IllegalArgumentException, Exception {
-    	JSONObject jsonResult = null;
-        URL url = new URL(_appendParams(urlString, params));
+        return _readResponse(_execute(urlString, params, data, username, password, method, contentType, transactionSource));
+    }
+
+    private static DevOpsHttpTransport.Response _execute(String urlString, JSONObject params, String data, String username, String password, String method, String contentType, String transactionSource) throws IOException, MalformedURLException, IllegalArgumentException {
+        String fullUrl = _appendParams(urlString, params);
+        Map<String, String> headers = _headers(fullUrl, username, password, contentType, transactionSource);
+        byte[] body = null;
+        if(method.equals(DevOpsConstants.REST_POST_METHOD.toString()) || method.equals(DevOpsConstants.REST_PUT_METHOD.toString()))
+            body = data != null ? data.getBytes(charSet) : new byte[0];
+        return getTransport().execute(method, fullUrl, headers, body);
+    }
+    
+    private static Map<String, String> _headers(String fullUrl, String username, String password, String contentType, String transactionSource) throws MalformedURLException {
+        URL url = new URL(fullUrl);
         if (!url.getProtocol().startsWith("http")) 
             throw new IllegalArgumentException("Not an http(s) url: " + url);
-        ProxyConfiguration pc = ProxyConfiguration.load();
-        HttpURLConnection conn;
-
-        if (pc != null) 
-            conn = (HttpURLConnection) ProxyConfiguration.open(url);
-        else
-            conn = (HttpURLConnection) url.openConnection();
         byte[] message = (username+":"+password).getBytes(charSet);
         String encoded = DatatypeConverter.printBase64Binary(message);
-        conn.setRequestProperty("Authorization", "Basic "+encoded);
-        conn.setRequestProperty("Content-Type", contentType);
-        conn.setRequestProperty("X-Transaction-Source", transactionSource);
-        conn.setConnectTimeout(connectTimeout);
-        conn.setRequestMethod(method);
-        if(method.equals(DevOpsConstants.REST_POST_METHOD.toString()) || method.equals(DevOpsConstants.REST_PUT_METHOD.toString())){
-        	conn.setDoOutput(true);
-        	OutputStream os = conn.getOutputStream();
-        	try{
-        	    os.write(data.getBytes(charSet));
-            } finally{
-        	    os.close();
-            }
-        }
-        jsonResult = _readResponse(conn);
-        return jsonResult;
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Authorization", "Basic "+encoded);
+        headers.put("Content-Type", contentType);
+        headers.put("X-Transaction-Source", transactionSource);
+        return headers;
     }
-    
+
     private static String _appendParams(String urlString, JSONObject params) {
         printDebug("_appendParams", null, null, Level.FINE);
         if (params != null) {
@@ -194,23 +308,12 @@ public final class CommUtils {
         return urlString;
     }
 
-    private static JSONObject _readResponse(HttpURLConnection conn) throws IOException {
+    private static JSONObject _readResponse(DevOpsHttpTransport.Response response) {
         printDebug("_readResponse", null, null, Level.FINE);
         JSONObject jsonResult = null;
-        InputStream in = null;
-        String result = null;
-        try{
-            // for some SUCCESS cases, the response code is 201 from app-devops. 
-            if (conn.getResponseCode() > 299)  // we may use the condition "conn.getResponseCode != 200" in regular cases.
-                in = conn.getErrorStream();
-            else 
-                in = new BufferedInputStream(conn.getInputStream());
-                result = org.apache.commons.io.IOUtils.toString(in, charSet);
-        } finally {
-            if(in != null)
-                in.close();
-            conn.disconnect();
-        }
+        // for some SUCCESS cases, the response code is 201 from app-devops.
+        // error bodies (status > 299) are parsed the same way as successful ones.
+        String result = response.getBody();
         if (result != null && !result.isEmpty()) 
             jsonResult = JSONObject.fromObject(result);
         if (jsonResult != null)
@@ -217,6 +217,7 @@ public enum DevOpsConstants {
 	TEST_INFO_RESPONSE,
 
 	SERVICENOW_PIPELINE_INFO_FILE_NAME,
+	SERVICENOW_CONFIG_UPLOAD_MANIFEST_FILE_NAME,
 	JOBS_PATH,
 	JOBNAME_ATTR,
 	STAGENAME_ATTR,
@@ -455,6 +456,7 @@ public enum DevOpsConstants {
 			case JOBNAME_ATTR: return "jobName";
 			case STAGENAME_ATTR: return "stageName";
 			case SERVICENOW_PIPELINE_INFO_FILE_NAME: return "snPipelineInfo.json";
+			case SERVICENOW_CONFIG_UPLOAD_MANIFEST_FILE_NAME: return "snConfigUploadManifest.json";
 			case PIPELINE_INFO_UPDATE_IDENTIFIER: return "snupdate";
 			case PIPELINE_INFO_DELETE_IDENTIFIER: return "sndelete";
 
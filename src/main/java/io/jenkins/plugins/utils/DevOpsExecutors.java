@@ -0,0 +1,160 @@
+package io.jenkins.plugins.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import net.sf.json.JSONObject;
+
+/**
+ * Plugin-wide thread pools. Every internal asynchronous hand-off runs on {@link #get()},
+ * timers run on {@link #scheduler()} and should hand longer work over to {@link #get()}.
+ * Both are created lazily and shut down by {@link io.jenkins.plugins.DevOpsPlugin#stop()}.
+ * <p>
+ * A task is never run on the submitting thread: submitters include the CPS VM thread, the
+ * Queue lock holder and the scheduler threads, none of which may wait on ServiceNow. A full
+ * worker queue rejects the task; {@link #execute(Runnable)} retries it later instead.
+ */
+public final class DevOpsExecutors {
+	private DevOpsExecutors() {}
+
+	private static final int WORKER_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+	private static final int WORKER_QUEUE_CAPACITY = 10000;
+	private static final int SCHEDULER_THREADS = 2;
+	private static final long KEEP_ALIVE_SECONDS = 60;
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+	// delay before a task rejected by the full worker queue is offered again
+	private static final long SATURATED_RETRY_MS = 1000;
+	private static final String WORKER_THREAD_PREFIX = "ServiceNow DevOps worker";
+
+	private static ThreadPoolExecutor executor;
+	private static ScheduledThreadPoolExecutor scheduler;
+
+	public static synchronized ExecutorService get() {
+		if (executor == null) {
+			executor = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(WORKER_QUEUE_CAPACITY), new NamedThreadFactory(WORKER_THREAD_PREFIX),
+					(task, pool) -> {
+						throw new RejectedExecutionException(pool.isShutdown()
+								? "ServiceNow DevOps worker pool is shut down"
+								: "ServiceNow DevOps worker queue is full");
+					});
+			executor.allowCoreThreadTimeOut(true);
+		}
+		return executor;
+	}
+
+	/**
+	 * Runs the task on the worker pool. While the worker queue is full the task waits on the
+	 * scheduler and is offered again, it is never run on the calling thread.
+	 * @param task task to run
+	 * @throws RejectedExecutionException if the pools are shut down
+	 */
+	public static void execute(Runnable task) {
+		ExecutorService pool = get();
+		try {
+			pool.execute(task);
+		} catch (RejectedExecutionException e) {
+			if (pool.isShutdown())
+				throw e;
+			printDebug("execute", new String[]{"message"},
+					new String[]{"Worker queue is full, retrying task in " + SATURATED_RETRY_MS + " ms"}, Level.WARNING);
+			scheduler().schedule(() -> {
+				try {
+					execute(task);
+				} catch (RejectedExecutionException shutdown) {
+					printDebug("execute", new String[]{"message"},
+							new String[]{"Dropping deferred task, the worker pool is shut down"}, Level.FINE);
+				}
+			}, SATURATED_RETRY_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Whether the calling thread belongs to the worker pool. Work running there must not
+	 * block waiting on other work queued to the same pool.
+	 */
+	public static boolean isWorkerThread() {
+		return Thread.currentThread().getName().startsWith(WORKER_THREAD_PREFIX);
+	}
+
+	public static synchronized ScheduledExecutorService scheduler() {
+		if (scheduler == null) {
+			scheduler = new ScheduledThreadPoolExecutor(SCHEDULER_THREADS,
+					new NamedThreadFactory("ServiceNow DevOps scheduler"));
+			scheduler.setRemoveOnCancelPolicy(true);
+		}
+		return scheduler;
+	}
+
+	public static void shutdown() {
+		ThreadPoolExecutor currentExecutor;
+		ScheduledThreadPoolExecutor currentScheduler;
+		synchronized (DevOpsExecutors.class) {
+			currentExecutor = executor;
+			currentScheduler = scheduler;
+			executor = null;
+			scheduler = null;
+		}
+		if (currentScheduler != null)
+			currentScheduler.shutdownNow();
+		if (currentExecutor != null) {
+			currentExecutor.shutdown();
+			try {
+				if (!currentExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+					currentExecutor.shutdownNow();
+			} catch (InterruptedException e) {
+				currentExecutor.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Thread-count and queue-depth gauges of the shared pools.
+	 * @return gauges as JSON
+	 */
+	public static synchronized JSONObject getMetrics() {
+		JSONObject metrics = new JSONObject();
+		if (executor != null) {
+			metrics.put("workerPoolSize", executor.getPoolSize());
+			metrics.put("workerActiveThreads", executor.getActiveCount());
+			metrics.put("workerLargestPoolSize", executor.getLargestPoolSize());
+			metrics.put("workerQueueDepth", executor.getQueue().size());
+			metrics.put("workerCompletedTasks", executor.getCompletedTaskCount());
+		}
+		if (scheduler != null) {
+			metrics.put("schedulerActiveThreads", scheduler.getActiveCount());
+			metrics.put("schedulerQueueDepth", scheduler.getQueue().size());
+		}
+		metrics.put("sequencedRuns", DevOpsRunSequencer.getPendingKeys());
+		return metrics;
+	}
+
+	private static final class NamedThreadFactory implements ThreadFactory {
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		NamedThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, prefix + " #" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsExecutors.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -0,0 +1,69 @@
+package io.jenkins.plugins.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Transport used by {@link CommUtils} to reach the ServiceNow instance.
+ * Implementations are expected to be thread safe and to reuse connections
+ * between calls.
+ */
+public interface DevOpsHttpTransport extends Closeable {
+
+	/**
+	 * Executes a single request and fully consumes the response.
+	 * @param method Rest method
+	 * @param url Url to be called, query params already appended
+	 * @param headers Request headers
+	 * @param body Payload, null for bodiless requests
+	 * @return response status and body
+	 * @throws IOException IOException
+	 */
+	Response execute(String method, String url, Map<String, String> headers, byte[] body) throws IOException;
+
+	/**
+	 * Executes a single request whose payload is written as it is sent, with chunked transfer
+	 * encoding, and fully consumes the response. The default implementation buffers the payload.
+	 * @param method Rest method
+	 * @param url Url to be called, query params already appended
+	 * @param headers Request headers
+	 * @param body Payload
+	 * @return response status and body
+	 * @throws IOException IOException
+	 */
+	default Response executeStreaming(String method, String url, Map<String, String> headers, Body body)
+			throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		body.writeTo(buffer);
+		return execute(method, url, headers, buffer.toByteArray());
+	}
+
+	/**
+	 * A payload written while the request is sent. It may be written more than once, e.g. when the
+	 * request is retried, so every call writes it from the start.
+	 */
+	interface Body {
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	final class Response {
+		private final int statusCode;
+		private final String body;
+
+		public Response(int statusCode, String body) {
+			this.statusCode = statusCode;
+			this.body = body;
+		}
+
+		public int getStatusCode() {
+			return statusCode;
+		}
+
+		public String getBody() {
+			return body;
+		}
+	}
+}
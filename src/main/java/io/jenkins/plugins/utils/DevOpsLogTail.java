@@ -0,0 +1,195 @@
+package io.jenkins.plugins.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import hudson.console.AnnotatedLargeText;
+
+/**
+ * Reads the end of a build or step log without loading the whole log. Reading starts close
+ * to the end of the log and only the last bytes are kept, so memory stays bounded by the
+ * requested size whatever the log length. Also sizes and truncates strings by UTF-8 byte budget.
+ */
+public final class DevOpsLogTail {
+	private DevOpsLogTail() {}
+
+	// console notes are stripped while reading, read a bit further back so the tail is still full
+	private static final int NOTE_MARGIN_FACTOR = 2;
+
+	/**
+	 * @param text log to read, console notes are stripped
+	 * @param maxBytes maximum size of the result in UTF-8 bytes
+	 * @return last complete lines of the log fitting into maxBytes, the last partial line if a
+	 * single line exceeds it
+	 * @throws IOException if the log cannot be read
+	 */
+	public static String read(AnnotatedLargeText<?> text, int maxBytes) throws IOException {
+		if (text == null || maxBytes <= 0)
+			return "";
+		long length = text.length();
+		long start = Math.max(0, length - (long) maxBytes * NOTE_MARGIN_FACTOR);
+		TailOutputStream tail = new TailOutputStream(maxBytes);
+		text.writeLogTo(start, tail);
+		return tail.toString(start > 0);
+	}
+
+	/**
+	 * Keeps the last bytes written to it in a fixed size ring buffer.
+	 */
+	static final class TailOutputStream extends OutputStream {
+		private final byte[] buffer;
+		private int position;
+		private long written;
+
+		TailOutputStream(int capacity) {
+			this.buffer = new byte[capacity];
+		}
+
+		@Override
+		public void write(int b) {
+			buffer[position] = (byte) b;
+			position = (position + 1) % buffer.length;
+			written++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			written += len;
+			if (len >= buffer.length) {
+				System.arraycopy(b, off + len - buffer.length, buffer, 0, buffer.length);
+				position = 0;
+				return;
+			}
+			int first = Math.min(len, buffer.length - position);
+			System.arraycopy(b, off, buffer, position, first);
+			System.arraycopy(b, off + first, buffer, 0, len - first);
+			position = (position + len) % buffer.length;
+		}
+
+		byte[] toByteArray() {
+			if (written < buffer.length) {
+				byte[] result = new byte[position];
+				System.arraycopy(buffer, 0, result, 0, position);
+				return result;
+			}
+			byte[] result = new byte[buffer.length];
+			System.arraycopy(buffer, position, result, 0, buffer.length - position);
+			System.arraycopy(buffer, 0, result, buffer.length - position, position);
+			return result;
+		}
+
+		/**
+		 * @param startedMidLog whether reading did not start at the beginning of the log
+		 */
+		String toString(boolean startedMidLog) {
+			byte[] bytes = toByteArray();
+			int from = 0;
+			int to = bytes.length;
+			if (startedMidLog || written > bytes.length) {
+				// the first line is cut, drop it unless it is the only one
+				int newline = indexOf(bytes, (byte) '\n');
+				if (newline >= 0 && newline < to - 1)
+					from = newline + 1;
+				else
+					from = skipContinuationBytes(bytes, from, to);
+			}
+			to = dropIncompleteTrailer(bytes, from, to);
+			return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Longest suffix of the text whose UTF-8 encoding fits into maxBytes. Scans code points
+	 * backwards once, without encoding the text.
+	 * @param text text to truncate
+	 * @param maxBytes budget in UTF-8 bytes
+	 * @return text itself if it fits, else its longest fitting suffix
+	 */
+	public static String lastBytes(String text, int maxBytes) {
+		if (text == null || maxBytes <= 0)
+			return "";
+		// every char encodes to at most three bytes (surrogate pairs to four for two chars)
+		if ((long) text.length() * 3 <= maxBytes)
+			return text;
+		int bytes = 0;
+		int from = text.length();
+		while (from > 0) {
+			char c = text.charAt(from - 1);
+			int step = 1;
+			int width;
+			if (c < 0x80)
+				width = 1;
+			else if (c < 0x800)
+				width = 2;
+			else if (Character.isLowSurrogate(c) && from >= 2 && Character.isHighSurrogate(text.charAt(from - 2))) {
+				width = 4;
+				step = 2;
+			} else if (Character.isSurrogate(c))
+				width = 1; // unpaired surrogates are encoded as '?'
+			else
+				width = 3;
+			if (bytes + width > maxBytes)
+				break;
+			bytes += width;
+			from -= step;
+		}
+		return text.substring(from);
+	}
+
+	/**
+	 * @param text text to measure
+	 * @return length of the UTF-8 encoding of the text, computed without encoding it
+	 */
+	public static int utf8Length(CharSequence text) {
+		int bytes = 0;
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c < 0x80)
+				bytes += 1;
+			else if (c < 0x800)
+				bytes += 2;
+			else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+				bytes += 4;
+				i++;
+			} else if (Character.isSurrogate(c))
+				bytes += 1;
+			else
+				bytes += 3;
+		}
+		return bytes;
+	}
+
+	private static int indexOf(byte[] bytes, byte value) {
+		for (int i = 0; i < bytes.length; i++) {
+			if (bytes[i] == value)
+				return i;
+		}
+		return -1;
+	}
+
+	static boolean isContinuationByte(byte b) {
+		return (b & 0xC0) == 0x80;
+	}
+
+	// a cut through a multi-byte character leaves up to three continuation bytes at the start
+	static int skipContinuationBytes(byte[] bytes, int from, int to) {
+		int limit = Math.min(to, from + 3);
+		while (from < limit && isContinuationByte(bytes[from]))
+			from++;
+		return from;
+	}
+
+	// a log that is still being written may end in the middle of a character
+	static int dropIncompleteTrailer(byte[] bytes, int from, int to) {
+		for (int i = to - 1; i >= from && i >= to - 4; i--) {
+			byte b = bytes[i];
+			if (isContinuationByte(b))
+				continue;
+			int expected = (b & 0x80) == 0 ? 1 : (b & 0xE0) == 0xC0 ? 2 : (b & 0xF0) == 0xE0 ? 3 : 4;
+			return i + expected <= to ? to : i;
+		}
+		return to;
+	}
+}
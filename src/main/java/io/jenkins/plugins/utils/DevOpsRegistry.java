@@ -0,0 +1,203 @@
+package io.jenkins.plugins.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.logging.Level;
+
+import net.sf.json.JSONObject;
+
+/**
+ * Concurrent in-memory registry for state shared between the queue dispatcher, the run listeners and
+ * the callback handler. Reads do not lock. An entry expires once it has not been confirmed live for the
+ * registry's TTL: a background sweep asks the liveness check (e.g. whether the run is still building)
+ * and drops entries whose owner is gone, such as runs aborted before onCompleted. Registries are also
+ * bounded in size, the least recently confirmed entries go first.
+ *
+ * @param <K> key type, null keys are treated as absent
+ * @param <V> value type, storing null removes the key
+ */
+public final class DevOpsRegistry<K, V> {
+
+	private static final long SWEEP_INTERVAL_SECONDS = 300;
+
+	private static final List<DevOpsRegistry<?, ?>> registries = new CopyOnWriteArrayList<>();
+	private static ScheduledFuture<?> sweepTask;
+
+	private final String name;
+	private final long ttlMs;
+	private final int maxSize;
+	private final BiPredicate<K, V> liveness;
+	private final Map<K, Slot<V>> slots = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param name name reported in the metrics
+	 * @param ttlMs how long an entry lives after it was stored or last confirmed live, 0 for no expiry
+	 * @param maxSize maximum number of entries
+	 * @param liveness whether the owner of an entry still exists, null if only the TTL applies
+	 */
+	public DevOpsRegistry(String name, long ttlMs, int maxSize, BiPredicate<K, V> liveness) {
+		this.name = name;
+		this.ttlMs = ttlMs;
+		this.maxSize = maxSize;
+		this.liveness = liveness;
+		registries.add(this);
+	}
+
+	public V get(K key) {
+		if (key == null)
+			return null;
+		Slot<V> slot = slots.get(key);
+		if (slot == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return slot.value;
+	}
+
+	public boolean containsKey(K key) {
+		return key != null && slots.containsKey(key);
+	}
+
+	public void put(K key, V value) {
+		if (key == null)
+			return;
+		if (value == null) {
+			slots.remove(key);
+			return;
+		}
+		slots.put(key, new Slot<>(value));
+		if (slots.size() > maxSize)
+			trimToSize();
+		startSweeper();
+	}
+
+	public V remove(K key) {
+		if (key == null)
+			return null;
+		Slot<V> slot = slots.remove(key);
+		return slot == null ? null : slot.value;
+	}
+
+	public int size() {
+		return slots.size();
+	}
+
+	/**
+	 * Drops expired entries. Entries still confirmed live get a new lease.
+	 */
+	public void sweep() {
+		if (ttlMs <= 0)
+			return;
+		long now = System.currentTimeMillis();
+		for (Map.Entry<K, Slot<V>> entry : slots.entrySet()) {
+			Slot<V> slot = entry.getValue();
+			if (now - slot.confirmedAt <= ttlMs)
+				continue;
+			boolean live = false;
+			if (liveness != null) {
+				try {
+					live = liveness.test(entry.getKey(), slot.value);
+				} catch (RuntimeException e) {
+					printDebug("sweep", new String[]{"registry", "exception"}, new String[]{name, e.toString()},
+							Level.WARNING);
+					continue;
+				}
+			}
+			if (live)
+				slot.confirmedAt = now;
+			else if (slots.remove(entry.getKey(), slot))
+				evictions.increment();
+		}
+	}
+
+	private void trimToSize() {
+		sweep();
+		while (slots.size() > maxSize) {
+			Map.Entry<K, Slot<V>> oldest = null;
+			for (Map.Entry<K, Slot<V>> candidate : slots.entrySet()) {
+				if (oldest == null || candidate.getValue().confirmedAt < oldest.getValue().confirmedAt)
+					oldest = candidate;
+			}
+			if (oldest == null)
+				break;
+			if (slots.remove(oldest.getKey(), oldest.getValue())) {
+				evictions.increment();
+				printDebug("trimToSize", new String[]{"registry", "message"},
+						new String[]{name, "Registry is full, dropped its oldest entry"}, Level.WARNING);
+			}
+		}
+	}
+
+	public JSONObject getMetrics() {
+		JSONObject metrics = new JSONObject();
+		metrics.put("size", slots.size());
+		metrics.put("hits", hits.sum());
+		metrics.put("misses", misses.sum());
+		metrics.put("evictions", evictions.sum());
+		return metrics;
+	}
+
+	/**
+	 * Size, hit, miss and eviction counters of every registry.
+	 * @return counters as JSON, by registry name
+	 */
+	public static JSONObject getAllMetrics() {
+		JSONObject metrics = new JSONObject();
+		for (DevOpsRegistry<?, ?> registry : registries)
+			metrics.put(registry.name, registry.getMetrics());
+		return metrics;
+	}
+
+	private static synchronized void startSweeper() {
+		if (sweepTask != null && !sweepTask.isDone())
+			return;
+		try {
+			// liveness checks look jobs and queue items up, keep them off the timer thread
+			sweepTask = DevOpsExecutors.scheduler().scheduleWithFixedDelay(() -> {
+				try {
+					DevOpsExecutors.get().execute(DevOpsRegistry::sweepAll);
+				} catch (RejectedExecutionException e) {
+					// shutting down
+				}
+			}, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+		} catch (RejectedExecutionException e) {
+			sweepTask = null;
+		}
+	}
+
+	public static synchronized void stopSweeper() {
+		if (sweepTask != null) {
+			sweepTask.cancel(false);
+			sweepTask = null;
+		}
+	}
+
+	public static void sweepAll() {
+		for (DevOpsRegistry<?, ?> registry : registries)
+			registry.sweep();
+	}
+
+	private static final class Slot<V> {
+		private final V value;
+		private volatile long confirmedAt = System.currentTimeMillis();
+
+		Slot(V value) {
+			this.value = value;
+		}
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsRegistry.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -0,0 +1,94 @@
+package io.jenkins.plugins.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
+/**
+ * Runs tasks on the shared worker pool one at a time per key (the externalizable id of a run),
+ * in submission order. Tasks of different runs run in parallel. A key is forgotten as soon as
+ * its last task completes.
+ */
+public final class DevOpsRunSequencer {
+	private DevOpsRunSequencer() {}
+
+	// tail of the task chain of every key with pending work
+	private static final ConcurrentMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+	public static void submit(String key, String taskName, Runnable task) {
+		CompletableFuture<Void> next = new CompletableFuture<>();
+		CompletableFuture<Void> previous = tails.put(key, next);
+		Runnable step = () -> {
+			try {
+				runSafely(key, taskName, task);
+			} finally {
+				tails.remove(key, next);
+				next.complete(null);
+			}
+		};
+		if (previous == null)
+			dispatch(key, taskName, step, next);
+		else
+			previous.whenComplete((result, error) -> dispatch(key, taskName, step, next));
+	}
+
+	/**
+	 * Waits until every task submitted so far for the key has finished.
+	 * @param key externalizable id of the run
+	 * @param timeoutSeconds how long to wait at most
+	 * @return false if the wait timed out or was interrupted
+	 */
+	public static boolean await(String key, long timeoutSeconds) {
+		CompletableFuture<Void> tail = tails.get(key);
+		if (tail == null)
+			return true;
+		try {
+			tail.get(timeoutSeconds, TimeUnit.SECONDS);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			// failure already logged by the task itself
+			return true;
+		} catch (TimeoutException e) {
+			printDebug("await", new String[]{"message", "key"},
+					new String[]{"Timed out waiting for pending tasks", key}, Level.WARNING);
+			return false;
+		}
+	}
+
+	public static int getPendingKeys() {
+		return tails.size();
+	}
+
+	private static void dispatch(String key, String taskName, Runnable step, CompletableFuture<Void> done) {
+		try {
+			DevOpsExecutors.execute(step);
+		} catch (RejectedExecutionException e) {
+			printDebug("dispatch", new String[]{"key", "task", "exception"},
+					new String[]{key, taskName, e.getMessage()}, Level.WARNING);
+			tails.remove(key, done);
+			done.complete(null);
+		}
+	}
+
+	private static void runSafely(String key, String taskName, Runnable task) {
+		// never fail the chain, the next task of the key must still run
+		try {
+			task.run();
+		} catch (RuntimeException e) {
+			printDebug("runSafely", new String[]{"key", "task", "exception"},
+					new String[]{key, taskName, e.toString()}, Level.SEVERE);
+		}
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(DevOpsRunSequencer.class.getName(), methodName, variables, values, logLevel);
+	}
+}
@@ -1,6 +1,9 @@
 package io.jenkins.plugins.utils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -8,6 +11,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import hudson.EnvVars;
+import hudson.Util;
 import hudson.logging.LogRecorder;
 import hudson.logging.LogRecorderManager;
 import hudson.model.FreeStyleProject;
@@ -188,44 +192,8 @@ public final class GenericUtils {
 	}
 
 	public static boolean isDevOpsConfigurationValid() {
-		DevOpsConfiguration devopsConfig = DevOpsConfiguration.get();
-		if (devopsConfig.isSnDevopsEnabled()) {
-			StringBuilder errMsg = new StringBuilder("!!! Invalid SnDevops " +
-					"Configuration - ");
-			boolean result = true;
-
-			if (isEmpty(devopsConfig.getInstanceUrl())) {
-				result = false;
-				errMsg.append(" InstanceURL not provided |");
-			}
-
-			if (isEmpty(devopsConfig.getToolId())) {
-				result = false;
-				errMsg.append(" ToolId not provided |");
-			}
-
-			if (isEmpty(devopsConfig.getApiVersion())) {
-				result = false;
-				errMsg.append(" API version not provided |");
-			}
-
-			if (isEmpty(devopsConfig.getUser())) {
-				result = false;
-				errMsg.append(" User not provided  |");
-			}
-
-			if (isEmpty(devopsConfig.getPwd())) {
-				result = false;
-				errMsg.append(" Password not provided |");
-			}
-
-			if (!result)
-				Logger.getLogger(GenericUtils.class.getName())
-						.info(errMsg.toString());
-
-			return result;
-		}
-		return false;
+		// verdict is kept by the configuration snapshot, missing settings are logged once per snapshot
+		return DevOpsConfiguration.get().getSnapshot().isValid();
 	}
 
 
@@ -304,4 +272,19 @@ public final class GenericUtils {
 		if(jsonObj == null) return null;
 		return jsonObj.toString();
 	}
-}
\ No newline at end of file
+
+	public static MessageDigest newSha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public static String sha256Hex(String text) {
+		if (text == null)
+			return null;
+		return Util.toHexString(newSha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+	}
+}
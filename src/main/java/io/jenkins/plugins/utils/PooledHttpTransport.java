@@ -0,0 +1,187 @@
+package io.jenkins.plugins.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.EntityTemplate;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import hudson.ProxyConfiguration;
+import jenkins.model.Jenkins;
+
+/**
+ * Keep-alive transport backed by a bounded per-host connection pool.
+ * Connections (and with them the negotiated TLS sessions) are returned to the
+ * pool once a response is fully read, and closed by a background evictor after
+ * staying idle for the configured time.
+ */
+public final class PooledHttpTransport implements DevOpsHttpTransport {
+
+	// how long a caller may wait for a free pooled connection
+	private static final int POOL_LEASE_TIMEOUT_MS = 60000;
+	// re-validate pooled connections that have been idle longer than this
+	private static final int VALIDATE_AFTER_INACTIVITY_MS = 2000;
+
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final CloseableHttpClient client;
+
+	public PooledHttpTransport(int maxConnectionsPerHost, int idleEvictionSeconds, int connectTimeout,
+			int readTimeout) {
+		this.connectionManager = new PoolingHttpClientConnectionManager();
+		this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+		// the plugin mostly talks to a single instance, leave head room for proxies/redirects
+		this.connectionManager.setMaxTotal(maxConnectionsPerHost * 2);
+		this.connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MS);
+
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(connectTimeout)
+				.setSocketTimeout(readTimeout)
+				.setConnectionRequestTimeout(POOL_LEASE_TIMEOUT_MS)
+				.build();
+
+		this.client = HttpClients.custom()
+				.setConnectionManager(this.connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.setRoutePlanner(new JenkinsProxyRoutePlanner())
+				.setDefaultCredentialsProvider(new JenkinsProxyCredentialsProvider())
+				.disableCookieManagement()
+				.evictExpiredConnections()
+				.evictIdleConnections(idleEvictionSeconds, TimeUnit.SECONDS)
+				.build();
+
+		printDebug("PooledHttpTransport", new String[]{"maxConnectionsPerHost", "idleEvictionSeconds"},
+				new String[]{String.valueOf(maxConnectionsPerHost), String.valueOf(idleEvictionSeconds)}, Level.FINE);
+	}
+
+	@Override
+	public Response execute(String method, String url, Map<String, String> headers, byte[] body)
+			throws IOException {
+		RequestBuilder builder = newRequest(method, url, headers);
+		if (body != null)
+			builder.setEntity(new ByteArrayEntity(body));
+		return send(builder.build());
+	}
+
+	@Override
+	public Response executeStreaming(String method, String url, Map<String, String> headers, Body body)
+			throws IOException {
+		return send(newRequest(method, url, headers).setEntity(newEntity(body)).build());
+	}
+
+	private static RequestBuilder newRequest(String method, String url, Map<String, String> headers) {
+		RequestBuilder builder = RequestBuilder.create(method).setUri(url);
+		if (headers != null) {
+			for (Map.Entry<String, String> header : headers.entrySet()) {
+				if (header.getValue() != null)
+					builder.addHeader(header.getKey(), header.getValue());
+			}
+		}
+		return builder;
+	}
+
+	private Response send(HttpUriRequest request) throws IOException {
+		// consuming the entity releases the connection back to the pool
+		try (CloseableHttpResponse response = client.execute(request)) {
+			HttpEntity entity = response.getEntity();
+			String result = entity != null ? EntityUtils.toString(entity, StandardCharsets.UTF_8) : null;
+			return new Response(response.getStatusLine().getStatusCode(), result);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		printDebug("close", null, null, Level.FINE);
+		client.close();
+	}
+
+	// entity of unknown length written by the body on every send, sent chunked
+	private static HttpEntity newEntity(Body body) {
+		EntityTemplate entity = new EntityTemplate(body::writeTo);
+		entity.setChunked(true);
+		return entity;
+	}
+
+	private static ProxyConfiguration getProxyConfiguration() {
+		Jenkins jenkins = Jenkins.getInstanceOrNull();
+		return jenkins != null ? jenkins.proxy : null;
+	}
+
+	/**
+	 * Resolves the proxy from the Jenkins proxy configuration on every new route,
+	 * honouring the "no proxy" host list.
+	 */
+	private static final class JenkinsProxyRoutePlanner extends DefaultRoutePlanner {
+
+		JenkinsProxyRoutePlanner() {
+			super(DefaultSchemePortResolver.INSTANCE);
+		}
+
+		@Override
+		protected HttpHost determineProxy(HttpHost target, HttpRequest request, HttpContext context)
+				throws HttpException {
+			ProxyConfiguration pc = getProxyConfiguration();
+			if (pc == null)
+				return null;
+			Proxy proxy = pc.createProxy(target.getHostName());
+			if (proxy == null || proxy.type() != Proxy.Type.HTTP)
+				return null;
+			SocketAddress address = proxy.address();
+			if (!(address instanceof InetSocketAddress))
+				return null;
+			InetSocketAddress inetAddress = (InetSocketAddress) address;
+			return new HttpHost(inetAddress.getHostString(), inetAddress.getPort());
+		}
+	}
+
+	private static final class JenkinsProxyCredentialsProvider implements CredentialsProvider {
+
+		@Override
+		public void setCredentials(AuthScope authscope, Credentials credentials) {
+			// credentials always come from the Jenkins proxy configuration
+		}
+
+		@Override
+		public Credentials getCredentials(AuthScope authscope) {
+			ProxyConfiguration pc = getProxyConfiguration();
+			if (pc == null || GenericUtils.isEmpty(pc.getUserName()) || authscope == null)
+				return null;
+			if (pc.name != null && pc.name.equalsIgnoreCase(authscope.getHost()) && pc.port == authscope.getPort())
+				return new UsernamePasswordCredentials(pc.getUserName(), pc.getPassword());
+			return null;
+		}
+
+		@Override
+		public void clear() {
+			// nothing cached
+		}
+	}
+
+	private static void printDebug(String methodName, String[] variables, String[] values, Level logLevel) {
+		GenericUtils.printDebug(PooledHttpTransport.class.getName(), methodName, variables, values, logLevel);
+	}
+}
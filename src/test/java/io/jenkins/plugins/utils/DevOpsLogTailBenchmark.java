@@ -0,0 +1,81 @@
+package io.jenkins.plugins.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link DevOpsLogTail#lastBytes} with the loop it replaced, which re-encoded a shrinking
+ * substring until it fit the budget, on logs of 500 KB and 5 MB with the 500 KB limit of the run
+ * status log. Not part of the test run, start {@link #main} from the test classpath. On multi-byte
+ * logs one call of the old loop takes minutes, so it is measured by a single shot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DevOpsLogTailBenchmark {
+
+	// LOG_SIZE_LIMIT of DevOpsRunStatusAction
+	private static final int MAX_BYTES = 1024 * 500;
+
+	@Param({"ascii", "mixed"})
+	public String content;
+
+	// log length in chars
+	@Param({"512000", "5242880"})
+	public int length;
+
+	private String text;
+
+	@Setup
+	public void setUp() {
+		String[] pieces = "ascii".equals(content) ? new String[]{"a", " ", "\n"}
+				: new String[]{"a", "\n", "\u00e9", "\u20ac", "\ud83d\ude00"};
+		Random random = new Random(1);
+		StringBuilder builder = new StringBuilder(length + 1);
+		while (builder.length() < length)
+			builder.append(pieces[random.nextInt(pieces.length)]);
+		text = builder.toString();
+	}
+
+	@Benchmark
+	public String lastBytes() {
+		return DevOpsLogTail.lastBytes(text, MAX_BYTES);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 0)
+	@Measurement(iterations = 1)
+	public String reencodingLoop() {
+		final int end = text.length();
+		int from = end - MAX_BYTES < 0 ? 0 : end - MAX_BYTES;
+		String chunk = text.substring(from, end);
+		while (chunk.getBytes(StandardCharsets.UTF_8).length > MAX_BYTES)
+			chunk = text.substring(from++, end);
+		return chunk;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DevOpsLogTailBenchmark.class.getName()).build()).run();
+	}
+}
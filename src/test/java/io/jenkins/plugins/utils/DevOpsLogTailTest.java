@@ -0,0 +1,162 @@
+package io.jenkins.plugins.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class DevOpsLogTailTest {
+
+	// 1, 2, 3 and 4 bytes in UTF-8
+	private static final String ONE = "a";
+	private static final String TWO = "\u00e9";
+	private static final String THREE = "\u20ac";
+	private static final String FOUR = "\ud83d\ude00";
+
+	@Test
+	public void lastBytesReturnsNothingForNoBudget() {
+		assertEquals("", DevOpsLogTail.lastBytes(ONE + TWO, 0));
+		assertEquals("", DevOpsLogTail.lastBytes(ONE + TWO, -1));
+		assertEquals("", DevOpsLogTail.lastBytes(null, 10));
+		assertEquals("", DevOpsLogTail.lastBytes("", 10));
+	}
+
+	@Test
+	public void lastBytesReturnsTextThatFits() {
+		String text = ONE + TWO + THREE + FOUR;
+		assertSame(text, DevOpsLogTail.lastBytes(text, 10));
+		assertSame(text, DevOpsLogTail.lastBytes(text, Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void lastBytesStopsAtCharacterBoundaries() {
+		String text = ONE + TWO + THREE + FOUR;
+		assertEquals(TWO + THREE + FOUR, DevOpsLogTail.lastBytes(text, 9));
+		assertEquals(THREE + FOUR, DevOpsLogTail.lastBytes(text, 8));
+		assertEquals(THREE + FOUR, DevOpsLogTail.lastBytes(text, 7));
+		assertEquals(FOUR, DevOpsLogTail.lastBytes(text, 6));
+		assertEquals(FOUR, DevOpsLogTail.lastBytes(text, 4));
+	}
+
+	@Test
+	public void lastBytesNeverSplitsSurrogatePairs() {
+		assertEquals("", DevOpsLogTail.lastBytes(FOUR, 3));
+		assertEquals(FOUR, DevOpsLogTail.lastBytes(ONE + FOUR + FOUR, 7));
+	}
+
+	@Test
+	public void lastBytesCountsUnpairedSurrogatesAsOneByte() {
+		String text = ONE + "\ude00" + "\ud83d";
+		assertEquals(3, text.getBytes(StandardCharsets.UTF_8).length);
+		assertEquals("\ude00\ud83d", DevOpsLogTail.lastBytes(text, 2));
+	}
+
+	@Test
+	public void lastBytesMatchesLongestFittingSuffix() {
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			String text = randomText(random, random.nextInt(40));
+			int maxBytes = random.nextInt(120);
+			String expected = longestFittingSuffix(text, maxBytes);
+			String actual = DevOpsLogTail.lastBytes(text, maxBytes);
+			assertEquals("text " + Arrays.toString(text.toCharArray()) + ", budget " + maxBytes, expected, actual);
+			assertTrue(actual.getBytes(StandardCharsets.UTF_8).length <= Math.max(0, maxBytes));
+		}
+	}
+
+	@Test
+	public void utf8LengthMatchesEncoder() {
+		assertEquals(0, DevOpsLogTail.utf8Length(""));
+		assertEquals(10, DevOpsLogTail.utf8Length(ONE + TWO + THREE + FOUR));
+		Random random = new Random(7);
+		for (int i = 0; i < 2000; i++) {
+			String text = randomText(random, random.nextInt(40));
+			assertEquals(text.getBytes(StandardCharsets.UTF_8).length, DevOpsLogTail.utf8Length(text));
+		}
+	}
+
+	@Test
+	public void readReturnsNothingWithoutLogOrBudget() throws IOException {
+		assertEquals("", DevOpsLogTail.read(null, 100));
+		assertEquals("", DevOpsLogTail.read(null, 0));
+	}
+
+	@Test
+	public void tailKeepsLastBytes() {
+		byte[] bytes = "first\nsecond\n".getBytes(StandardCharsets.UTF_8);
+		DevOpsLogTail.TailOutputStream bulk = new DevOpsLogTail.TailOutputStream(64);
+		bulk.write(bytes, 0, bytes.length);
+		assertEquals("first\nsecond\n", bulk.toString(false));
+
+		DevOpsLogTail.TailOutputStream single = new DevOpsLogTail.TailOutputStream(9);
+		for (byte b : bytes)
+			single.write(b);
+		DevOpsLogTail.TailOutputStream oversize = new DevOpsLogTail.TailOutputStream(9);
+		oversize.write(bytes, 0, bytes.length);
+		assertEquals("second\n", single.toString(false));
+		assertEquals("second\n", oversize.toString(false));
+	}
+
+	@Test
+	public void tailDropsCutFirstLine() {
+		byte[] bytes = ("xx\n" + THREE + THREE).getBytes(StandardCharsets.UTF_8);
+		DevOpsLogTail.TailOutputStream tail = new DevOpsLogTail.TailOutputStream(7);
+		tail.write(bytes, 0, bytes.length);
+		assertEquals(THREE + THREE, tail.toString(false));
+	}
+
+	@Test
+	public void tailSkipsCutCharacterOfOnlyLine() {
+		byte[] bytes = (THREE + THREE).getBytes(StandardCharsets.UTF_8);
+		DevOpsLogTail.TailOutputStream tail = new DevOpsLogTail.TailOutputStream(5);
+		tail.write(bytes, 0, bytes.length);
+		assertEquals(THREE, tail.toString(false));
+
+		byte[] four = (ONE + FOUR).getBytes(StandardCharsets.UTF_8);
+		DevOpsLogTail.TailOutputStream cutFour = new DevOpsLogTail.TailOutputStream(2);
+		cutFour.write(four, 0, four.length);
+		assertEquals("", cutFour.toString(false));
+	}
+
+	@Test
+	public void tailDropsIncompleteTrailingCharacter() {
+		byte[] bytes = (ONE + THREE).getBytes(StandardCharsets.UTF_8);
+		DevOpsLogTail.TailOutputStream tail = new DevOpsLogTail.TailOutputStream(16);
+		tail.write(bytes, 0, bytes.length - 1);
+		assertEquals(ONE, tail.toString(false));
+
+		byte[] pair = (ONE + FOUR).getBytes(StandardCharsets.UTF_8);
+		DevOpsLogTail.TailOutputStream cutPair = new DevOpsLogTail.TailOutputStream(16);
+		cutPair.write(pair, 0, 2);
+		assertEquals(ONE, cutPair.toString(false));
+	}
+
+	private static String randomText(Random random, int length) {
+		String[] pieces = {ONE, "\n", TWO, THREE, FOUR, "\ud83d", "\ude00"};
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < length; i++)
+			text.append(pieces[random.nextInt(pieces.length)]);
+		return text.toString();
+	}
+
+	// reference: encodes every suffix that does not start inside a surrogate pair
+	private static String longestFittingSuffix(String text, int maxBytes) {
+		if (maxBytes <= 0)
+			return "";
+		for (int from = 0; from < text.length(); from++) {
+			if (from > 0 && Character.isLowSurrogate(text.charAt(from))
+					&& Character.isHighSurrogate(text.charAt(from - 1)))
+				continue;
+			String suffix = text.substring(from);
+			if (suffix.getBytes(StandardCharsets.UTF_8).length <= maxBytes)
+				return suffix;
+		}
+		return "";
+	}
+}